@@ -11,12 +11,26 @@ dependencies {
 
     compileOnly(libs.configurate.yaml)
 
+    compileOnly(libs.gson)
+
     compileOnly(libs.brigadier)
+
+    testImplementation(libs.bundles.adventure)
+
+    testImplementation(libs.configurate.yaml)
+
+    testImplementation(libs.junit.jupiter)
+
+    testRuntimeOnly(libs.junit.launcher)
 }
 
 val javaComponent: SoftwareComponent = components["java"]
 
 tasks {
+    test {
+        useJUnitPlatform()
+    }
+
     publishing {
         publications {
             create<MavenPublication>("maven") {
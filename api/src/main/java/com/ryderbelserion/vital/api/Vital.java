@@ -2,6 +2,7 @@ package com.ryderbelserion.vital.api;
 
 import com.ryderbelserion.vital.VitalProvider;
 import com.ryderbelserion.vital.api.exceptions.GenericException;
+import com.ryderbelserion.vital.files.ResourceExtractor;
 import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.logger.slf4j.ComponentLogger;
@@ -11,15 +12,19 @@ import org.spongepowered.configurate.CommentedConfigurationNode;
 import org.spongepowered.configurate.ConfigurateException;
 import org.spongepowered.configurate.yaml.YamlConfigurationLoader;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.net.URL;
 import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Vital's API.
@@ -33,6 +38,11 @@ public abstract class Vital {
     private YamlConfigurationLoader loader;
     private CommentedConfigurationNode config;
 
+    // only set on the threads of the default file executor.
+    private static final ThreadLocal<Boolean> fileThread = ThreadLocal.withInitial(() -> false);
+
+    private ExecutorService fileExecutor;
+
     /**
      * An empty constructor that does nothing.
      *
@@ -62,6 +72,10 @@ public abstract class Vital {
      * @since 0.1.0
      */
     public void stop() {
+        shutdownFileExecutor();
+
+        ResourceExtractor.closeAll();
+
         VitalProvider.unregister();
     }
 
@@ -111,6 +125,86 @@ public abstract class Vital {
         return this.config.node("settings", "rounding").getString("half_even");
     }
 
+    /**
+     * Gets the amount of threads used to load and save files in the background.
+     *
+     * @return the amount of threads
+     * @since 0.2.0
+     */
+    public int getFileThreads() {
+        return this.config.node("settings", "file_threads").getInt(2);
+    }
+
+    /**
+     * Gets the executor used to load and save files in the background.
+     *
+     * <p>The executor is created on first use, with the amount of threads from {@link #getFileThreads()}.
+     *
+     * @return the {@link ExecutorService}
+     * @since 0.2.0
+     */
+    public synchronized ExecutorService getFileExecutor() {
+        if (this.fileExecutor == null) {
+            final ThreadFactory factory = Thread.ofPlatform().name("Vital-IO-", 0).daemon().factory();
+
+            this.fileExecutor = Executors.newFixedThreadPool(Math.max(1, getFileThreads()), task -> factory.newThread(() -> {
+                fileThread.set(true);
+
+                task.run();
+            }));
+        }
+
+        return this.fileExecutor;
+    }
+
+    /**
+     * Checks if the calling thread belongs to the default file executor.
+     *
+     * <p>A task on the file executor must not wait on another file task, as the pool may have no thread left to run it.
+     * Threads of an executor passed to {@link #setFileExecutor(ExecutorService)} are not recognized.
+     *
+     * @return true if the calling thread is a file thread
+     * @since 0.2.0
+     */
+    public boolean isFileThread() {
+        return fileThread.get();
+    }
+
+    /**
+     * Sets the executor used to load and save files in the background, the previous executor is shut down.
+     *
+     * @param executor the {@link ExecutorService}
+     * @since 0.2.0
+     */
+    public synchronized void setFileExecutor(@NotNull final ExecutorService executor) {
+        if (this.fileExecutor == executor) return;
+
+        shutdownFileExecutor();
+
+        this.fileExecutor = executor;
+    }
+
+    /**
+     * Shuts down the file executor, waiting for queued saves to finish.
+     *
+     * @since 0.2.0
+     */
+    private synchronized void shutdownFileExecutor() {
+        if (this.fileExecutor == null) return;
+
+        this.fileExecutor.shutdown();
+
+        try {
+            if (!this.fileExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+                getLogger().warn("Timed out waiting for files to be saved.");
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+
+        this.fileExecutor = null;
+    }
+
     /**
      * Gets the plugins folder on the server.
      *
@@ -211,6 +305,34 @@ public abstract class Vital {
      */
     public abstract @NotNull Component color(@Nullable final Audience audience, @NotNull final String line, @NotNull final Map<String, String> placeholders);
 
+    /**
+     * Renders text with placeholders, passing the values to a template that is only parsed once.
+     *
+     * <p>Unlike {@link #color(Audience, String, Map)}, the values are inserted as plain text after parsing,
+     * so a value cannot add tags, and rendering costs the same whatever the values contain.
+     *
+     * @param audience the sender
+     * @param line the value to parse
+     * @param placeholders the placeholders
+     * @return the rendered component
+     * @since 0.2.0
+     */
+    public abstract @NotNull Component render(@Nullable final Audience audience, @NotNull final String line, @NotNull final Map<String, String> placeholders);
+
+    /**
+     * Renders several lines at once, like lore or a multi line message, see {@link #render(Audience, String, Map)}.
+     *
+     * <p>Every placeholder is resolved once for all lines, and each line is rendered on its own,
+     * without joining the lines into a single string first.
+     *
+     * @param audience the sender
+     * @param lines the values to parse
+     * @param placeholders the placeholders
+     * @return a component for every line
+     * @since 0.2.0
+     */
+    public abstract @NotNull List<Component> renderAll(@Nullable final Audience audience, @NotNull final List<String> lines, @NotNull final Map<String, String> placeholders);
+
     /**
      * Sends a message.
      *
@@ -254,35 +376,30 @@ public abstract class Vital {
         }
 
         resourcePath = resourcePath.replace('\\', '/');
+
+        File outFile = new File(getDataFolder(), resourcePath);
+        int lastIndex = resourcePath.lastIndexOf('/');
+        File outDir = new File(getDataFolder(), resourcePath.substring(0, Math.max(lastIndex, 0)));
+
+        if (outFile.exists() && !replace) {
+            if (isVerbose) getLogger().warn("Could not save {} to {} because {} already exists", outFile.getName(), outFile, outFile.getName());
+
+            return;
+        }
+
         final InputStream inputStream = getResource(resourcePath);
 
         if (inputStream == null) {
             throw new GenericException("The embedded resource '" + resourcePath + "' cannot be found.");
         }
 
-        File outFile = new File(getDataFolder(), resourcePath);
-        int lastIndex = resourcePath.lastIndexOf('/');
-        File outDir = new File(getDataFolder(), resourcePath.substring(0, Math.max(lastIndex, 0)));
-
         if (!outDir.exists()) {
             outDir.mkdirs();
         }
 
-        try {
-            if (!outFile.exists() || replace) {
-                final OutputStream outputStream = new FileOutputStream(outFile);
-                byte[] buf = new byte[1024];
-                int len;
-
-                while ((len = inputStream.read(buf)) > 0) {
-                    outputStream.write(buf, 0, len);
-                }
-
-                outputStream.close();
-                inputStream.close();
-            } else {
-                if (isVerbose) getLogger().warn("Could not save {} to {} because {} already exists", outFile.getName(), outFile, outFile.getName());
-            }
+        // copied straight from the jar, without going through a small intermediate buffer.
+        try (inputStream) {
+            Files.copy(inputStream, outFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
         } catch (IOException exception) {
             if (isVerbose) getLogger().error("Could not save {} to {}", outFile.getName(), outDir, exception);
         }
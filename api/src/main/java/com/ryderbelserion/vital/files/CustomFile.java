@@ -2,12 +2,39 @@ package com.ryderbelserion.vital.files;
 
 import com.ryderbelserion.vital.VitalProvider;
 import com.ryderbelserion.vital.api.Vital;
+import com.ryderbelserion.vital.api.exceptions.GenericException;
+import com.ryderbelserion.vital.files.cache.BinaryCache;
 import com.ryderbelserion.vital.files.enums.FileType;
+import com.ryderbelserion.vital.files.interfaces.ChangeListener;
+import com.ryderbelserion.vital.files.lazy.LazySections;
+import com.ryderbelserion.vital.files.objects.ConfigDiff;
+import com.ryderbelserion.vital.files.objects.ConfigKey;
+import com.ryderbelserion.vital.files.objects.ConfigMapper;
+import com.ryderbelserion.vital.files.objects.ConfigSchema;
+import com.ryderbelserion.vital.files.objects.ConfigSnapshot;
+import com.ryderbelserion.vital.files.objects.FileFingerprint;
+import com.ryderbelserion.vital.files.objects.KeyIndex;
+import com.ryderbelserion.vital.files.objects.LoadLimits;
 import net.kyori.adventure.text.logger.slf4j.ComponentLogger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.spongepowered.configurate.CommentedConfigurationNode;
+import org.spongepowered.configurate.serialize.SerializationException;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * Abstract base class for creating a custom file.
@@ -41,18 +68,50 @@ public abstract class CustomFile<T extends CustomFile<T>> {
     private final boolean isDynamic;
     private final File file;
 
+    private volatile FileFingerprint fingerprint = FileFingerprint.EMPTY;
+
+    private volatile boolean checksum;
+
+    private volatile ConfigSnapshot snapshot = ConfigSnapshot.EMPTY;
+
+    // the slots of the keys read from this file, shared by all of its snapshots.
+    private final KeyIndex keys = new KeyIndex();
+
+    // guards replacing the snapshot, so a value set while a load publishes is not lost.
+    private final Object lock = new Object();
+
+    // counts the loads which published a snapshot, so a caller can tell if its load did.
+    private final AtomicLong loads = new AtomicLong();
+
+    private CompletableFuture<?> queue = CompletableFuture.completedFuture(null);
+
+    private volatile BinaryCache cache;
+
+    private volatile boolean mapped;
+
+    private volatile LoadLimits limits = LoadLimits.NONE;
+
+    private volatile ConfigSchema schema;
+
+    private record Subscription(Object[] path, ChangeListener listener) {}
+
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
     /**
      * Constructs a new {@link CustomFile} instance.
      *
      * <p>This constructor initializes the custom file by setting its effective name
-     * (excluding the '.yml' extension) and the actual file object.
+     * (excluding the extension) and the actual file object.
      *
      * @param file the file object to be wrapped by this custom file
      * @param isDynamic whether the custom file should be treated as dynamic
      * @since 0.1.0
      */
     public CustomFile(final File file, final boolean isDynamic) {
-        this.effectiveName = file.getName().replace(".yml", "");
+        final String name = file.getName();
+        final int index = name.lastIndexOf('.');
+
+        this.effectiveName = index > 0 ? name.substring(0, index) : name;
         this.isDynamic = isDynamic;
         this.file = file;
     }
@@ -161,6 +220,258 @@ public abstract class CustomFile<T extends CustomFile<T>> {
      */
     public abstract List<String> getStringList(final Object... path);
 
+    /**
+     * Retrieves the value of a precompiled key.
+     *
+     * <p>The key is resolved from the configuration the first time it is read after a load,
+     * after that it is read straight from the value table of the current {@link ConfigSnapshot}.
+     * Values set through {@link #setValue(Object, Object...)} show up right away, values changed directly
+     * on {@link #getConfigurationNode()} only once the file reloads.
+     *
+     * @param key the {@link ConfigKey} to retrieve
+     * @param <V> the type of the value
+     * @return the value, or the default value of the key if not found
+     * @since 0.2.0
+     */
+    public <V> V get(@NotNull final ConfigKey<V> key) {
+        return this.snapshot.get(key);
+    }
+
+    /**
+     * Retrieves the snapshot of the last load, or of the last value set since then.
+     *
+     * <p>A snapshot is only ever replaced as a whole, so it is safe to read from any thread.
+     * A snapshot of a lazily loaded file is closed once it is replaced, so fetch the snapshot again instead of keeping it.
+     *
+     * @return the {@link ConfigSnapshot}
+     * @since 0.2.0
+     */
+    public ConfigSnapshot getSnapshot() {
+        return this.snapshot;
+    }
+
+    /**
+     * Publishes a fully loaded node tree, replacing the previous snapshot in a single step.
+     *
+     * @param node the root node, or null if loading failed
+     * @since 0.2.0
+     */
+    protected void publish(@Nullable final CommentedConfigurationNode node) {
+        swap(node == null ? ConfigSnapshot.EMPTY : new ConfigSnapshot(this.keys, node));
+    }
+
+    /**
+     * Publishes a tree which is only built once it is first read, replacing the previous snapshot in a single step.
+     *
+     * @param tree the supplier building the root node
+     * @since 0.2.0
+     */
+    protected void publishLazily(@NotNull final Supplier<CommentedConfigurationNode> tree) {
+        swap(new ConfigSnapshot(this.keys, tree));
+    }
+
+    /**
+     * Publishes a tree whose sections are parsed on first access, replacing the previous snapshot in a single step.
+     *
+     * @param sections the {@link LazySections} of the file
+     * @since 0.2.0
+     */
+    protected void publishSections(@NotNull final LazySections sections) {
+        swap(new ConfigSnapshot(this.keys, sections));
+    }
+
+    /**
+     * Replaces the snapshot, notifies the change listeners of what changed since the previous load, and closes the previous snapshot.
+     *
+     * @param snapshot the new {@link ConfigSnapshot}
+     * @since 0.2.0
+     */
+    private void swap(@NotNull final ConfigSnapshot snapshot) {
+        final ConfigSnapshot previous;
+
+        synchronized (this.lock) {
+            previous = this.snapshot;
+
+            this.snapshot = snapshot;
+        }
+
+        this.loads.incrementAndGet();
+
+        // the diff loads every section of both trees, so it is only computed if someone listens.
+        if (!this.subscriptions.isEmpty() && previous.isLoaded() && snapshot.isLoaded()) {
+            notifyListeners(ConfigDiff.of(previous.getNode(), snapshot.getNode()));
+        }
+
+        // the previous tree is no longer published, so the file behind its unparsed sections is released.
+        previous.close();
+    }
+
+    /**
+     * Calls every change listener whose path is affected by a diff.
+     *
+     * @param diff the {@link ConfigDiff} between the previous and the new snapshot
+     * @since 0.2.0
+     */
+    private void notifyListeners(final ConfigDiff diff) {
+        if (diff.isEmpty()) return;
+
+        for (final Subscription subscription : this.subscriptions) {
+            if (!diff.affects(subscription.path())) continue;
+
+            try {
+                subscription.listener().onChange(diff.filter(subscription.path()));
+            } catch (RuntimeException exception) {
+                this.logger.warn("A change listener of {} failed.", getFileName(), exception);
+            }
+        }
+    }
+
+    /**
+     * Publishes a changed copy of the current tree, without notifying the change listeners, as nothing was reloaded.
+     *
+     * <p>The published tree itself is never changed, so readers on other threads and a save which is already
+     * serializing it keep seeing the tree they started with, and the values of every {@link ConfigKey} start over.
+     *
+     * @param change the change to make to the copy
+     * @return false if nothing is loaded, in which case nothing changed
+     * @since 0.2.0
+     */
+    protected boolean update(@NotNull final Consumer<CommentedConfigurationNode> change) {
+        synchronized (this.lock) {
+            final ConfigSnapshot snapshot = this.snapshot;
+
+            if (!snapshot.isLoaded()) return false;
+
+            final CommentedConfigurationNode copy = snapshot.getNode().copy();
+
+            change.accept(copy);
+
+            this.snapshot = new ConfigSnapshot(this.keys, copy);
+
+            snapshot.close();
+
+            return true;
+        }
+    }
+
+    /**
+     * Publishes a tree which is only built once it is first read, without notifying the change listeners, as nothing was reloaded.
+     *
+     * <p>Used by backends which keep their values outside the node tree, so a value set there does not copy the tree every time.
+     *
+     * @param tree the supplier building the root node
+     * @return false if nothing is loaded, in which case nothing changed
+     * @since 0.2.0
+     */
+    protected boolean updateLazily(@NotNull final Supplier<CommentedConfigurationNode> tree) {
+        synchronized (this.lock) {
+            final ConfigSnapshot snapshot = this.snapshot;
+
+            if (!snapshot.isLoaded()) return false;
+
+            this.snapshot = new ConfigSnapshot(this.keys, tree);
+
+            snapshot.close();
+
+            return true;
+        }
+    }
+
+    /**
+     * Adds a listener which is called with the changes to a path, whenever a reload changes something at, below or above it.
+     *
+     * <p>The first load is not a change, and a load which fails does not notify anyone.
+     * While any listener is registered, every reload parses the whole file, even if it is loaded lazily.
+     *
+     * @param listener the listener
+     * @param path the path to listen to, or nothing for the whole file
+     * @return the current instance of the custom file
+     * @since 0.2.0
+     */
+    public CustomFile<T> addChangeListener(@NotNull final ChangeListener listener, @NotNull final Object... path) {
+        this.subscriptions.add(new Subscription(path.clone(), listener));
+
+        return this;
+    }
+
+    /**
+     * Removes a listener from every path it listens to.
+     *
+     * @param listener the listener
+     * @return the current instance of the custom file
+     * @since 0.2.0
+     */
+    public CustomFile<T> removeChangeListener(@NotNull final ChangeListener listener) {
+        this.subscriptions.removeIf(subscription -> subscription.listener() == listener);
+
+        return this;
+    }
+
+    /**
+     * Maps a configuration section onto a record or a plain object.
+     *
+     * <p>The instance is cached until the file reloads or a value is set, so it should be treated as read only.
+     *
+     * @param type the record or class to map onto
+     * @param path the path to the section, or nothing for the root
+     * @param <V> the type to map onto
+     * @return the mapped instance
+     * @throws GenericException if the type cannot be mapped onto, or a value cannot be converted
+     * @since 0.2.0
+     */
+    public <V> @NotNull V as(@NotNull final Class<V> type, @NotNull final Object... path) {
+        return this.snapshot.map(ConfigMapper.of(type), path);
+    }
+
+    /**
+     * Binds the whole configuration to a record or a plain object.
+     *
+     * <p>The supplier always hands out the instance of the latest load, so it can be kept in a field,
+     * and only maps the configuration again once the file reloads.
+     *
+     * @param type the record or class to map onto
+     * @param <V> the type to map onto
+     * @return a supplier of the mapped instance
+     * @throws GenericException if the type cannot be mapped onto
+     * @since 0.2.0
+     */
+    public <V> @NotNull Supplier<V> bind(@NotNull final Class<V> type) {
+        // fails early if the type cannot be mapped onto.
+        ConfigMapper.of(type);
+
+        return () -> as(type);
+    }
+
+    /**
+     * Sets a value in the configuration at the specified path, the change is written on the next save.
+     *
+     * <p>The value is set on a copy of the tree, which is then published as a new snapshot, so it shows up in every getter right away.
+     * Copying the tree keeps readers on other threads safe, but makes this meant for occasional changes,
+     * data which changes often is better kept in a {@link com.ryderbelserion.vital.files.types.SqliteCustomFile}.
+     *
+     * @param value the value to set, or null to remove the path
+     * @param path the configuration path to set the value at
+     * @throws GenericException if the configuration is not loaded, or the value cannot be serialized
+     * @since 0.2.0
+     */
+    public void setValue(@Nullable final Object value, @NotNull final Object... path) {
+        if (this.mapped) {
+            throw new GenericException("Cannot set " + Arrays.toString(path) + ", as " + getFileName() + " is mapped read only.");
+        }
+
+        final boolean loaded = update(root -> {
+            try {
+                root.node(path).set(value);
+            } catch (SerializationException exception) {
+                throw new GenericException("Failed to serialize " + Arrays.toString(path), exception);
+            }
+        });
+
+        if (!loaded) {
+            throw new GenericException("Cannot set " + Arrays.toString(path) + ", as " + getFileName() + " is not loaded.");
+        }
+    }
+
     /**
      * Loads the configuration for the custom file.
      *
@@ -170,13 +481,107 @@ public abstract class CustomFile<T extends CustomFile<T>> {
     public abstract CustomFile<T> loadConfiguration();
 
     /**
-     * Saves the configuration for the custom file.
+     * Loads the configuration for the custom file, and reports whether it was loaded.
+     *
+     * <p>{@link #loadConfiguration()} logs a failed load and keeps the last loaded version,
+     * this lets the caller tell a file which failed to load apart from one which can be used.
+     *
+     * @return true if the configuration was loaded, false if the file was skipped or failed to load
+     * @since 0.2.0
+     */
+    public boolean tryLoad() {
+        final long loads = this.loads.get();
+
+        loadConfiguration();
+
+        return this.loads.get() != loads;
+    }
+
+    /**
+     * Saves the configuration for the custom file, without waiting for the write to finish.
      *
      * @return the current instance of the custom file
      * @since 0.1.0
      */
     public abstract CustomFile<T> saveConfiguration();
 
+    /**
+     * Writes the configuration to disk on the calling thread.
+     *
+     * @throws GenericException if the configuration could not be written
+     * @since 0.2.0
+     */
+    protected abstract void writeConfiguration();
+
+    /**
+     * Loads the configuration on the file executor.
+     *
+     * <p>The load is queued behind any pending save of this file, so it always sees the saved contents.
+     *
+     * @return a future completing with the current instance of the custom file
+     * @since 0.2.0
+     */
+    public CompletableFuture<CustomFile<T>> loadAsync() {
+        return enqueue(this::loadConfiguration);
+    }
+
+    /**
+     * Loads the configuration on the file executor, and reports whether it was loaded.
+     *
+     * <p>The load is queued behind any pending save of this file, like {@link #loadAsync()}.
+     *
+     * @return a future completing with true if the configuration was loaded, see {@link #tryLoad()}
+     * @since 0.2.0
+     */
+    public CompletableFuture<Boolean> tryLoadAsync() {
+        return enqueue(this::tryLoad);
+    }
+
+    /**
+     * Saves the configuration on the file executor.
+     *
+     * <p>Saves to the same file are run one after another, in the order they were requested.
+     *
+     * @return a future completing once the file has been written, or exceptionally if it failed
+     * @since 0.2.0
+     */
+    public CompletableFuture<CustomFile<T>> saveAsync() {
+        final CompletableFuture<CustomFile<T>> future = enqueue(() -> {
+            if (this.mapped) {
+                throw new GenericException("Cannot save " + getFileName() + ", as it is mapped read only.");
+            }
+
+            writeConfiguration();
+
+            return this;
+        });
+
+        future.whenComplete((file, throwable) -> {
+            if (throwable != null) {
+                this.logger.warn("Cannot save configuration file: {}", getFileName(), throwable);
+            }
+        });
+
+        return future;
+    }
+
+    /**
+     * Queues a task for this file on the file executor.
+     *
+     * @param task the task to run
+     * @param <R> the result of the task
+     * @return a future completing with the result of the task
+     * @since 0.2.0
+     */
+    private synchronized <R> CompletableFuture<R> enqueue(final Supplier<R> task) {
+        // a failed task should not stop the tasks queued after it.
+        final CompletableFuture<R> future = this.queue.handle((ignored, throwable) -> null).thenApplyAsync(ignored -> task.get(), this.api.getFileExecutor());
+
+        this.queue = future;
+
+        return future;
+    }
+
     /**
      * Retrieves the file type of this custom file.
      *
@@ -188,11 +593,28 @@ public abstract class CustomFile<T extends CustomFile<T>> {
     /**
      * Gets the root configuration node of the YAML file.
      *
+     * <p>This is the tree of the current snapshot, which is replaced by every load and by {@link #setValue(Object, Object...)},
+     * so it should not be kept around. Changing it directly is only safe from a single thread, and is not seen
+     * by values which were already resolved, use {@link #setValue(Object, Object...)} instead.
+     *
      * @return the root {@link CommentedConfigurationNode} of the configuration
      * @since 0.1.0
      */
     public abstract CommentedConfigurationNode getConfigurationNode();
 
+    /**
+     * Gets the configuration node at a path.
+     *
+     * <p>Unlike {@link #getConfigurationNode()}, a lazily loaded file only parses the section the path is in.
+     *
+     * @param path the path to the node
+     * @return the {@link CommentedConfigurationNode}, which is virtual if the path does not exist
+     * @since 0.2.0
+     */
+    public CommentedConfigurationNode getConfigurationNode(@NotNull final Object... path) {
+        return this.snapshot.getNode(path);
+    }
+
     /**
      * Checks if the custom file is dynamic.
      *
@@ -214,7 +636,7 @@ public abstract class CustomFile<T extends CustomFile<T>> {
     }
 
     /**
-     * Retrieves the effective name of the file, the name without the '.yml' extension.
+     * Retrieves the effective name of the file, the name without the extension.
      *
      * @return the effective name of the file
      * @since 0.1.0
@@ -243,6 +665,317 @@ public abstract class CustomFile<T extends CustomFile<T>> {
         return this.file.exists();
     }
 
+    /**
+     * Retrieves the fingerprint of the file, as of the last load or save.
+     *
+     * @return the {@link FileFingerprint}
+     * @since 0.2.0
+     */
+    public FileFingerprint getFingerprint() {
+        return this.fingerprint;
+    }
+
+    /**
+     * Checks if the file on disk changed since the last load or save.
+     *
+     * <p>The last modified time and size are checked first, if they differ and {@code checksum} is true,
+     * the contents are compared as well, so a file that was only touched counts as unchanged.
+     * The contents can only be compared if the fingerprint has a checksum, see {@link #setChecksum(boolean)}.
+     *
+     * @param checksum whether to compare the contents if the metadata differs
+     * @return true if the file changed
+     * @since 0.2.0
+     */
+    public boolean isChanged(final boolean checksum) {
+        final FileFingerprint current = this.fingerprint;
+
+        if (current.matches(this.file)) return false;
+
+        if (checksum && current.matchesContent(this.file)) {
+            // the contents are the same, so only the metadata is taken again instead of hashing the file a second time.
+            this.fingerprint = new FileFingerprint(this.file.lastModified(), this.file.length(), current.hash());
+
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks if the contents of the file are hashed whenever it is loaded or saved.
+     *
+     * @return true if fingerprints have a checksum
+     * @since 0.2.0
+     */
+    public boolean isChecksum() {
+        return this.checksum;
+    }
+
+    /**
+     * Sets whether the contents of the file are hashed whenever it is loaded or saved, which applies on the next load or save.
+     *
+     * <p>This is what lets {@link #isChanged(boolean)} compare the contents, at the cost of reading the file once more.
+     * Without it only the last modified time and size are recorded.
+     *
+     * @param checksum true or false
+     * @return the current instance of the custom file
+     * @since 0.2.0
+     */
+    public CustomFile<T> setChecksum(final boolean checksum) {
+        this.checksum = checksum;
+
+        return this;
+    }
+
+    /**
+     * Takes a fingerprint of the file, which only has a checksum if {@link #isChecksum()} is true.
+     *
+     * @return the {@link FileFingerprint}
+     * @since 0.2.0
+     */
+    protected @NotNull FileFingerprint takeFingerprint() {
+        return FileFingerprint.of(this.file, this.checksum);
+    }
+
+    /**
+     * Records the fingerprint of the file, should be called after a load or save.
+     *
+     * @since 0.2.0
+     */
+    protected void markModified() {
+        markModified(takeFingerprint());
+    }
+
+    /**
+     * Records an already taken fingerprint of the file, should be called after a load or save.
+     *
+     * @param fingerprint the {@link FileFingerprint}
+     * @since 0.2.0
+     */
+    protected void markModified(@NotNull final FileFingerprint fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * Retrieves the binary cache used to skip parsing when the file did not change.
+     *
+     * @return the {@link BinaryCache}, or null if caching is disabled
+     * @since 0.2.0
+     */
+    public @Nullable BinaryCache getCache() {
+        return this.cache;
+    }
+
+    /**
+     * Sets the binary cache used to skip parsing when the file did not change.
+     *
+     * <p>File types which do not benefit from caching ignore it.
+     *
+     * @param cache the {@link BinaryCache}, or null to disable caching
+     * @since 0.2.0
+     */
+    public void setCache(@Nullable final BinaryCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Checks if the file is loaded through a read only memory map.
+     *
+     * @return true if the file is mapped
+     * @since 0.2.0
+     */
+    public boolean isMapped() {
+        return this.mapped;
+    }
+
+    /**
+     * Sets whether the file is loaded through a read only memory map, which applies on the next load.
+     *
+     * <p>Large files are then parsed straight from the page cache instead of being copied onto the heap,
+     * and YAML files only parse a top level section once it is read. Mapped files are never written,
+     * so saving one fails. File types which cannot be mapped ignore it.
+     *
+     * @param mapped true or false
+     * @return the current instance of the custom file
+     * @since 0.2.0
+     */
+    public CustomFile<T> setMapped(final boolean mapped) {
+        this.mapped = mapped;
+
+        return this;
+    }
+
+    /**
+     * Retrieves the limits the file has to stay within to be loaded.
+     *
+     * @return the {@link LoadLimits}
+     * @since 0.2.0
+     */
+    public @NotNull LoadLimits getLimits() {
+        return this.limits;
+    }
+
+    /**
+     * Sets the limits the file has to stay within to be loaded, which apply on the next load.
+     *
+     * <p>A file which breaks a limit is not parsed, and the snapshot of the last good load is kept.
+     *
+     * @param limits the {@link LoadLimits}
+     * @return the current instance of the custom file
+     * @since 0.2.0
+     */
+    public CustomFile<T> setLimits(@NotNull final LoadLimits limits) {
+        this.limits = limits;
+
+        return this;
+    }
+
+    /**
+     * Checks the file against its limits before it is parsed, logging why it was rejected.
+     *
+     * @param scan whether to scan the contents for the depth and the amount of aliases, or only check the size
+     * @return true if the file may be parsed
+     * @since 0.2.0
+     */
+    protected boolean isWithinLimits(final boolean scan) {
+        final LoadLimits limits = this.limits;
+
+        try {
+            limits.checkSize(this.file);
+
+            if (scan) {
+                limits.scan(this.file, getFileType() == FileType.YAML);
+            }
+
+            return true;
+        } catch (GenericException exception) {
+            this.logger.error("Refusing to load {}: {} The last loaded version is kept.", getFileName(), exception.getMessage());
+        } catch (IOException exception) {
+            this.logger.error("Cannot scan configuration file: {}, the last loaded version is kept.", getFileName(), exception);
+        }
+
+        return false;
+    }
+
+    /**
+     * Runs a parse within the timeout of the limits, or on the calling thread if there is none.
+     *
+     * <p>The parse runs on a virtual thread, which is interrupted once the timeout passes,
+     * but a parser that ignores interrupts keeps running until it finishes on its own, only the result is dropped.
+     *
+     * @param task the parse to run
+     * @param <R> the result of the parse
+     * @return the result of the parse
+     * @throws IOException if the parse failed, or took longer than the timeout
+     * @since 0.2.0
+     */
+    protected <R> R withTimeout(@NotNull final Callable<R> task) throws IOException {
+        final long timeout = this.limits.timeout();
+
+        try {
+            if (timeout <= 0) return task.call();
+
+            final FutureTask<R> future = new FutureTask<>(task);
+
+            Thread.ofVirtual().name("vital-load-" + getEffectiveName()).start(future);
+
+            try {
+                return future.get(timeout, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException exception) {
+                future.cancel(true);
+
+                throw new IOException(getFileName() + " took longer than " + timeout + "ms to load.", exception);
+            } catch (InterruptedException exception) {
+                future.cancel(true);
+
+                Thread.currentThread().interrupt();
+
+                throw new IOException("Interrupted while loading " + getFileName(), exception);
+            } catch (ExecutionException exception) {
+                final Throwable cause = exception.getCause();
+
+                if (cause instanceof IOException io) throw io;
+                if (cause instanceof RuntimeException runtime) throw runtime;
+                if (cause instanceof Error error) throw error;
+
+                throw new IOException("Failed to load " + getFileName(), exception);
+            }
+        } catch (IOException | RuntimeException exception) {
+            throw exception;
+        } catch (Exception exception) {
+            throw new IOException("Failed to load " + getFileName(), exception);
+        }
+    }
+
+    /**
+     * Retrieves the schema the file is brought up to date with when it loads.
+     *
+     * @return the {@link ConfigSchema}, or null if the file is loaded as is
+     * @since 0.2.0
+     */
+    public @Nullable ConfigSchema getSchema() {
+        return this.schema;
+    }
+
+    /**
+     * Sets the schema the file is brought up to date with when it loads, which applies on the next load.
+     *
+     * <p>Every load then runs the pending migrations and fills in the missing defaults before the snapshot is published,
+     * and the file is only written back if either of them changed something. YAML files with a schema are never loaded lazily,
+     * and mapped files are brought up to date in memory only, as they cannot be written. As the loader of Configurate YAML files
+     * does not write comments, only the changed lines of such a file are rewritten, see {@link ConfigSchema} for what is merged.
+     *
+     * @param schema the {@link ConfigSchema}, or null to load the file as is
+     * @return the current instance of the custom file
+     * @since 0.2.0
+     */
+    public CustomFile<T> setSchema(@Nullable final ConfigSchema schema) {
+        this.schema = schema;
+
+        return this;
+    }
+
+    /**
+     * Brings a freshly loaded tree up to date with the schema, before it is published.
+     *
+     * @param node the root node of the file
+     * @return true if anything changed, in which case {@link #writeBack()} should be called once the tree is published
+     * @throws IOException if a migration failed, or the defaults could not be loaded
+     * @since 0.2.0
+     */
+    protected boolean migrate(@NotNull final CommentedConfigurationNode node) throws IOException {
+        final ConfigSchema schema = this.schema;
+
+        if (schema == null) return false;
+
+        try {
+            return schema.apply(node);
+        } catch (GenericException exception) {
+            throw new IOException("Cannot apply the schema of " + getFileName(), exception);
+        }
+    }
+
+    /**
+     * Writes the published tree back to disk after the schema changed it, unless the file is mapped read only.
+     *
+     * @since 0.2.0
+     */
+    protected void writeBack() {
+        if (this.mapped) {
+            if (this.isVerbose) {
+                this.logger.info("{} was brought up to date in memory only, as it is mapped read only.", getFileName());
+            }
+
+            return;
+        }
+
+        if (this.isVerbose) {
+            this.logger.info("{} was migrated or given new defaults, writing it back.", getFileName());
+        }
+
+        saveAsync();
+    }
+
     /**
      * Retrieves the file object wrapped by this custom file.
      *
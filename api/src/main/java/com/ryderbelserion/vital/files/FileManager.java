@@ -3,17 +3,42 @@ package com.ryderbelserion.vital.files;
 import com.ryderbelserion.vital.VitalProvider;
 import com.ryderbelserion.vital.api.Vital;
 import com.ryderbelserion.vital.api.exceptions.GenericException;
+import com.ryderbelserion.vital.files.cache.BinaryCache;
+import com.ryderbelserion.vital.files.enums.FileAction;
 import com.ryderbelserion.vital.files.enums.FileType;
+import com.ryderbelserion.vital.files.interfaces.FileBackend;
+import com.ryderbelserion.vital.files.interfaces.FileListener;
+import com.ryderbelserion.vital.files.objects.ConfigSchema;
+import com.ryderbelserion.vital.files.objects.LoadLimits;
+import com.ryderbelserion.vital.files.objects.ReloadReport;
+import com.ryderbelserion.vital.files.types.BinaryCustomFile;
+import com.ryderbelserion.vital.files.types.JsonCustomFile;
+import com.ryderbelserion.vital.files.types.SqliteCustomFile;
 import com.ryderbelserion.vital.files.types.YamlCustomFile;
 import com.ryderbelserion.vital.utils.Methods;
 import net.kyori.adventure.text.logger.slf4j.ComponentLogger;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Manages custom files for the application.
@@ -22,6 +47,10 @@ import java.util.Map;
  * supporting various file types such as YAML. It ensures that file operations are handled
  * efficiently and provides logging for important actions.
  *
+ * <p>Files are created through a {@link FileBackend}, which can be picked per file or per folder.
+ * The built-in backends are {@code yaml}, {@code json}, {@code sqlite} and {@code binary},
+ * each of which is the default for its {@link FileType} until another backend is set as the default.
+ *
  * @author Ryder Belserion
  * @version 0.1.0
  * @since 0.1.0
@@ -33,7 +62,30 @@ public class FileManager {
     private final File dataFolder = this.api.getDataFolder();
     private final boolean isVerbose = this.api.isVerbose();
 
-    private final Map<String, CustomFile<? extends CustomFile<?>>> files = new HashMap<>();
+    private final FileRegistry<CustomFile<? extends CustomFile<?>>> files = new FileRegistry<>(this.dataFolder, CustomFile::getFile, CustomFile::isDynamic);
+
+    private final Map<String, FileBackend> folders = new ConcurrentHashMap<>();
+
+    private final Map<String, FileBackend> backends = new ConcurrentHashMap<>();
+
+    private final Map<FileType, FileBackend> defaults = new ConcurrentHashMap<>();
+
+    private final Map<String, ConfigSchema> schemas = new ConcurrentHashMap<>();
+
+    private final List<FileListener<CustomFile<? extends CustomFile<?>>>> listeners = new CopyOnWriteArrayList<>();
+
+    // written on the main thread, read from virtual threads, the file executor and the watcher thread.
+    private volatile FileWatcher watcher;
+
+    private volatile boolean checksum = false;
+
+    private volatile SaveQueue<CustomFile<? extends CustomFile<?>>> saveQueue;
+
+    private volatile BinaryCache cache;
+
+    private volatile boolean lazy = false;
+
+    private volatile LoadLimits limits = LoadLimits.NONE;
 
     /**
      * Default constructor for the FileManager class.
@@ -44,17 +96,140 @@ public class FileManager {
      *
      * @since 0.1.0
      */
-    public FileManager() {}
+    public FileManager() {
+        registerBackend(FileBackend.of("yaml", FileType.YAML, YamlCustomFile::new));
+        registerBackend(FileBackend.of("json", FileType.JSON, JsonCustomFile::new));
+        registerBackend(FileBackend.of("sqlite", FileType.SQLITE, SqliteCustomFile::new));
+        registerBackend(FileBackend.of("binary", FileType.BINARY, BinaryCustomFile::new));
+    }
+
+    /**
+     * Registers a backend under its name, replacing the previous backend with the same name.
+     *
+     * <p>The backend becomes the default for its {@link FileType}, if there was no default yet.
+     *
+     * @param backend the {@link FileBackend}
+     * @return the current instance of {@link FileManager}
+     * @since 0.2.0
+     */
+    public final FileManager registerBackend(@NotNull final FileBackend backend) {
+        this.backends.put(backend.getName(), backend);
+
+        this.defaults.putIfAbsent(backend.getFileType(), backend);
+
+        return this;
+    }
+
+    /**
+     * Sets the backend used for a file type, when a file or folder is added without naming a backend.
+     *
+     * @param fileType the file type
+     * @param name the name of a registered backend, which must handle the same file type
+     * @return the current instance of {@link FileManager}
+     * @throws GenericException if no backend is registered under the name, or it handles another file type
+     * @since 0.2.0
+     */
+    public final FileManager setDefaultBackend(@NotNull final FileType fileType, @NotNull final String name) {
+        final FileBackend backend = getBackend(name);
+
+        if (backend.getFileType() != fileType) {
+            throw new GenericException("The backend " + name + " handles " + backend.getFileType() + " files, not " + fileType + " files.");
+        }
+
+        this.defaults.put(fileType, backend);
+
+        return this;
+    }
+
+    /**
+     * Retrieves a registered backend by its name.
+     *
+     * @param name the name of the backend
+     * @return the {@link FileBackend}
+     * @throws GenericException if no backend is registered under the name
+     * @since 0.2.0
+     */
+    public final @NotNull FileBackend getBackend(@NotNull final String name) {
+        final FileBackend backend = this.backends.get(name);
+
+        if (backend == null) {
+            throw new GenericException("No backend is registered under the name " + name);
+        }
+
+        return backend;
+    }
+
+    /**
+     * Retrieves the backend used for a file type, when a file or folder is added without naming a backend.
+     *
+     * @param fileType the file type
+     * @return the {@link FileBackend}, or null if there is none, such as for {@link FileType#NONE}
+     * @since 0.2.0
+     */
+    public final @Nullable FileBackend getDefaultBackend(@NotNull final FileType fileType) {
+        return this.defaults.get(fileType);
+    }
+
+    /**
+     * Retrieves every registered backend.
+     *
+     * @return an unmodifiable view of the backends keyed by their name
+     * @since 0.2.0
+     */
+    public final Map<String, FileBackend> getBackends() {
+        return Collections.unmodifiableMap(this.backends);
+    }
 
     /**
      * Adds a folder to the manager and loads its contents.
      *
+     * <p>Files which are not registered yet are parsed in parallel, and published in a single step once all of them are parsed,
+     * a file which fails to load is left out and logged. Files which are already registered are reloaded in place,
+     * behind any save that is still pending for them, and keep their last loaded version if the reload fails.
+     *
      * @param folder the folder name
      * @param fileType the type of files in the folder
      * @return the current instance of {@link FileManager}
      * @since 0.1.0
      */
     public final FileManager addFolder(@NotNull final String folder, @NotNull final FileType fileType) {
+        final FileBackend backend = getDefaultBackend(fileType);
+
+        if (backend == null) {
+            if (this.isVerbose) {
+                this.logger.warn("Cannot add the folder {}, as there is no backend for {} files.", folder, fileType);
+            }
+
+            return this;
+        }
+
+        return addFolder(folder, backend);
+    }
+
+    /**
+     * Adds a folder to the manager and loads its contents through a specific backend.
+     *
+     * <p>See {@link #addFolder(String, FileType)} for how files are loaded.
+     *
+     * @param folder the folder name
+     * @param backend the name of a registered backend, which decides the type of files in the folder
+     * @return the current instance of {@link FileManager}
+     * @throws GenericException if no backend is registered under the name
+     * @since 0.2.0
+     */
+    public final FileManager addFolder(@NotNull final String folder, @NotNull final String backend) {
+        return addFolder(folder, getBackend(backend));
+    }
+
+    /**
+     * Adds a folder to the manager and loads its contents.
+     *
+     * @param folder the folder name
+     * @param backend the backend the files in the folder are created through
+     * @return the current instance of {@link FileManager}
+     * @since 0.2.0
+     */
+    private FileManager addFolder(@NotNull final String folder, @NotNull final FileBackend backend) {
         if (folder.isEmpty() || folder.isBlank()) {
             if (this.isVerbose) {
                 this.logger.warn("Cannot add the folder as the folder is empty.");
@@ -63,6 +238,8 @@ public class FileManager {
             return this;
         }
 
+        this.folders.putIfAbsent(folder, backend);
+
         final File directory = new File(this.dataFolder, folder);
 
         if (!directory.exists()) {
@@ -75,18 +252,20 @@ public class FileManager {
 
         if (contents == null) return this;
 
-        final String extension = fileType.getExtension();
+        final String extension = backend.getFileType().getExtension();
+
+        final Map<String, CustomFile<? extends CustomFile<?>>> pending = new HashMap<>();
 
         for (final File file : contents) {
             if (file.isDirectory()) {
-                final String[] files = file.list();
+                final File[] files = file.listFiles();
 
                 if (files == null) continue;
 
-                for (final String fileName : files) {
-                    if (!fileName.endsWith("." + extension)) continue; // just in case people are weird
+                for (final File child : files) {
+                    if (!child.getName().endsWith("." + extension)) continue; // just in case people are weird
 
-                    addFile(fileName, folder + File.separator + file.getName(), true, fileType);
+                    pending.put(strip(child.getName(), extension), getOrCreate(child, backend));
                 }
 
                 continue;
@@ -96,12 +275,124 @@ public class FileManager {
 
             if (!fileName.endsWith("." + extension)) continue; // just in case people are weird
 
-            addFile(fileName, folder, true, fileType);
+            pending.put(strip(fileName, extension), getOrCreate(file, backend));
+        }
+
+        if (pending.isEmpty()) return this;
+
+        final long hits = this.cache != null ? this.cache.getHits() : 0;
+
+        final long start = System.nanoTime();
+
+        final Map<String, CustomFile<? extends CustomFile<?>>> loaded = new HashMap<>(pending.size());
+
+        final Map<String, Future<Boolean>> tasks = new HashMap<>(pending.size());
+
+        final Set<String> registered = new HashSet<>();
+
+        // parse every new file on its own virtual thread, the carrier pool keeps the parsing bounded to the available cores.
+        try (final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            pending.forEach((name, customFile) -> {
+                if (this.files.get(name) != customFile) {
+                    tasks.put(name, executor.submit(customFile::tryLoad));
+
+                    return;
+                }
+
+                registered.add(name);
+
+                // a registered file may be saving or reloading already, so it is reloaded through its own queue instead.
+                tasks.put(name, reload(customFile));
+            });
+
+            tasks.forEach((name, task) -> {
+                final CustomFile<? extends CustomFile<?>> customFile = pending.get(name);
+
+                try {
+                    if (task.get()) {
+                        loaded.put(name, customFile);
+                    } else if (registered.contains(name)) {
+                        this.logger.warn("Failed to reload {} from {}, the last loaded version is kept.", name, folder);
+                    } else {
+                        this.logger.warn("Failed to load {} from {}, it is not added.", name, folder);
+                    }
+                } catch (ExecutionException exception) {
+                    this.logger.warn("Failed to load {} from {}", name, folder, exception.getCause());
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+
+        // new files are only published once every file in the folder has been parsed, registered files were reloaded in place.
+        loaded.forEach((name, customFile) -> {
+            if (!registered.contains(name)) this.files.put(name, customFile);
+        });
+
+        if (this.isVerbose) {
+            this.logger.info("Loaded {}/{} file(s) from {} in {}ms, {} from the binary cache", loaded.size(), pending.size(), folder, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                    this.cache != null ? this.cache.getHits() - hits : 0);
         }
 
         return this;
     }
 
+    /**
+     * Fetches the registered custom file for a folder entry, or creates a new one without loading it.
+     *
+     * @param file the file on disk
+     * @param backend the backend to create the file through
+     * @return the custom file instance
+     * @since 0.2.0
+     */
+    private @NotNull CustomFile<? extends CustomFile<?>> getOrCreate(@NotNull final File file, @NotNull final FileBackend backend) {
+        final CustomFile<? extends CustomFile<?>> customFile = this.files.get(strip(file.getName(), backend.getFileType().getExtension()));
+
+        if (customFile != null) return customFile;
+
+        return configure(backend.create(file, true));
+    }
+
+    /**
+     * Applies the settings of this manager to a newly created custom file.
+     *
+     * @param customFile the custom file
+     * @return the custom file
+     * @since 0.2.0
+     */
+    private @NotNull CustomFile<? extends CustomFile<?>> configure(@NotNull final CustomFile<? extends CustomFile<?>> customFile) {
+        customFile.setCache(this.cache);
+        customFile.setLimits(this.limits);
+        customFile.setChecksum(this.checksum);
+
+        final ConfigSchema schema = this.schemas.get(customFile.getEffectiveName());
+
+        if (schema != null) {
+            customFile.setSchema(schema);
+        }
+
+        if (customFile instanceof YamlCustomFile yaml) {
+            yaml.setLazy(this.lazy);
+        }
+
+        return customFile;
+    }
+
+    /**
+     * Adds an already created custom file to the manager's map, replacing the file with the same name.
+     *
+     * <p>The file is not loaded, so it should be loaded before it is added.
+     *
+     * @param customFile the custom file
+     * @return the current instance of {@link FileManager}
+     * @since 0.2.0
+     */
+    public final FileManager addFile(@NotNull final CustomFile<? extends CustomFile<?>> customFile) {
+        this.files.put(customFile.getEffectiveName(), customFile);
+
+        return this;
+    }
+
     /**
      * Adds a custom file with a default file type.
      *
@@ -118,7 +409,7 @@ public class FileManager {
     /**
      * Adds a custom file to the manager's map.
      *
-     * <p>This method supports adding YAML files and will throw an exception for unsupported file types.
+     * <p>This method supports adding YAML, JSON, SQLite and binary files.
      * The {@code isDynamic} parameter specifies whether the custom file is dynamic.
      *
      * @param fileName the name of the file to add
@@ -134,7 +425,7 @@ public class FileManager {
     /**
      * Adds a custom file to the manager's map.
      *
-     * <p>This method supports adding YAML files and will throw an exception for unsupported file types.
+     * <p>This method supports adding YAML, JSON, SQLite and binary files.
      * The {@code isDynamic} parameter specifies whether the custom file is dynamic.
      *
      * @param fileName the name of the file to add
@@ -145,6 +436,57 @@ public class FileManager {
      * @since 0.1.0
      */
     public final FileManager addFile(@NotNull final String fileName, @Nullable final String folder, final boolean isDynamic, @NotNull final FileType fileType) {
+        return addFile(fileName, folder, isDynamic, fileType, getDefaultBackend(fileType), false);
+    }
+
+    /**
+     * Adds a custom file to the manager's map, created through a specific backend.
+     *
+     * <p>This lets every file pick the backend which suits its data best, while still living in the same registry.
+     *
+     * @param fileName the name of the file to add
+     * @param folder the folder in which the file is located, or {@code null} if no folder is specified
+     * @param isDynamic whether the custom file is dynamic
+     * @param backend the name of a registered backend
+     * @return the current instance of {@link FileManager}
+     * @throws GenericException if no backend is registered under the name
+     * @since 0.2.0
+     */
+    public final FileManager addFile(@NotNull final String fileName, @Nullable final String folder, final boolean isDynamic, @NotNull final String backend) {
+        final FileBackend fileBackend = getBackend(backend);
+
+        return addFile(fileName, folder, isDynamic, fileBackend.getFileType(), fileBackend, false);
+    }
+
+    /**
+     * Adds a large, read only custom file, which is loaded through a memory map.
+     *
+     * <p>YAML files only parse a top level section once it is read, so the heap does not spike on load.
+     * Saving the file fails, see {@link CustomFile#setMapped(boolean)}.
+     *
+     * @param fileName the name of the file to add
+     * @param folder the folder in which the file is located, or {@code null} if no folder is specified
+     * @param fileType the type of the file, either YAML or JSON
+     * @return the current instance of {@link FileManager}
+     * @since 0.2.0
+     */
+    public final FileManager addMappedFile(@NotNull final String fileName, @Nullable final String folder, @NotNull final FileType fileType) {
+        return addFile(fileName, folder, false, fileType, getDefaultBackend(fileType), true);
+    }
+
+    /**
+     * Adds a custom file to the manager's map, optionally loading it through a memory map.
+     *
+     * @param fileName the name of the file to add
+     * @param folder the folder in which the file is located, or {@code null} if no folder is specified
+     * @param isDynamic whether the custom file is dynamic
+     * @param fileType the type of the file
+     * @param backend the backend to create the file through, or null if there is none for the file type
+     * @param mapped whether the file is loaded through a read only memory map
+     * @return the current instance of {@link FileManager}
+     * @since 0.2.0
+     */
+    private FileManager addFile(@NotNull final String fileName, @Nullable final String folder, final boolean isDynamic, @NotNull final FileType fileType, @Nullable final FileBackend backend, final boolean mapped) {
         if (fileName.isEmpty() || fileName.isBlank()) {
             if (this.isVerbose) {
                 this.logger.warn("Cannot add the file as the file is null or empty.");
@@ -159,7 +501,8 @@ public class FileManager {
 
         final File file = new File(this.dataFolder, folder != null ? folder + File.separator + fileName : fileName);
 
-        if (!file.exists()) {
+        // databases and binary files are created by the plugin, there is nothing to extract.
+        if (!file.exists() && fileType != FileType.SQLITE && fileType != FileType.BINARY) {
             if (this.isVerbose) {
                 this.logger.warn("Successfully extracted file {} to {}", fileName, file.getPath());
             }
@@ -167,20 +510,32 @@ public class FileManager {
             this.api.saveResource(folder == null ? fileName : folder + File.separator + fileName, false, this.isVerbose);
         }
 
-        switch (fileType) {
-            case YAML -> {
-                if (this.files.containsKey(strippedName)) {
-                    this.files.get(strippedName).loadConfiguration();
+        if (backend == null) return this;
 
-                    return this;
-                }
+        final CustomFile<? extends CustomFile<?>> existing = this.files.get(strippedName);
 
-                this.files.put(strippedName, new YamlCustomFile(file, isDynamic).loadConfiguration());
-            }
+        // an existing file keeps the backend it was created through.
+        if (existing != null) {
+            existing.setMapped(mapped);
 
-            case JSON -> throw new GenericException("The file type with extension " + extension + " is not currently supported.");
+            // queued behind any pending save or reload of the file.
+            reload(existing).join();
 
-            case NONE -> {} // do nothing
+            return this;
+        }
+
+        final CustomFile<? extends CustomFile<?>> customFile = configure(backend.create(file, isDynamic));
+
+        customFile.setMapped(mapped);
+
+        customFile.loadConfiguration();
+
+        // another thread may have added the same file in the meantime, in which case its instance is kept.
+        final CustomFile<? extends CustomFile<?>> registered = this.files.putIfAbsent(strippedName, customFile);
+
+        // the instance which lost is dropped, so the database it opened is closed again.
+        if (registered != customFile && customFile instanceof SqliteCustomFile database) {
+            database.close();
         }
 
         return this;
@@ -207,7 +562,9 @@ public class FileManager {
 
         final String strippedName = strip(fileName, extension);
 
-        if (!this.files.containsKey(strippedName)) {
+        final CustomFile<? extends CustomFile<?>> customFile = this.files.get(strippedName);
+
+        if (customFile == null) {
             if (this.isVerbose) {
                 this.logger.warn("Cannot save the file as the file does not exist.");
             }
@@ -215,7 +572,16 @@ public class FileManager {
             return this;
         }
 
-        this.files.get(strippedName).saveConfiguration();
+        final SaveQueue<CustomFile<? extends CustomFile<?>>> saveQueue = this.saveQueue;
+
+        // a queue which was closed in the meantime saves the file right away.
+        if (saveQueue != null) {
+            saveQueue.mark(customFile);
+
+            return this;
+        }
+
+        customFile.saveConfiguration();
 
         return this;
     }
@@ -256,15 +622,30 @@ public class FileManager {
 
         final String strippedName = strip(fileName, fileType.getExtension());
 
-        if (!this.files.containsKey(strippedName)) return this;
+        final CustomFile<? extends CustomFile<?>> customFile = this.files.remove(strippedName);
+
+        if (customFile == null) return this;
 
-        final CustomFile<? extends CustomFile<?>> customFile = this.files.remove(fileName);
+        final SaveQueue<CustomFile<? extends CustomFile<?>>> saveQueue = this.saveQueue;
+
+        if (saveQueue != null) {
+            saveQueue.discard(customFile);
+        }
 
         if (purge) {
             final File file = customFile.getFile();
 
             if (file == null) return this;
 
+            if (customFile instanceof SqliteCustomFile database) {
+                database.close();
+            }
+
+            // a lazily loaded file keeps its file open until every section is read, which would keep it from being deleted.
+            customFile.getSnapshot().close();
+
+            invalidate(customFile);
+
             if (file.delete()) {
                 if (this.isVerbose) {
                     this.logger.warn("Successfully deleted {}", fileName);
@@ -276,32 +657,469 @@ public class FileManager {
 
         customFile.saveConfiguration();
 
+        if (customFile instanceof SqliteCustomFile database) {
+            database.close();
+        }
+
         return this;
     }
 
     /**
-     * Reloads all files.
+     * Reloads all files that changed on disk.
      *
      * @return {@link FileManager}
      * @since 0.1.0
      */
     public FileManager reloadFiles() {
-        final List<String> forRemoval = new ArrayList<>();
+        reloadFiles(false);
+
+        return this;
+    }
 
-        this.files.forEach((name, file) -> {
-            if (file.getFile().exists()) {
-                file.loadConfiguration();
-            } else {
-                forRemoval.add(name);
+    /**
+     * Reloads all files, skipping the files whose fingerprint did not change since they were last loaded or saved.
+     *
+     * <p>The files are reloaded on the file executor, each behind any pending save of it, and this waits until all of them are done.
+     * A file which fails to reload keeps its last loaded version, and is not counted as reloaded.
+     *
+     * @param force whether to reload every file, even if it did not change
+     * @return the {@link ReloadReport} of what was reloaded, skipped or removed
+     * @since 0.2.0
+     */
+    public ReloadReport reloadFiles(final boolean force) {
+        final List<String> reloaded = new ArrayList<>();
+        final List<String> skipped = new ArrayList<>();
+        final List<String> removed = new ArrayList<>();
+
+        final Map<String, CompletableFuture<Boolean>> loads = new LinkedHashMap<>();
+
+        this.files.asMap().forEach((name, file) -> {
+            if (!file.getFile().exists()) {
+                // only removed if no other thread registered a new file under the name in the meantime.
+                if (this.files.remove(name, file)) {
+                    invalidate(file);
+
+                    removed.add(name);
+                }
+
+                return;
             }
+
+            if (!force && !file.isChanged(this.checksum)) {
+                skipped.add(name);
+
+                return;
+            }
+
+            // queued behind any pending save of the file, and behind a reload the file watcher started for it.
+            loads.put(name, reload(file));
         });
 
-        forRemoval.forEach(this.files::remove);
+        loads.forEach((name, load) -> {
+            try {
+                if (load.join()) {
+                    reloaded.add(name);
+                } else {
+                    this.logger.warn("Failed to reload {}, the last loaded version is kept.", name);
+                }
+            } catch (CompletionException exception) {
+                this.logger.warn("Failed to reload {}, the last loaded version is kept.", name, exception.getCause());
+            }
+        });
+
+        if (this.isVerbose) {
+            if (!removed.isEmpty()) {
+                this.logger.info("{} file(s) were removed from cache, because they did not exist.", removed.size());
+            }
 
-        if (this.isVerbose && !forRemoval.isEmpty()) {
-            this.logger.info("{} file(s) were removed from cache, because they did not exist.", forRemoval.size());
+            this.logger.info("{} file(s) were reloaded, {} file(s) were unchanged.", reloaded.size(), skipped.size());
         }
 
+        return new ReloadReport(reloaded, skipped, removed);
+    }
+
+    /**
+     * Sets whether the contents of a file should be compared, when the last modified time or size changed.
+     *
+     * <p>This lets a file that was only touched, or extracted again with the same contents, be skipped on reload.
+     * Every file then hashes its contents whenever it is loaded or saved, see {@link CustomFile#setChecksum(boolean)},
+     * so files which are already loaded can only be compared after their next load or save.
+     *
+     * @param checksum true or false
+     * @return {@link FileManager}
+     * @since 0.2.0
+     */
+    public FileManager setChecksum(final boolean checksum) {
+        this.checksum = checksum;
+
+        this.files.values().forEach(file -> file.setChecksum(checksum));
+
+        return this;
+    }
+
+    /**
+     * Enables the binary cache, parsed trees are then stored in {@code .cache} inside the data folder
+     * and read back on the next load, for as long as the source file did not change.
+     *
+     * <p>Enabling the cache first deletes the cached trees of files which no longer exist, see {@link BinaryCache#prune()}.
+     * The verbose summary of {@link #addFolder(String, FileType)} shows how many files came from the cache.
+     *
+     * @param enabled true or false
+     * @return {@link FileManager}
+     * @since 0.2.0
+     */
+    public FileManager setCache(final boolean enabled) {
+        final BinaryCache cache = enabled ? new BinaryCache(this.dataFolder) : null;
+
+        if (cache != null) cache.prune();
+
+        this.cache = cache;
+
+        this.files.values().forEach(file -> file.setCache(this.cache));
+
+        return this;
+    }
+
+    /**
+     * Sets whether YAML files only parse a top level section once it is first read, see {@link YamlCustomFile#setLazy(boolean)}.
+     *
+     * <p>Files which are already loaded pick it up on their next reload.
+     *
+     * @param lazy true or false
+     * @return {@link FileManager}
+     * @since 0.2.0
+     */
+    public FileManager setLazy(final boolean lazy) {
+        this.lazy = lazy;
+
+        this.files.values().forEach(file -> {
+            if (file instanceof YamlCustomFile yaml) yaml.setLazy(lazy);
+        });
+
+        return this;
+    }
+
+    /**
+     * Sets the schema a file is brought up to date with when it loads, see {@link CustomFile#setSchema(ConfigSchema)}.
+     *
+     * <p>The schema should be set before the file is added, so the first load already merges the defaults.
+     * A file which is already added picks it up on its next reload.
+     *
+     * @param fileName the name of the file, with or without the extension
+     * @param schema the {@link ConfigSchema}, or null to remove the schema
+     * @return {@link FileManager}
+     * @since 0.2.0
+     */
+    public FileManager setSchema(@NotNull final String fileName, @Nullable final ConfigSchema schema) {
+        final int index = fileName.lastIndexOf('.');
+
+        final String strippedName = index > 0 ? fileName.substring(0, index) : fileName;
+
+        if (schema == null) {
+            this.schemas.remove(strippedName);
+        } else {
+            this.schemas.put(strippedName, schema);
+        }
+
+        final CustomFile<? extends CustomFile<?>> customFile = this.files.get(strippedName);
+
+        if (customFile != null) {
+            customFile.setSchema(schema);
+        }
+
+        return this;
+    }
+
+    /**
+     * Sets the limits every file has to stay within to be loaded, see {@link CustomFile#setLimits(LoadLimits)}.
+     *
+     * <p>Files which are already loaded pick them up on their next reload, and a single file can still be given
+     * its own limits afterward. SQLite files are not parsed, so they are never limited.
+     *
+     * @param limits the {@link LoadLimits}, or {@link LoadLimits#NONE} to load files of any size
+     * @return {@link FileManager}
+     * @since 0.2.0
+     */
+    public FileManager setLimits(@NotNull final LoadLimits limits) {
+        this.limits = limits;
+
+        this.files.values().forEach(file -> file.setLimits(limits));
+
+        return this;
+    }
+
+    /**
+     * Gets the limits newly added files have to stay within to be loaded.
+     *
+     * @return the {@link LoadLimits}
+     * @since 0.2.0
+     */
+    public @NotNull LoadLimits getLimits() {
+        return this.limits;
+    }
+
+    /**
+     * Gets the binary cache, which also keeps track of its hits and misses.
+     *
+     * @return the {@link BinaryCache}, or null if the cache is disabled
+     * @since 0.2.0
+     */
+    public @Nullable BinaryCache getCache() {
+        return this.cache;
+    }
+
+    /**
+     * Enables write-behind saving, {@code saveFile} then marks the file as dirty and every dirty file
+     * is saved once per window, instead of on every call.
+     *
+     * @param window the time in milliseconds saves are held back for, or 0 to save right away
+     * @return {@link FileManager}
+     * @since 0.2.0
+     */
+    public synchronized FileManager setWriteBehind(final long window) {
+        final SaveQueue<CustomFile<? extends CustomFile<?>>> previous = this.saveQueue;
+
+        this.saveQueue = window > 0 ? new SaveQueue<>(window, CustomFile::saveAsync) : null;
+
+        // closed after the new queue is in place, a file marked on the old queue in between is saved by its final flush.
+        if (previous != null) {
+            previous.close();
+        }
+
+        return this;
+    }
+
+    /**
+     * Gets the write-behind queue, which also keeps track of the saves requested and performed.
+     *
+     * @return the {@link SaveQueue}, or null if write-behind saving is disabled
+     * @since 0.2.0
+     */
+    public @Nullable SaveQueue<CustomFile<? extends CustomFile<?>>> getSaveQueue() {
+        return this.saveQueue;
+    }
+
+    /**
+     * Stops watching the data folder, saves every dirty file and closes every database before returning.
+     *
+     * <p>This should be called when the plugin is disabled.
+     *
+     * @return {@link FileManager}
+     * @since 0.2.0
+     */
+    public FileManager shutdown() {
+        unwatch();
+
+        setWriteBehind(0);
+
+        for (final CustomFile<? extends CustomFile<?>> customFile : this.files.values()) {
+            if (customFile instanceof SqliteCustomFile database) {
+                database.close();
+            }
+        }
+
+        return this;
+    }
+
+    /**
+     * Starts watching the data folder, only files that changed on disk will be reloaded.
+     *
+     * <p>Files created inside a folder added through {@link #addFolder(String, FileType)} are added,
+     * and files deleted from disk are removed from the cache.
+     *
+     * @param debounce the quiet period in milliseconds before changes are applied
+     * @return {@link FileManager}
+     * @since 0.2.0
+     */
+    public synchronized FileManager watch(final long debounce) {
+        if (this.watcher != null) return this;
+
+        try {
+            this.watcher = new FileWatcher(this.dataFolder.toPath(), debounce, this::handle).start();
+        } catch (IOException exception) {
+            this.logger.warn("Failed to start watching {}", this.dataFolder.getName(), exception);
+
+            this.watcher = null;
+        }
+
+        return this;
+    }
+
+    /**
+     * Stops watching the data folder.
+     *
+     * @return {@link FileManager}
+     * @since 0.2.0
+     */
+    public synchronized FileManager unwatch() {
+        if (this.watcher != null) {
+            this.watcher.close();
+
+            this.watcher = null;
+        }
+
+        return this;
+    }
+
+    /**
+     * Adds a listener which is called when a file changes on disk, while the data folder is watched.
+     *
+     * @param listener the listener
+     * @return {@link FileManager}
+     * @since 0.2.0
+     */
+    public FileManager addListener(@NotNull final FileListener<CustomFile<? extends CustomFile<?>>> listener) {
+        this.listeners.add(listener);
+
+        return this;
+    }
+
+    /**
+     * Removes a listener.
+     *
+     * @param listener the listener
+     * @return {@link FileManager}
+     * @since 0.2.0
+     */
+    public FileManager removeListener(@NotNull final FileListener<CustomFile<? extends CustomFile<?>>> listener) {
+        this.listeners.remove(listener);
+
+        return this;
+    }
+
+    /**
+     * Deletes the cached tree of a file, if the binary cache is enabled.
+     *
+     * @param customFile the file
+     * @since 0.2.0
+     */
+    private void invalidate(final CustomFile<? extends CustomFile<?>> customFile) {
+        final BinaryCache cache = this.cache;
+
+        if (cache != null && customFile.getFile() != null) {
+            cache.invalidate(customFile.getFile());
+        }
+    }
+
+    /**
+     * Reloads a registered file through its queue, so the load waits for any pending save or reload of the file.
+     *
+     * <p>On a thread of the file executor the file is loaded inline instead, as waiting on the queue
+     * from a listener running on the executor could leave the pool without a thread to run the load.
+     *
+     * @param file the file to reload
+     * @return a future completing with true if the file was loaded, see {@link CustomFile#tryLoad()}
+     * @since 0.2.0
+     */
+    private CompletableFuture<Boolean> reload(final CustomFile<? extends CustomFile<?>> file) {
+        if (!this.api.isFileThread()) return file.tryLoadAsync();
+
+        try {
+            return CompletableFuture.completedFuture(file.tryLoad());
+        } catch (RuntimeException exception) {
+            return CompletableFuture.failedFuture(exception);
+        }
+    }
+
+    /**
+     * Applies the changes reported by the {@link FileWatcher}.
+     *
+     * @param changes the changed paths, and what happened to them
+     * @since 0.2.0
+     */
+    private void handle(final Map<Path, FileAction> changes) {
+        final Path root = this.dataFolder.toPath().toAbsolutePath().normalize();
+
+        changes.forEach((path, action) -> {
+            final Path absolute = path.toAbsolutePath().normalize();
+
+            // a lookup in the path index, instead of resolving the path of every registered file.
+            final CustomFile<? extends CustomFile<?>> customFile = this.files.getByPath(absolute);
+
+            if (customFile == null) {
+                if (action == FileAction.DELETED) return;
+
+                final Path parent = absolute.getParent();
+                final String fileName = absolute.getFileName().toString();
+
+                // only files in a folder added through addFolder, or one of its sub folders are picked up.
+                for (final Map.Entry<String, FileBackend> entry : this.folders.entrySet()) {
+                    final Path folder = root.resolve(entry.getKey()).normalize();
+                    final FileBackend backend = entry.getValue();
+                    final FileType fileType = backend.getFileType();
+
+                    if (!fileName.endsWith("." + fileType.getExtension())) continue;
+
+                    if (!parent.equals(folder) && !folder.equals(parent.getParent())) continue;
+
+                    final String folderName = root.relativize(parent).toString();
+
+                    // parsed on the file executor, so a large file never holds up the events of every other file.
+                    CompletableFuture.runAsync(() -> {
+                        addFile(fileName, folderName, true, fileType, backend, false);
+
+                        final CustomFile<? extends CustomFile<?>> created = getFile(fileName, fileType);
+
+                        if (created != null) {
+                            this.listeners.forEach(listener -> listener.onChange(created, FileAction.CREATED));
+                        }
+                    }, this.api.getFileExecutor()).exceptionally(throwable -> {
+                        this.logger.warn("Failed to add {} from {}", fileName, folderName, throwable);
+
+                        return null;
+                    });
+
+                    return;
+                }
+
+                return;
+            }
+
+            final CustomFile<? extends CustomFile<?>> file = customFile;
+
+            if (action == FileAction.DELETED) {
+                if (file.getFile().exists()) return;
+
+                if (!this.files.remove(strip(file.getFileName(), file.getFileType().getExtension()), file)) return;
+
+                invalidate(file);
+
+                this.listeners.forEach(listener -> listener.onChange(file, FileAction.DELETED));
+
+                return;
+            }
+
+            // our own saves show up as modifications as well.
+            if (!file.isChanged(this.checksum)) return;
+
+            // queued behind any pending save or reload of the file, so two loads of the same file never race.
+            file.tryLoadAsync().whenComplete((loaded, throwable) -> {
+                if (throwable == null && loaded) {
+                    this.listeners.forEach(listener -> listener.onChange(file, FileAction.MODIFIED));
+
+                    return;
+                }
+
+                this.logger.warn("Failed to reload {}, the last loaded version is kept.", file.getFileName(), throwable);
+            });
+        });
+
+        if (this.isVerbose) {
+            this.logger.info("Applied {} file change(s) from disk.", changes.size());
+        }
+    }
+
+    /**
+     * Creates the data folder, and loads every folder that was added again.
+     *
+     * @return {@link FileManager}
+     * @since 0.2.0
+     */
+    public FileManager init() {
+        this.dataFolder.mkdirs();
+
+        this.folders.forEach(this::addFolder);
+
         return this;
     }
 
@@ -312,6 +1130,7 @@ public class FileManager {
      * @since 0.1.0
      */
     public FileManager purge() {
+        this.folders.clear();
         this.files.clear();
 
         return this;
@@ -328,7 +1147,7 @@ public class FileManager {
      * @since 0.1.0
      */
     public @Nullable CustomFile<? extends CustomFile<?>> getFile(final String fileName, final FileType fileType) {
-        return this.files.getOrDefault(strip(fileName, fileType.getExtension()), null);
+        return this.files.get(strip(fileName, fileType.getExtension()));
     }
 
     /**
@@ -346,10 +1165,56 @@ public class FileManager {
     /**
      * Retrieves the map of custom files managed by this file manager.
      *
-     * @return a map of custom files with their file names as keys
+     * <p>The map is a live view, files put into or removed from it are registered or removed the same as through the registry,
+     * but a file removed this way is neither saved nor closed, unlike through {@link #removeFile(String, FileType, boolean)}.
+     *
+     * @return a live view of the custom files with their file names as keys
      * @since 0.1.0
      */
     public Map<String, CustomFile<? extends CustomFile<?>>> getFiles() {
-        return this.files;
+        return this.files.asMap();
+    }
+
+    /**
+     * Retrieves every custom file in a folder, without scanning every file.
+     *
+     * @param folder the folder relative to the data folder, or an empty string for the data folder
+     * @return an unmodifiable list of the custom files in the folder
+     * @since 0.2.0
+     */
+    public List<CustomFile<? extends CustomFile<?>>> getFiles(@NotNull final String folder) {
+        return this.files.getFiles(folder);
+    }
+
+    /**
+     * Retrieves every custom file in a folder, optionally including every sub folder below it, without scanning every file.
+     *
+     * @param folder the folder relative to the data folder, or an empty string for the data folder
+     * @param nested whether files in sub folders should be included
+     * @return an unmodifiable list of the custom files
+     * @since 0.2.0
+     */
+    public List<CustomFile<? extends CustomFile<?>>> getFiles(@NotNull final String folder, final boolean nested) {
+        return this.files.getFiles(folder, nested);
+    }
+
+    /**
+     * Retrieves every dynamic custom file, such as the files added through {@link #addFolder(String, FileType)}.
+     *
+     * @return an unmodifiable list of the dynamic custom files
+     * @since 0.2.0
+     */
+    public List<CustomFile<? extends CustomFile<?>>> getDynamicFiles() {
+        return this.files.getDynamicFiles();
+    }
+
+    /**
+     * Retrieves every static custom file.
+     *
+     * @return an unmodifiable list of the static custom files
+     * @since 0.2.0
+     */
+    public List<CustomFile<? extends CustomFile<?>>> getStaticFiles() {
+        return this.files.getStaticFiles();
     }
 }
\ No newline at end of file
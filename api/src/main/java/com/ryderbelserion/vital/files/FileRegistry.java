@@ -0,0 +1,514 @@
+package com.ryderbelserion.vital.files;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A thread safe registry of files, keyed by their name without the extension.
+ *
+ * <p>Lookups never lock, so files can be fetched from any thread, including region threads on Folia.
+ * Every file is also indexed by its absolute path, by the folder it lives in relative to the root folder,
+ * by every folder above it, and by whether it is dynamic. The indexes are updated in the same step as the registry, so they always agree.
+ *
+ * @param <F> the type of the custom file
+ *
+ * @author Ryder Belserion
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public class FileRegistry<F> {
+
+    private final Map<String, F> files = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> folders = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> trees = new ConcurrentHashMap<>();
+    private final Map<String, String> locations = new ConcurrentHashMap<>();
+    private final Map<Path, String> paths = new ConcurrentHashMap<>();
+
+    private final Set<String> dynamic = ConcurrentHashMap.newKeySet();
+    private final Set<String> statics = ConcurrentHashMap.newKeySet();
+
+    private final Map<String, F> view = new View();
+
+    private final Function<F, File> mapper;
+    private final Predicate<F> isDynamic;
+    private final Path root;
+
+    /**
+     * Constructs a new {@link FileRegistry} instance.
+     *
+     * @param root the folder every folder in the index is relative to
+     * @param mapper the function returning the file on disk of a custom file
+     * @param isDynamic the function checking whether a custom file is dynamic
+     * @since 0.2.0
+     */
+    public FileRegistry(@NotNull final File root, @NotNull final Function<F, File> mapper, @NotNull final Predicate<F> isDynamic) {
+        this.root = root.toPath().toAbsolutePath().normalize();
+        this.isDynamic = isDynamic;
+        this.mapper = mapper;
+    }
+
+    /**
+     * Retrieves a file by its name.
+     *
+     * @param name the name of the file, without the extension
+     * @return the file, or null if not found
+     * @since 0.2.0
+     */
+    public @Nullable F get(@NotNull final String name) {
+        return this.files.get(name);
+    }
+
+    /**
+     * Retrieves a file by its path on disk.
+     *
+     * @param path the path of the file, which may be relative to the working directory
+     * @return the file, or null if no file is registered at the path
+     * @since 0.2.0
+     */
+    public @Nullable F getByPath(@NotNull final Path path) {
+        final String name = this.paths.get(path.toAbsolutePath().normalize());
+
+        return name != null ? this.files.get(name) : null;
+    }
+
+    /**
+     * Checks if a file is registered.
+     *
+     * @param name the name of the file, without the extension
+     * @return true if the file is registered
+     * @since 0.2.0
+     */
+    public boolean contains(@NotNull final String name) {
+        return this.files.containsKey(name);
+    }
+
+    /**
+     * Registers a file, replacing the previous file with the same name in a single step.
+     *
+     * @param name the name of the file, without the extension
+     * @param file the file
+     * @return the previous file, or null if there was none
+     * @since 0.2.0
+     */
+    public @Nullable F put(@NotNull final String name, @NotNull final F file) {
+        final Object[] previous = new Object[1];
+
+        this.files.compute(name, (key, current) -> {
+            if (current != null) unindex(key, current);
+
+            index(key, file);
+
+            previous[0] = current;
+
+            return file;
+        });
+
+        return cast(previous[0]);
+    }
+
+    /**
+     * Registers a file, unless a file with the same name is already registered.
+     *
+     * @param name the name of the file, without the extension
+     * @param file the file
+     * @return the file that is registered afterward, which is the existing file if there was one
+     * @since 0.2.0
+     */
+    public @NotNull F putIfAbsent(@NotNull final String name, @NotNull final F file) {
+        return putIfAbsent(name, file, new boolean[1]);
+    }
+
+    /**
+     * Registers a file, unless a file with the same name is already registered, and records whether it was.
+     *
+     * @param name the name of the file, without the extension
+     * @param file the file
+     * @param created set to true if the file was registered by this call
+     * @return the file that is registered afterward
+     * @since 0.2.0
+     */
+    private F putIfAbsent(final String name, final F file, final boolean[] created) {
+        return this.files.computeIfAbsent(name, key -> {
+            index(key, file);
+
+            created[0] = true;
+
+            return file;
+        });
+    }
+
+    /**
+     * Registers every file in the map.
+     *
+     * @param files the files keyed by their name, without the extension
+     * @since 0.2.0
+     */
+    public void putAll(@NotNull final Map<String, ? extends F> files) {
+        files.forEach(this::put);
+    }
+
+    /**
+     * Removes a file by its name.
+     *
+     * @param name the name of the file, without the extension
+     * @return the removed file, or null if nothing was registered under the name
+     * @since 0.2.0
+     */
+    public @Nullable F remove(@NotNull final String name) {
+        final Object[] previous = new Object[1];
+
+        this.files.computeIfPresent(name, (key, current) -> {
+            unindex(key, current);
+
+            previous[0] = current;
+
+            return null;
+        });
+
+        return cast(previous[0]);
+    }
+
+    /**
+     * Removes a file, only if it is still the file registered under the name.
+     *
+     * <p>This keeps a file which was replaced by another thread in the meantime.
+     *
+     * @param name the name of the file, without the extension
+     * @param file the file to remove
+     * @return true if the file was removed
+     * @since 0.2.0
+     */
+    public boolean remove(@NotNull final String name, @NotNull final F file) {
+        final boolean[] removed = new boolean[1];
+
+        this.files.computeIfPresent(name, (key, current) -> {
+            if (current != file) return current;
+
+            unindex(key, current);
+
+            removed[0] = true;
+
+            return null;
+        });
+
+        return removed[0];
+    }
+
+    /**
+     * Retrieves every file in a folder.
+     *
+     * @param folder the folder relative to the root folder, or an empty string for the root folder
+     * @return an unmodifiable list of the files in the folder
+     * @since 0.2.0
+     */
+    public @NotNull List<F> getFiles(@NotNull final String folder) {
+        return resolve(this.folders.get(normalize(folder)));
+    }
+
+    /**
+     * Retrieves every file in a folder, optionally including every sub folder below it.
+     *
+     * @param folder the folder relative to the root folder, or an empty string for the root folder
+     * @param nested whether files in sub folders should be included
+     * @return an unmodifiable list of the files
+     * @since 0.2.0
+     */
+    public @NotNull List<F> getFiles(@NotNull final String folder, final boolean nested) {
+        if (!nested) return getFiles(folder);
+
+        final String normalized = normalize(folder);
+
+        // the root folder holds every file, so it is not kept in the index.
+        return normalized.isEmpty() ? List.copyOf(this.files.values()) : resolve(this.trees.get(normalized));
+    }
+
+    /**
+     * Retrieves every dynamic file.
+     *
+     * @return an unmodifiable list of the dynamic files
+     * @since 0.2.0
+     */
+    public @NotNull List<F> getDynamicFiles() {
+        return resolve(this.dynamic);
+    }
+
+    /**
+     * Retrieves every static file.
+     *
+     * @return an unmodifiable list of the static files
+     * @since 0.2.0
+     */
+    public @NotNull List<F> getStaticFiles() {
+        return resolve(this.statics);
+    }
+
+    /**
+     * Retrieves every folder which holds at least one file.
+     *
+     * @return an unmodifiable view of the folders
+     * @since 0.2.0
+     */
+    public @NotNull Set<String> getFolders() {
+        return Collections.unmodifiableSet(this.folders.keySet());
+    }
+
+    /**
+     * Retrieves every registered file.
+     *
+     * @return an unmodifiable view of the files
+     * @since 0.2.0
+     */
+    public @NotNull Collection<F> values() {
+        return Collections.unmodifiableCollection(this.files.values());
+    }
+
+    /**
+     * Retrieves the registry as a map.
+     *
+     * <p>The map writes through to the registry, so a file put into or removed from it, through the map,
+     * its entries or their iterator, is indexed or unindexed the same as through the registry itself.
+     *
+     * @return a live view of the files keyed by their name, without the extension
+     * @since 0.2.0
+     */
+    public @NotNull Map<String, F> asMap() {
+        return this.view;
+    }
+
+    /**
+     * Gets the amount of registered files.
+     *
+     * @return the amount of files
+     * @since 0.2.0
+     */
+    public int size() {
+        return this.files.size();
+    }
+
+    /**
+     * Removes every file.
+     *
+     * @since 0.2.0
+     */
+    public void clear() {
+        this.files.keySet().forEach(this::remove);
+    }
+
+    private @NotNull List<F> resolve(@Nullable final Set<String> names) {
+        if (names == null || names.isEmpty()) return List.of();
+
+        final List<F> files = new ArrayList<>(names.size());
+
+        for (final String name : names) {
+            final F file = this.files.get(name);
+
+            if (file != null) files.add(file);
+        }
+
+        return Collections.unmodifiableList(files);
+    }
+
+    private void index(final String name, final F file) {
+        final File location = this.mapper.apply(file);
+
+        final String folder = getFolder(location);
+
+        this.locations.put(name, folder);
+
+        this.paths.put(location.toPath().toAbsolutePath().normalize(), name);
+
+        add(this.folders, folder, name);
+
+        // every folder above the file, so a folder added through addFolder can be looked up with all of its sub folders.
+        for (String parent = folder; !parent.isEmpty(); parent = getParent(parent)) {
+            add(this.trees, parent, name);
+        }
+
+        (this.isDynamic.test(file) ? this.dynamic : this.statics).add(name);
+    }
+
+    private void unindex(final String name, final F file) {
+        this.dynamic.remove(name);
+        this.statics.remove(name);
+
+        // only if the path still points at this name, two names cannot share a path, but a path can move to another name.
+        this.paths.remove(this.mapper.apply(file).toPath().toAbsolutePath().normalize(), name);
+
+        final String folder = this.locations.remove(name);
+
+        if (folder == null) return;
+
+        remove(this.folders, folder, name);
+
+        for (String parent = folder; !parent.isEmpty(); parent = getParent(parent)) {
+            remove(this.trees, parent, name);
+        }
+    }
+
+    private void add(final Map<String, Set<String>> index, final String folder, final String name) {
+        // added inside compute, so the set cannot be dropped by remove in between.
+        index.compute(folder, (key, names) -> {
+            final Set<String> set = names != null ? names : ConcurrentHashMap.newKeySet();
+
+            set.add(name);
+
+            return set;
+        });
+    }
+
+    private void remove(final Map<String, Set<String>> index, final String folder, final String name) {
+        index.computeIfPresent(folder, (key, names) -> {
+            names.remove(name);
+
+            return names.isEmpty() ? null : names;
+        });
+    }
+
+    private String getParent(final String folder) {
+        final int index = folder.lastIndexOf('/');
+
+        return index == -1 ? "" : folder.substring(0, index);
+    }
+
+    private String getFolder(final File file) {
+        final Path parent = file.toPath().toAbsolutePath().normalize().getParent();
+
+        if (parent == null || !parent.startsWith(this.root)) return "";
+
+        return normalize(this.root.relativize(parent).toString());
+    }
+
+    private String normalize(final String folder) {
+        String normalized = folder.replace('\\', '/');
+
+        while (normalized.startsWith("/")) normalized = normalized.substring(1);
+
+        while (normalized.endsWith("/")) normalized = normalized.substring(0, normalized.length() - 1);
+
+        return normalized;
+    }
+
+    @SuppressWarnings("unchecked")
+    private F cast(final Object file) {
+        return (F) file;
+    }
+
+    /**
+     * A map view of the registry, which routes every change through the registry so the indexes stay in step.
+     *
+     * @since 0.2.0
+     */
+    private final class View extends AbstractMap<String, F> {
+
+        private final Set<Map.Entry<String, F>> entries = new AbstractSet<>() {
+            @Override
+            public @NotNull Iterator<Map.Entry<String, F>> iterator() {
+                final Iterator<Map.Entry<String, F>> iterator = FileRegistry.this.files.entrySet().iterator();
+
+                return new Iterator<>() {
+                    private Map.Entry<String, F> last;
+
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public Map.Entry<String, F> next() {
+                        final Map.Entry<String, F> entry = iterator.next();
+
+                        this.last = entry;
+
+                        return new SimpleEntry<>(entry.getKey(), entry.getValue()) {
+                            @Override
+                            public F setValue(final F value) {
+                                super.setValue(value);
+
+                                return FileRegistry.this.put(getKey(), value);
+                            }
+                        };
+                    }
+
+                    @Override
+                    public void remove() {
+                        if (this.last == null) throw new IllegalStateException();
+
+                        // only the file this iterator returned, a file registered under the name since is kept.
+                        FileRegistry.this.remove(this.last.getKey(), this.last.getValue());
+
+                        this.last = null;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return FileRegistry.this.files.size();
+            }
+        };
+
+        @Override
+        public @NotNull Set<Map.Entry<String, F>> entrySet() {
+            return this.entries;
+        }
+
+        @Override
+        public int size() {
+            return FileRegistry.this.files.size();
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return FileRegistry.this.files.containsKey(key);
+        }
+
+        @Override
+        public F get(final Object key) {
+            return FileRegistry.this.files.get(key);
+        }
+
+        @Override
+        public F put(final String key, final F value) {
+            return FileRegistry.this.put(key, value);
+        }
+
+        @Override
+        public F putIfAbsent(final String key, final F value) {
+            final boolean[] created = new boolean[1];
+
+            final F registered = FileRegistry.this.putIfAbsent(key, value, created);
+
+            // the same instance may already be registered, which is still the existing value.
+            return created[0] ? null : registered;
+        }
+
+        @Override
+        public F remove(final Object key) {
+            return key instanceof String name ? FileRegistry.this.remove(name) : null;
+        }
+
+        @Override
+        public boolean remove(final Object key, final Object value) {
+            return key instanceof String name && value != null && FileRegistry.this.remove(name, cast(value));
+        }
+
+        @Override
+        public void clear() {
+            FileRegistry.this.clear();
+        }
+    }
+}
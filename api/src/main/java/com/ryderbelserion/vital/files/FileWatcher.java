@@ -0,0 +1,219 @@
+package com.ryderbelserion.vital.files;
+
+import com.ryderbelserion.vital.VitalProvider;
+import com.ryderbelserion.vital.api.Vital;
+import com.ryderbelserion.vital.files.enums.FileAction;
+import net.kyori.adventure.text.logger.slf4j.ComponentLogger;
+import org.jetbrains.annotations.NotNull;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Watches a directory tree for changes, and hands them over in debounced batches.
+ *
+ * <p>Editors tend to write a file several times in a row, so every event is held back until
+ * the tree has been quiet for the debounce window, and events for the same file are merged.
+ *
+ * @author Ryder Belserion
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public class FileWatcher implements AutoCloseable {
+
+    private final Vital api = VitalProvider.get();
+    private final ComponentLogger logger = this.api.getLogger();
+    private final boolean isVerbose = this.api.isVerbose();
+
+    private final Map<WatchKey, Path> keys = new HashMap<>();
+    private final Map<Path, FileAction> pending = new LinkedHashMap<>();
+
+    private final Consumer<Map<Path, FileAction>> consumer;
+    private final WatchService service;
+    private final long debounce;
+    private final Path root;
+
+    private Thread thread;
+
+    /**
+     * Constructs a new {@link FileWatcher} instance.
+     *
+     * @param root the directory to watch, including every sub folder
+     * @param debounce the quiet period in milliseconds before changes are handed over
+     * @param consumer the consumer receiving the merged changes
+     * @throws IOException if the watch service could not be created
+     * @since 0.2.0
+     */
+    public FileWatcher(@NotNull final Path root, final long debounce, @NotNull final Consumer<Map<Path, FileAction>> consumer) throws IOException {
+        this.service = FileSystems.getDefault().newWatchService();
+        this.debounce = Math.max(0, debounce);
+        this.consumer = consumer;
+        this.root = root;
+    }
+
+    /**
+     * Registers the root directory, and starts the watcher thread.
+     *
+     * @return {@link FileWatcher}
+     * @throws IOException if the directory tree could not be registered
+     * @since 0.2.0
+     */
+    public FileWatcher start() throws IOException {
+        if (this.thread != null) return this;
+
+        register(this.root);
+
+        this.thread = Thread.ofPlatform().name("Vital-FileWatcher").daemon().start(this::run);
+
+        return this;
+    }
+
+    /**
+     * Stops the watcher thread, and closes the watch service.
+     *
+     * @since 0.2.0
+     */
+    @Override
+    public void close() {
+        try {
+            this.service.close();
+        } catch (IOException exception) {
+            this.logger.warn("Failed to close the file watcher", exception);
+        }
+
+        if (this.thread != null) {
+            this.thread.interrupt();
+
+            this.thread = null;
+        }
+    }
+
+    private void run() {
+        long lastEvent = 0;
+
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                final WatchKey key;
+
+                if (this.pending.isEmpty()) {
+                    key = this.service.take();
+                } else {
+                    final long remaining = this.debounce - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastEvent);
+
+                    key = remaining > 0 ? this.service.poll(remaining, TimeUnit.MILLISECONDS) : null;
+                }
+
+                if (key == null) {
+                    flush();
+
+                    continue;
+                }
+
+                handle(key);
+
+                lastEvent = System.nanoTime();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException ignored) {
+            // the watcher was closed.
+        }
+    }
+
+    private void handle(final WatchKey key) {
+        final Path directory = this.keys.get(key);
+
+        if (directory != null) {
+            for (final WatchEvent<?> event : key.pollEvents()) {
+                final WatchEvent.Kind<?> kind = event.kind();
+
+                if (kind == StandardWatchEventKinds.OVERFLOW) {
+                    if (this.isVerbose) {
+                        this.logger.warn("Events were lost while watching {}", directory);
+                    }
+
+                    continue;
+                }
+
+                final Path path = directory.resolve((Path) event.context());
+
+                if (kind == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path)) {
+                    try {
+                        register(path);
+                    } catch (IOException exception) {
+                        this.logger.warn("Failed to watch {}", path, exception);
+                    }
+
+                    // files can be dropped in before the directory is registered.
+                    try (final Stream<Path> files = Files.walk(path)) {
+                        files.filter(Files::isRegularFile).forEach(file -> push(file, FileAction.CREATED));
+                    } catch (IOException exception) {
+                        this.logger.warn("Failed to walk {}", path, exception);
+                    }
+
+                    continue;
+                }
+
+                push(path, kind == StandardWatchEventKinds.ENTRY_CREATE ? FileAction.CREATED : kind == StandardWatchEventKinds.ENTRY_DELETE ? FileAction.DELETED : FileAction.MODIFIED);
+            }
+        }
+
+        if (!key.reset()) {
+            this.keys.remove(key);
+        }
+    }
+
+    private void push(final Path path, final FileAction action) {
+        final FileAction previous = this.pending.get(path);
+
+        if (previous == null) {
+            this.pending.put(path, action);
+
+            return;
+        }
+
+        final FileAction merged = previous.merge(action);
+
+        if (merged == null) {
+            this.pending.remove(path);
+
+            return;
+        }
+
+        this.pending.put(path, merged);
+    }
+
+    private void flush() {
+        if (this.pending.isEmpty()) return;
+
+        final Map<Path, FileAction> changes = new LinkedHashMap<>(this.pending);
+
+        this.pending.clear();
+
+        try {
+            this.consumer.accept(changes);
+        } catch (Exception exception) {
+            this.logger.warn("Failed to handle {} file change(s)", changes.size(), exception);
+        }
+    }
+
+    private void register(final Path directory) throws IOException {
+        try (final Stream<Path> directories = Files.walk(directory)) {
+            for (final Path path : directories.filter(Files::isDirectory).toList()) {
+                final WatchKey key = path.register(this.service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+
+                this.keys.put(key, path);
+            }
+        }
+    }
+}
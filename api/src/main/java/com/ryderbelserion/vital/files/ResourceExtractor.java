@@ -0,0 +1,309 @@
+package com.ryderbelserion.vital.files;
+
+import com.ryderbelserion.vital.VitalProvider;
+import com.ryderbelserion.vital.api.Vital;
+import com.ryderbelserion.vital.utils.Methods;
+import net.kyori.adventure.text.logger.slf4j.ComponentLogger;
+import org.jetbrains.annotations.NotNull;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Enumeration;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.zip.CRC32;
+
+/**
+ * Extracts resources from a plugin jar, skipping every file which is already up to date.
+ *
+ * <p>The jar is opened once, and its entries are indexed by name along with the size and crc
+ * stored in its central directory, so extracting several folders never scans the jar again.
+ * Every extracted file is recorded in a manifest in the {@code .cache} folder, which lets a resource
+ * that changed in a newer jar replace the copy on disk, but only while the copy still matches the previous default.
+ *
+ * @author Ryder Belserion
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public final class ResourceExtractor implements Closeable {
+
+    private static final Map<Path, ResourceExtractor> extractors = new ConcurrentHashMap<>();
+
+    private record Resource(long size, long crc) {}
+
+    private final Vital api = VitalProvider.get();
+    private final ComponentLogger logger = this.api.getLogger();
+    private final boolean isVerbose = this.api.isVerbose();
+
+    private final NavigableMap<String, JarEntry> entries = new TreeMap<>();
+    private final Map<String, Resource> manifest = new TreeMap<>();
+
+    private final JarFile jarFile;
+    private final Path dataFolder;
+    private final Path manifestPath;
+
+    private ResourceExtractor(@NotNull final Path jar) throws IOException {
+        this.jarFile = new JarFile(jar.toFile());
+
+        this.dataFolder = this.api.getDataFolder().toPath().toAbsolutePath().normalize();
+        this.manifestPath = this.dataFolder.resolve(".cache").resolve("resources");
+
+        final Enumeration<JarEntry> entries = this.jarFile.entries();
+
+        while (entries.hasMoreElements()) {
+            final JarEntry entry = entries.nextElement();
+
+            this.entries.put(entry.getName(), entry);
+        }
+
+        readManifest();
+    }
+
+    /**
+     * Retrieves the extractor of the jar a class was loaded from, opening the jar on first use.
+     *
+     * @param object the class to find the jar of
+     * @return the {@link ResourceExtractor}
+     * @throws IOException if the jar could not be opened
+     * @since 0.2.0
+     */
+    public static @NotNull ResourceExtractor of(@NotNull final Class<?> object) throws IOException {
+        final Path jar;
+
+        try {
+            jar = Path.of(object.getProtectionDomain().getCodeSource().getLocation().toURI()).toAbsolutePath().normalize();
+        } catch (URISyntaxException exception) {
+            throw new IOException("Cannot locate the jar of " + object.getName(), exception);
+        }
+
+        final ResourceExtractor extractor = extractors.get(jar);
+
+        if (extractor != null) return extractor;
+
+        synchronized (extractors) {
+            final ResourceExtractor existing = extractors.get(jar);
+
+            if (existing != null) return existing;
+
+            final ResourceExtractor created = new ResourceExtractor(jar);
+
+            extractors.put(jar, created);
+
+            return created;
+        }
+    }
+
+    /**
+     * Closes every open jar, should be called when the plugin is disabled.
+     *
+     * @since 0.2.0
+     */
+    public static void closeAll() {
+        synchronized (extractors) {
+            extractors.values().forEach(ResourceExtractor::close);
+
+            extractors.clear();
+        }
+    }
+
+    /**
+     * Extracts every resource below a folder in the jar, which is missing or out of date on disk.
+     *
+     * @param input the folder in the jar, with or without a leading slash
+     * @param output the folder to extract to
+     * @param replaceExisting whether to overwrite files which exist, even if they were changed
+     * @return the amount of files that were written
+     * @throws IOException if a file could not be written
+     * @since 0.2.0
+     */
+    public synchronized int extract(@NotNull final String input, @NotNull final Path output, final boolean replaceExisting) throws IOException {
+        final String prefix = input.startsWith("/") ? input.substring(1) : input;
+
+        int written = 0;
+
+        boolean dirty = false;
+
+        // the index is sorted, so every entry below the folder sits in a single range.
+        for (final JarEntry entry : this.entries.tailMap(prefix, true).values()) {
+            final String name = entry.getName();
+
+            if (!name.startsWith(prefix)) break;
+
+            if (name.length() == prefix.length()) continue;
+
+            final Path target = output.resolve(name.substring(prefix.length())).toAbsolutePath().normalize();
+
+            if (entry.isDirectory()) {
+                if (!Files.isDirectory(target)) {
+                    Files.createDirectories(target);
+                }
+
+                continue;
+            }
+
+            final String key = getKey(target);
+
+            final Resource current = new Resource(entry.getSize(), entry.getCrc());
+            final Resource previous = this.manifest.get(key);
+
+            if (Files.exists(target) && !replaceExisting) {
+                if (current.equals(previous)) continue;
+
+                // the default changed in the jar, the copy on disk is only replaced if nobody edited it.
+                if (previous != null && !matches(target, previous)) {
+                    this.manifest.put(key, current);
+
+                    dirty = true;
+
+                    continue;
+                }
+
+                // the copy was extracted before the manifest existed, it is only recorded.
+                if (previous == null) {
+                    if (matches(target, current)) {
+                        this.manifest.put(key, current);
+
+                        dirty = true;
+                    }
+
+                    continue;
+                }
+            }
+
+            final Path parent = target.getParent();
+
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+
+            try (final InputStream stream = this.jarFile.getInputStream(entry)) {
+                Files.copy(stream, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            this.manifest.put(key, current);
+
+            dirty = true;
+
+            written++;
+        }
+
+        if (dirty) {
+            writeManifest();
+        }
+
+        if (this.isVerbose && written > 0) {
+            this.logger.info("Extracted {} file(s) from {}", written, input);
+        }
+
+        return written;
+    }
+
+    /**
+     * Closes the jar.
+     *
+     * @since 0.2.0
+     */
+    @Override
+    public void close() {
+        try {
+            this.jarFile.close();
+        } catch (IOException exception) {
+            if (this.isVerbose) {
+                this.logger.warn("Failed to close {}", this.jarFile.getName(), exception);
+            }
+        }
+    }
+
+    /**
+     * Gets the key a target is stored under in the manifest.
+     *
+     * @param target the target on disk
+     * @return the path relative to the data folder, or the absolute path if it is outside of it
+     * @since 0.2.0
+     */
+    private String getKey(final Path target) {
+        final Path path = target.startsWith(this.dataFolder) ? this.dataFolder.relativize(target) : target;
+
+        return path.toString().replace('\\', '/');
+    }
+
+    /**
+     * Checks if a file on disk has the size and crc of a resource.
+     *
+     * @param target the file on disk
+     * @param resource the resource
+     * @return true if the contents match
+     * @throws IOException if the file could not be read
+     * @since 0.2.0
+     */
+    private boolean matches(final Path target, final Resource resource) throws IOException {
+        if (Files.size(target) != resource.size()) return false;
+
+        final CRC32 crc = new CRC32();
+
+        try (final InputStream stream = Files.newInputStream(target)) {
+            final byte[] buffer = new byte[8192];
+
+            int read;
+
+            while ((read = stream.read(buffer)) != -1) {
+                crc.update(buffer, 0, read);
+            }
+        }
+
+        return crc.getValue() == resource.crc();
+    }
+
+    /**
+     * Reads the manifest from the last run, a missing or malformed manifest is treated as empty.
+     *
+     * @since 0.2.0
+     */
+    private void readManifest() {
+        if (!Files.isRegularFile(this.manifestPath)) return;
+
+        try (final BufferedReader reader = Files.newBufferedReader(this.manifestPath, StandardCharsets.UTF_8)) {
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                final String[] parts = line.split("\t");
+
+                if (parts.length != 3) continue;
+
+                this.manifest.put(parts[0], new Resource(Long.parseLong(parts[1]), Long.parseLong(parts[2])));
+            }
+        } catch (IOException | NumberFormatException exception) {
+            if (this.isVerbose) {
+                this.logger.warn("Failed to read the resource manifest, every resource will be checked again.", exception);
+            }
+
+            this.manifest.clear();
+        }
+    }
+
+    /**
+     * Writes the manifest, so the next run knows which defaults were extracted.
+     *
+     * @throws IOException if the manifest could not be written
+     * @since 0.2.0
+     */
+    private void writeManifest() throws IOException {
+        final StringBuilder builder = new StringBuilder();
+
+        this.manifest.forEach((key, resource) -> builder.append(key).append('\t').append(resource.size()).append('\t').append(resource.crc()).append('\n'));
+
+        Files.createDirectories(this.manifestPath.getParent());
+
+        Methods.writeAtomically(this.manifestPath, builder.toString());
+    }
+}
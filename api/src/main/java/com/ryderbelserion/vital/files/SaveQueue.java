@@ -0,0 +1,198 @@
+package com.ryderbelserion.vital.files;
+
+import com.ryderbelserion.vital.VitalProvider;
+import com.ryderbelserion.vital.api.Vital;
+import net.kyori.adventure.text.logger.slf4j.ComponentLogger;
+import org.jetbrains.annotations.NotNull;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Coalesces saves of frequently changing files.
+ *
+ * <p>Files are marked as dirty instead of being saved right away, and every dirty file is saved
+ * once when the window closes, no matter how many times it was marked in between.
+ * Once the queue is closed, a file which is marked is saved right away instead.
+ *
+ * @param <F> the type of the custom file
+ *
+ * @author Ryder Belserion
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public class SaveQueue<F> implements AutoCloseable {
+
+    private final Vital api = VitalProvider.get();
+    private final ComponentLogger logger = this.api.getLogger();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("Vital-SaveQueue").daemon().factory());
+
+    private final Set<F> dirty = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private final LongAdder requested = new LongAdder();
+    private final LongAdder performed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private final Function<F, CompletableFuture<?>> saver;
+    private final long window;
+
+    /**
+     * Constructs a new {@link SaveQueue} instance.
+     *
+     * @param window the time in milliseconds saves are held back for
+     * @param saver the function that saves a file
+     * @since 0.2.0
+     */
+    public SaveQueue(final long window, @NotNull final Function<F, CompletableFuture<?>> saver) {
+        this.window = Math.max(0, window);
+        this.saver = saver;
+    }
+
+    /**
+     * Marks a file as dirty, it will be saved when the current window closes, or right away if the queue is closed.
+     *
+     * @param file the file to save
+     * @since 0.2.0
+     */
+    public void mark(@NotNull final F file) {
+        this.requested.increment();
+
+        if (this.closed.get()) {
+            save(file);
+
+            return;
+        }
+
+        this.dirty.add(file);
+
+        if (this.scheduled.compareAndSet(false, true)) {
+            try {
+                this.scheduler.schedule(this::flush, this.window, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException exception) {
+                // closed in the meantime, so there is no window left to wait for.
+                flush();
+
+                return;
+            }
+        }
+
+        // closed after the check above, the final flush may have run before the file was added, so nothing else would save it.
+        if (this.closed.get()) flush();
+    }
+
+    /**
+     * Removes a file from the queue without saving it.
+     *
+     * @param file the file to discard
+     * @since 0.2.0
+     */
+    public void discard(@NotNull final F file) {
+        this.dirty.remove(file);
+    }
+
+    /**
+     * Saves every dirty file right away.
+     *
+     * @return a future completing once every file has been written
+     * @since 0.2.0
+     */
+    public CompletableFuture<Void> flush() {
+        this.scheduled.set(false);
+
+        final List<CompletableFuture<?>> futures = new ArrayList<>();
+
+        final Iterator<F> iterator = this.dirty.iterator();
+
+        while (iterator.hasNext()) {
+            final F file = iterator.next();
+
+            iterator.remove();
+
+            futures.add(save(file));
+        }
+
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Saves a single file, counting it once the write finished or failed.
+     *
+     * @param file the file to save
+     * @return a future completing once the file has been written
+     * @since 0.2.0
+     */
+    private CompletableFuture<?> save(final F file) {
+        return this.saver.apply(file).whenComplete((ignored, throwable) -> (throwable == null ? this.performed : this.failed).increment());
+    }
+
+    /**
+     * Saves every dirty file, waits for the writes to finish and stops the queue.
+     *
+     * @since 0.2.0
+     */
+    @Override
+    public void close() {
+        if (!this.closed.compareAndSet(false, true)) return;
+
+        this.scheduler.shutdownNow();
+
+        try {
+            flush().join();
+        } catch (Exception exception) {
+            this.logger.warn("Failed to save every file while shutting down", exception);
+        }
+    }
+
+    /**
+     * Gets the amount of saves that were requested.
+     *
+     * @return the amount of requested saves
+     * @since 0.2.0
+     */
+    public long getRequested() {
+        return this.requested.sum();
+    }
+
+    /**
+     * Gets the amount of saves that finished writing their file.
+     *
+     * @return the amount of performed saves
+     * @since 0.2.0
+     */
+    public long getPerformed() {
+        return this.performed.sum();
+    }
+
+    /**
+     * Gets the amount of saves that failed to write their file.
+     *
+     * @return the amount of failed saves
+     * @since 0.2.0
+     */
+    public long getFailed() {
+        return this.failed.sum();
+    }
+
+    /**
+     * Gets the amount of files waiting to be saved.
+     *
+     * @return the amount of dirty files
+     * @since 0.2.0
+     */
+    public int getPending() {
+        return this.dirty.size();
+    }
+}
@@ -0,0 +1,480 @@
+package com.ryderbelserion.vital.files.cache;
+
+import com.ryderbelserion.vital.VitalProvider;
+import com.ryderbelserion.vital.api.Vital;
+import com.ryderbelserion.vital.files.objects.FileFingerprint;
+import com.ryderbelserion.vital.utils.Methods;
+import net.kyori.adventure.text.logger.slf4j.ComponentLogger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.spongepowered.configurate.CommentedConfigurationNode;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * A binary cache of parsed configuration trees, used to skip parsing on startup.
+ *
+ * <p>Every cached tree is stored in a compact length-prefixed format next to the fingerprint of the
+ * source file it was parsed from. A cached tree is only used while the source still has the same size, and either
+ * the same last modified time or, when checksums are compared, the same checksum. Comments are cached as well,
+ * so saving a tree loaded from the cache does not lose them.
+ *
+ * <p>A tree holding a value the format has no type for is not cached at all, instead of coming back as a string.
+ *
+ * @author Ryder Belserion
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public class BinaryCache {
+
+    private static final int MAGIC = 0x5654_4C43; // VTLC
+    private static final byte VERSION = 2;
+
+    private static final byte NULL = 0;
+    private static final byte MAP = 1;
+    private static final byte LIST = 2;
+    private static final byte STRING = 3;
+    private static final byte INT = 4;
+    private static final byte LONG = 5;
+    private static final byte DOUBLE = 6;
+    private static final byte FLOAT = 7;
+    private static final byte BOOLEAN = 8;
+    private static final byte BIG_INTEGER = 9;
+    private static final byte BIG_DECIMAL = 10;
+    private static final byte DATE = 11;
+    private static final byte BYTES = 12;
+
+    private final Vital api = VitalProvider.get();
+    private final ComponentLogger logger = this.api.getLogger();
+    private final boolean isVerbose = this.api.isVerbose();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private final Path dataFolder;
+    private final Path directory;
+
+    /**
+     * Constructs a new {@link BinaryCache} instance, which stores its files in {@code .cache} inside the data folder.
+     *
+     * @param dataFolder the data folder of the plugin
+     * @since 0.2.0
+     */
+    public BinaryCache(@NotNull final File dataFolder) {
+        this.dataFolder = dataFolder.toPath().toAbsolutePath().normalize();
+        this.directory = this.dataFolder.resolve(".cache");
+    }
+
+    /**
+     * Reads the cached tree of a source file.
+     *
+     * <p>The fingerprint is only compared with the one the tree was cached with, the source itself is not read again.
+     *
+     * @param source the source file
+     * @param fingerprint the current fingerprint of the source file
+     * @return the cached tree, or null if there is none or the source changed since it was cached
+     * @since 0.2.0
+     */
+    public @Nullable CommentedConfigurationNode read(@NotNull final File source, @NotNull final FileFingerprint fingerprint) {
+        final Path path = getPath(source);
+
+        if (fingerprint == FileFingerprint.EMPTY || !Files.isRegularFile(path)) {
+            this.misses.increment();
+
+            return null;
+        }
+
+        try (final DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (input.readInt() != MAGIC || input.readByte() != VERSION) {
+                this.misses.increment();
+
+                return null;
+            }
+
+            final long lastModified = input.readLong();
+            final long size = input.readLong();
+            final long hash = input.readLong();
+
+            // a hash of -1 was not computed, so it cannot prove the contents are the same.
+            final boolean same = lastModified == fingerprint.lastModified() || (fingerprint.hash() != -1 && hash == fingerprint.hash());
+
+            if (size != fingerprint.size() || !same) {
+                this.misses.increment();
+
+                return null;
+            }
+
+            final CommentedConfigurationNode root = CommentedConfigurationNode.root();
+
+            readNode(input, root);
+
+            this.hits.increment();
+
+            return root;
+        } catch (IOException | RuntimeException exception) {
+            if (this.isVerbose) {
+                this.logger.warn("Failed to read the cached copy of {}, it will be parsed instead.", source.getName(), exception);
+            }
+
+            this.misses.increment();
+
+            return null;
+        }
+    }
+
+    /**
+     * Writes the tree of a source file to the cache.
+     *
+     * @param source the source file
+     * @param fingerprint the fingerprint of the source file the tree was parsed from
+     * @param node the root node
+     * @since 0.2.0
+     */
+    public void write(@NotNull final File source, @NotNull final FileFingerprint fingerprint, @NotNull final CommentedConfigurationNode node) {
+        if (fingerprint == FileFingerprint.EMPTY) return;
+
+        try {
+            Methods.writeAtomically(getPath(source), stream -> {
+                final DataOutputStream output = new DataOutputStream(stream);
+
+                output.writeInt(MAGIC);
+                output.writeByte(VERSION);
+                output.writeLong(fingerprint.lastModified());
+                output.writeLong(fingerprint.size());
+                output.writeLong(fingerprint.hash());
+
+                writeNode(output, node, true);
+
+                output.flush();
+            });
+        } catch (IOException | RuntimeException exception) {
+            if (this.isVerbose) {
+                this.logger.warn("Failed to cache {}", source.getName(), exception);
+            }
+
+            // an older copy would no longer match the fingerprint, but there is no reason to keep it around.
+            invalidate(source);
+        }
+    }
+
+    /**
+     * Deletes the cached tree of a source file.
+     *
+     * @param source the source file
+     * @since 0.2.0
+     */
+    public void invalidate(@NotNull final File source) {
+        try {
+            Files.deleteIfExists(getPath(source));
+        } catch (IOException exception) {
+            if (this.isVerbose) {
+                this.logger.warn("Failed to delete the cached copy of {}", source.getName(), exception);
+            }
+        }
+    }
+
+    /**
+     * Deletes every cached tree whose source file no longer exists, along with temporary files left behind by a crash.
+     *
+     * <p>Trees of files outside the data folder are cached by their name only, so they are deleted as well,
+     * and are cached again on their next load.
+     *
+     * @return the amount of files deleted
+     * @since 0.2.0
+     */
+    public int prune() {
+        if (!Files.isDirectory(this.directory)) return 0;
+
+        final List<Path> stale = new ArrayList<>();
+
+        try (final Stream<Path> stream = Files.walk(this.directory)) {
+            stream.filter(Files::isRegularFile).forEach(path -> {
+                final String name = path.getFileName().toString();
+
+                if (name.endsWith(".tmp") && name.contains(".bin")) {
+                    stale.add(path);
+
+                    return;
+                }
+
+                if (!name.endsWith(".bin")) return;
+
+                final String relative = this.directory.relativize(path).toString();
+
+                if (!Files.exists(this.dataFolder.resolve(relative.substring(0, relative.length() - ".bin".length())))) {
+                    stale.add(path);
+                }
+            });
+        } catch (IOException | UncheckedIOException exception) {
+            if (this.isVerbose) {
+                this.logger.warn("Failed to prune the binary cache", exception);
+            }
+
+            return 0;
+        }
+
+        int deleted = 0;
+
+        for (final Path path : stale) {
+            try {
+                if (Files.deleteIfExists(path)) deleted++;
+            } catch (IOException exception) {
+                if (this.isVerbose) {
+                    this.logger.warn("Failed to delete {}", path, exception);
+                }
+            }
+        }
+
+        if (this.isVerbose && deleted > 0) {
+            this.logger.info("Pruned {} stale file(s) from the binary cache.", deleted);
+        }
+
+        return deleted;
+    }
+
+    /**
+     * Gets the amount of trees that were read from the cache.
+     *
+     * @return the amount of hits
+     * @since 0.2.0
+     */
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Gets the amount of trees that had to be parsed from the source.
+     *
+     * @return the amount of misses
+     * @since 0.2.0
+     */
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Writes a tree in the same format the cache uses, without a header.
+     *
+     * <p>Unlike the cache, a value the format has no type for is written as its string.
+     *
+     * @param output the stream to write to
+     * @param node the root node
+     * @throws IOException if the tree could not be written
+     * @since 0.2.0
+     */
+    public static void encode(@NotNull final DataOutputStream output, @NotNull final CommentedConfigurationNode node) throws IOException {
+        writeNode(output, node, false);
+    }
+
+    /**
+     * Reads a tree written by {@link #encode(DataOutputStream, CommentedConfigurationNode)}.
+     *
+     * @param input the stream to read from
+     * @return the root node
+     * @throws IOException if the tree could not be read, or is malformed
+     * @since 0.2.0
+     */
+    public static @NotNull CommentedConfigurationNode decode(@NotNull final DataInputStream input) throws IOException {
+        final CommentedConfigurationNode root = CommentedConfigurationNode.root();
+
+        readNode(input, root);
+
+        return root;
+    }
+
+    private Path getPath(final File source) {
+        final Path path = source.toPath().toAbsolutePath().normalize();
+
+        final Path relative = path.startsWith(this.dataFolder) ? this.dataFolder.relativize(path) : path.getFileName();
+
+        return this.directory.resolve(relative + ".bin");
+    }
+
+    private static void writeNode(final DataOutputStream output, final CommentedConfigurationNode node, final boolean strict) throws IOException {
+        final String comment = node.comment();
+
+        output.writeBoolean(comment != null);
+
+        if (comment != null) {
+            writeString(output, comment);
+        }
+
+        if (node.isMap()) {
+            final Map<Object, CommentedConfigurationNode> children = node.childrenMap();
+
+            output.writeByte(MAP);
+            output.writeInt(children.size());
+
+            for (final Map.Entry<Object, CommentedConfigurationNode> entry : children.entrySet()) {
+                writeScalar(output, entry.getKey(), strict);
+                writeNode(output, entry.getValue(), strict);
+            }
+
+            return;
+        }
+
+        if (node.isList()) {
+            final List<CommentedConfigurationNode> children = node.childrenList();
+
+            output.writeByte(LIST);
+            output.writeInt(children.size());
+
+            for (final CommentedConfigurationNode child : children) {
+                writeNode(output, child, strict);
+            }
+
+            return;
+        }
+
+        writeScalar(output, node.rawScalar(), strict);
+    }
+
+    private static void readNode(final DataInputStream input, final CommentedConfigurationNode node) throws IOException {
+        final String comment = input.readBoolean() ? readString(input) : null;
+
+        final byte type = input.readByte();
+
+        switch (type) {
+            case MAP -> {
+                final int size = input.readInt();
+
+                // an empty map should still be a map.
+                node.raw(Collections.emptyMap());
+
+                for (int index = 0; index < size; index++) {
+                    readNode(input, node.node(readScalar(input, input.readByte())));
+                }
+            }
+
+            case LIST -> {
+                final int size = input.readInt();
+
+                // an empty list should still be a list.
+                node.raw(Collections.emptyList());
+
+                for (int index = 0; index < size; index++) {
+                    readNode(input, node.appendListNode());
+                }
+            }
+
+            default -> node.raw(readScalar(input, type));
+        }
+
+        if (comment != null) {
+            node.comment(comment);
+        }
+    }
+
+    private static void writeScalar(final DataOutputStream output, final Object value, final boolean strict) throws IOException {
+        switch (value) {
+            case null -> output.writeByte(NULL);
+            case String string -> {
+                output.writeByte(STRING);
+
+                writeString(output, string);
+            }
+            case Integer number -> {
+                output.writeByte(INT);
+                output.writeInt(number);
+            }
+            case Long number -> {
+                output.writeByte(LONG);
+                output.writeLong(number);
+            }
+            case Double number -> {
+                output.writeByte(DOUBLE);
+                output.writeDouble(number);
+            }
+            case Float number -> {
+                output.writeByte(FLOAT);
+                output.writeFloat(number);
+            }
+            case Boolean bool -> {
+                output.writeByte(BOOLEAN);
+                output.writeBoolean(bool);
+            }
+            case BigInteger number -> {
+                output.writeByte(BIG_INTEGER);
+
+                writeString(output, number.toString());
+            }
+            case BigDecimal number -> {
+                output.writeByte(BIG_DECIMAL);
+
+                writeString(output, number.toString());
+            }
+            case Date date -> {
+                output.writeByte(DATE);
+                output.writeLong(date.getTime());
+            }
+            case byte[] bytes -> {
+                output.writeByte(BYTES);
+                output.writeInt(bytes.length);
+                output.write(bytes);
+            }
+            default -> {
+                if (strict) {
+                    throw new IOException("Cannot cache a value of type " + value.getClass().getName());
+                }
+
+                output.writeByte(STRING);
+
+                writeString(output, value.toString());
+            }
+        }
+    }
+
+    private static Object readScalar(final DataInputStream input, final byte type) throws IOException {
+        return switch (type) {
+            case NULL -> null;
+            case INT -> input.readInt();
+            case LONG -> input.readLong();
+            case DOUBLE -> input.readDouble();
+            case FLOAT -> input.readFloat();
+            case BOOLEAN -> input.readBoolean();
+            case BIG_INTEGER -> new BigInteger(readString(input));
+            case BIG_DECIMAL -> new BigDecimal(readString(input));
+            case DATE -> new Date(input.readLong());
+            case BYTES -> {
+                final byte[] bytes = new byte[input.readInt()];
+
+                input.readFully(bytes);
+
+                yield bytes;
+            }
+            case STRING -> readString(input);
+            default -> throw new IOException("Unknown type " + type);
+        };
+    }
+
+    private static void writeString(final DataOutputStream output, final String value) throws IOException {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(final DataInputStream input) throws IOException {
+        final byte[] bytes = new byte[input.readInt()];
+
+        input.readFully(bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
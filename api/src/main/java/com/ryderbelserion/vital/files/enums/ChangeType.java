@@ -0,0 +1,26 @@
+package com.ryderbelserion.vital.files.enums;
+
+/**
+ * Enum representing the different changes that can happen to a path in a configuration.
+ *
+ * @author Ryder Belserion
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public enum ChangeType {
+
+    /**
+     * The path did not exist before.
+     */
+    ADDED,
+
+    /**
+     * The path no longer exists.
+     */
+    REMOVED,
+
+    /**
+     * The value at the path changed.
+     */
+    CHANGED
+}
@@ -0,0 +1,41 @@
+package com.ryderbelserion.vital.files.enums;
+
+/**
+ * Enum representing the different changes that can happen to a file on disk.
+ *
+ * @author Ryder Belserion
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public enum FileAction {
+
+    /**
+     * The file was created.
+     */
+    CREATED,
+
+    /**
+     * The file was modified.
+     */
+    MODIFIED,
+
+    /**
+     * The file was deleted.
+     */
+    DELETED;
+
+    /**
+     * Merges a newer action into this one, so several events for the same file collapse into one.
+     *
+     * @param next the newer action
+     * @return the merged action, or null if the two actions cancel each other out
+     * @since 0.2.0
+     */
+    public FileAction merge(final FileAction next) {
+        return switch (this) {
+            case CREATED -> next == DELETED ? null : CREATED;
+            case MODIFIED -> next == DELETED ? DELETED : MODIFIED;
+            case DELETED -> next == DELETED ? DELETED : MODIFIED;
+        };
+    }
+}
@@ -22,6 +22,16 @@ public enum FileType {
      */
     JSON("json"),
 
+    /**
+     * SQLite database, used for data which changes often.
+     */
+    SQLITE("db"),
+
+    /**
+     * Binary node tree, used for large data which is only read by the plugin.
+     */
+    BINARY("bin"),
+
     /**
      * No specific file format, used as a default or placeholder.
      */
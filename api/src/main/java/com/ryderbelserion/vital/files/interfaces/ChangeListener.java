@@ -0,0 +1,25 @@
+package com.ryderbelserion.vital.files.interfaces;
+
+import com.ryderbelserion.vital.files.objects.ConfigDiff;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Listens for changes to the contents of a file, between one load and the next.
+ *
+ * <p>Listeners are called on the thread which loaded the file, anything touching the server should be rescheduled.
+ *
+ * @author Ryder Belserion
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+@FunctionalInterface
+public interface ChangeListener {
+
+    /**
+     * Called after a reload changed something the listener is subscribed to.
+     *
+     * @param diff the changes, limited to the path the listener is subscribed to
+     * @since 0.2.0
+     */
+    void onChange(@NotNull final ConfigDiff diff);
+}
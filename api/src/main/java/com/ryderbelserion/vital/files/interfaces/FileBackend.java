@@ -0,0 +1,74 @@
+package com.ryderbelserion.vital.files.interfaces;
+
+import com.ryderbelserion.vital.files.CustomFile;
+import com.ryderbelserion.vital.files.enums.FileType;
+import org.jetbrains.annotations.NotNull;
+import java.io.File;
+import java.util.function.BiFunction;
+
+/**
+ * Creates the custom files of one storage format, such as Configurate YAML, Bukkit YAML, JSON or binary.
+ *
+ * <p>Backends are registered with the {@link com.ryderbelserion.vital.files.FileManager} by name,
+ * and can be picked per file or per folder, so every file lives in the same registry regardless of how it is stored.
+ *
+ * @author Ryder Belserion
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public interface FileBackend {
+
+    /**
+     * Gets the name the backend is registered under.
+     *
+     * @return the name of the backend
+     * @since 0.2.0
+     */
+    @NotNull String getName();
+
+    /**
+     * Gets the file type the backend reads and writes, which decides the extension of its files.
+     *
+     * @return the {@link FileType}
+     * @since 0.2.0
+     */
+    @NotNull FileType getFileType();
+
+    /**
+     * Creates a new custom file, without loading it.
+     *
+     * @param file the file on disk
+     * @param isDynamic whether the custom file should be treated as dynamic
+     * @return the custom file
+     * @since 0.2.0
+     */
+    @NotNull CustomFile<? extends CustomFile<?>> create(@NotNull final File file, final boolean isDynamic);
+
+    /**
+     * Creates a backend from a factory.
+     *
+     * @param name the name of the backend
+     * @param fileType the file type the backend reads and writes
+     * @param factory the function creating a custom file from the file on disk, and whether it is dynamic
+     * @return the {@link FileBackend}
+     * @since 0.2.0
+     */
+    static @NotNull FileBackend of(@NotNull final String name, @NotNull final FileType fileType, @NotNull final BiFunction<File, Boolean, ? extends CustomFile<? extends CustomFile<?>>> factory) {
+        return new FileBackend() {
+            @Override
+            public @NotNull String getName() {
+                return name;
+            }
+
+            @Override
+            public @NotNull FileType getFileType() {
+                return fileType;
+            }
+
+            @Override
+            public @NotNull CustomFile<? extends CustomFile<?>> create(@NotNull final File file, final boolean isDynamic) {
+                return factory.apply(file, isDynamic);
+            }
+        };
+    }
+}
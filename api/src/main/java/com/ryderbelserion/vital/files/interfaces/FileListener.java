@@ -0,0 +1,29 @@
+package com.ryderbelserion.vital.files.interfaces;
+
+import com.ryderbelserion.vital.files.enums.FileAction;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Listens for changes made to files on disk.
+ *
+ * <p>Listeners are called from the file watcher thread, or from the file executor once a modified file has been reloaded,
+ * anything touching the server should be rescheduled.
+ *
+ * @param <F> the type of the custom file
+ *
+ * @author Ryder Belserion
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+@FunctionalInterface
+public interface FileListener<F> {
+
+    /**
+     * Called after the file has been added, reloaded or removed.
+     *
+     * @param file the custom file
+     * @param action the action that happened on disk
+     * @since 0.2.0
+     */
+    void onChange(@NotNull final F file, @NotNull final FileAction action);
+}
@@ -0,0 +1,114 @@
+package com.ryderbelserion.vital.files.lazy;
+
+import org.jetbrains.annotations.NotNull;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The contents of a file, read on demand through positional reads.
+ *
+ * <p>The channel stays open until it is closed, so every read sees the same file,
+ * even if it is replaced on disk in the meantime.
+ *
+ * @author Ryder Belserion
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public final class ChannelContent implements Closeable {
+
+    private final FileChannel channel;
+
+    private ChannelContent(@NotNull final FileChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Opens a file for reading.
+     *
+     * @param file the file to open
+     * @return the {@link ChannelContent}
+     * @throws IOException if the file could not be opened
+     * @since 0.2.0
+     */
+    public static @NotNull ChannelContent open(@NotNull final File file) throws IOException {
+        return new ChannelContent(FileChannel.open(file.toPath(), StandardOpenOption.READ));
+    }
+
+    /**
+     * Opens a stream over the whole file, closing the stream leaves the channel open.
+     *
+     * @return the stream
+     * @since 0.2.0
+     */
+    public @NotNull InputStream stream() {
+        return new ChannelInputStream(this.channel);
+    }
+
+    /**
+     * Reads a part of the file onto the heap, and opens a reader over it.
+     *
+     * @param offset the offset in bytes to start at
+     * @param length the amount of bytes to read
+     * @return the reader, decoding the bytes as UTF-8
+     * @throws IOException if the part could not be read
+     * @since 0.2.0
+     */
+    public @NotNull BufferedReader reader(final long offset, final int length) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(length);
+
+        while (buffer.hasRemaining()) {
+            if (this.channel.read(buffer, offset + buffer.position()) == -1) break;
+        }
+
+        return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(buffer.array(), 0, buffer.position()), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Closes the channel.
+     *
+     * @throws IOException if the channel could not be closed
+     * @since 0.2.0
+     */
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    private static final class ChannelInputStream extends InputStream {
+
+        private final FileChannel channel;
+
+        private long position;
+
+        private ChannelInputStream(final FileChannel channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final byte[] bytes = new byte[1];
+
+            return read(bytes, 0, 1) == -1 ? -1 : bytes[0] & 0xFF;
+        }
+
+        @Override
+        public int read(final byte @NotNull [] bytes, final int offset, final int length) throws IOException {
+            if (length == 0) return 0;
+
+            final int count = this.channel.read(ByteBuffer.wrap(bytes, offset, length), this.position);
+
+            if (count > 0) this.position += count;
+
+            return count;
+        }
+    }
+}
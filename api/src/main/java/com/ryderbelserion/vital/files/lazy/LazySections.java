@@ -0,0 +1,423 @@
+package com.ryderbelserion.vital.files.lazy;
+
+import com.ryderbelserion.vital.api.exceptions.GenericException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.spongepowered.configurate.CommentedConfigurationNode;
+import org.spongepowered.configurate.ConfigurateException;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A YAML root node whose top level sections are only parsed once they are first accessed.
+ *
+ * <p>A fast scan over the raw bytes records where every top level key starts and ends, and an empty
+ * placeholder is attached to the root for each of them, so the root itself never changes afterward.
+ * Accessing a section parses only its own bytes, and fills in its placeholder.
+ *
+ * <p>Files using anchors, aliases, merge keys, multiple documents or a top level that is not a plain mapping
+ * cannot be split safely, in which case {@link #scan(InputStream, Source, Parser)} returns null,
+ * and the file should be parsed as a whole.
+ *
+ * <p>The resource backing the sections is closed once every section has been loaded, or once {@link #close()} is called.
+ *
+ * @author Ryder Belserion
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public final class LazySections {
+
+    /**
+     * Opens a reader over a range of the file.
+     *
+     * @since 0.2.0
+     */
+    @FunctionalInterface
+    public interface Source {
+
+        /**
+         * Opens a reader over a range of the file.
+         *
+         * @param offset the offset in bytes to start at
+         * @param length the amount of bytes to read
+         * @return the reader
+         * @throws IOException if the range could not be read
+         * @since 0.2.0
+         */
+        @NotNull BufferedReader open(final long offset, final int length) throws IOException;
+    }
+
+    /**
+     * Parses YAML into a node tree.
+     *
+     * @since 0.2.0
+     */
+    @FunctionalInterface
+    public interface Parser {
+
+        /**
+         * Parses YAML into a node tree.
+         *
+         * @param reader the reader to parse
+         * @return the root node
+         * @throws ConfigurateException if the YAML could not be parsed
+         * @since 0.2.0
+         */
+        @NotNull CommentedConfigurationNode parse(@NotNull final BufferedReader reader) throws ConfigurateException;
+    }
+
+    private record Range(long offset, int length) {}
+
+    private final CommentedConfigurationNode root = CommentedConfigurationNode.root();
+    private final Map<String, Range> pending;
+
+    private final Closeable resource;
+    private final Source source;
+    private final Parser parser;
+
+    // guarded by this, set once the resource is closed.
+    private boolean closed;
+
+    private LazySections(@NotNull final Map<String, Range> sections, @NotNull final Source source, @NotNull final Parser parser, @Nullable final Closeable resource) {
+        this.pending = new ConcurrentHashMap<>(sections);
+        this.resource = resource;
+        this.source = source;
+        this.parser = parser;
+
+        // the placeholders are attached up front, so loading a section never changes the root itself.
+        sections.keySet().forEach(key -> this.root.node(key).raw(Collections.emptyMap()));
+    }
+
+    /**
+     * Scans a file for its top level sections.
+     *
+     * @param stream the contents of the file, which is closed afterward
+     * @param source the source the sections are read from once they are accessed
+     * @param parser the parser used for each section
+     * @return the {@link LazySections}, or null if the file cannot be split into sections
+     * @throws IOException if the file could not be read
+     * @since 0.2.0
+     */
+    public static @Nullable LazySections scan(@NotNull final InputStream stream, @NotNull final Source source, @NotNull final Parser parser) throws IOException {
+        return scan(stream, source, parser, null);
+    }
+
+    /**
+     * Scans a file for its top level sections, closing a resource once every section has been loaded.
+     *
+     * @param stream the contents of the file, which is closed afterward
+     * @param source the source the sections are read from once they are accessed
+     * @param parser the parser used for each section
+     * @param resource the resource backing the source, which is not closed if null is returned
+     * @return the {@link LazySections}, or null if the file cannot be split into sections
+     * @throws IOException if the file could not be read
+     * @since 0.2.0
+     */
+    public static @Nullable LazySections scan(@NotNull final InputStream stream, @NotNull final Source source, @NotNull final Parser parser, @Nullable final Closeable resource) throws IOException {
+        final Map<String, Range> sections = new LinkedHashMap<>();
+
+        try (final InputStream input = stream) {
+            final byte[] chunk = new byte[8192];
+
+            int chunkLength = 0;
+            int chunkIndex = 0;
+
+            byte[] line = new byte[256];
+
+            long offset = 0;
+            long lineStart = 0;
+            long commentStart = -1;
+
+            String current = null;
+            long currentStart = 0;
+
+            boolean first = true;
+
+            while (true) {
+                int length = 0;
+                int read;
+
+                while (true) {
+                    if (chunkIndex == chunkLength) {
+                        chunkLength = Math.max(input.read(chunk), 0);
+                        chunkIndex = 0;
+
+                        if (chunkLength == 0) {
+                            read = -1;
+
+                            break;
+                        }
+                    }
+
+                    read = chunk[chunkIndex++];
+
+                    if (read == '\n') break;
+
+                    if (length == line.length) line = Arrays.copyOf(line, length * 2);
+
+                    line[length++] = (byte) read;
+                }
+
+                offset += length + (read == '\n' ? 1 : 0);
+
+                if (read == -1 && length == 0) break;
+
+                int start = 0;
+
+                // the byte order mark is not part of the first section.
+                if (first && length >= 3 && (line[0] & 0xFF) == 0xEF && (line[1] & 0xFF) == 0xBB && (line[2] & 0xFF) == 0xBF) {
+                    start = 3;
+
+                    lineStart += 3;
+                    currentStart = lineStart;
+                }
+
+                first = false;
+
+                if (length > start && line[length - 1] == '\r') length--;
+
+                if (isBlank(line, start, length)) {
+                    commentStart = -1;
+                } else {
+                    final byte character = line[start];
+
+                    if (character == '#') {
+                        if (commentStart < 0) commentStart = lineStart;
+                    } else if (character == ' ' || character == '\t' || (character == '-' && (length == start + 1 || line[start + 1] == ' '))) {
+                        // content of the current section, list items may sit at the same indent as their key.
+                        if (current == null || hasReference(line, start, length)) return null;
+
+                        commentStart = -1;
+                    } else {
+                        final String key = getKey(line, start, length);
+
+                        if (key == null || sections.containsKey(key) || key.equals(current)) return null;
+
+                        // comments directly above a key belong to it, and the first section keeps the header.
+                        final long sectionStart = current == null ? currentStart : commentStart >= 0 ? commentStart : lineStart;
+
+                        if (current != null) {
+                            if (sectionStart - currentStart > Integer.MAX_VALUE) return null;
+
+                            sections.put(current, new Range(currentStart, (int) (sectionStart - currentStart)));
+                        }
+
+                        current = key;
+                        currentStart = sectionStart;
+                        commentStart = -1;
+                    }
+                }
+
+                lineStart = offset;
+
+                if (read == -1) break;
+            }
+
+            if (current == null || offset - currentStart > Integer.MAX_VALUE) return null;
+
+            sections.put(current, new Range(currentStart, (int) (offset - currentStart)));
+        }
+
+        return new LazySections(sections, source, parser, resource);
+    }
+
+    /**
+     * Loads the section a path starts in, if it was not loaded yet.
+     *
+     * @param path the path, of which only the first key is used
+     * @throws GenericException if the section could not be parsed, or the sections were closed before it was loaded
+     * @since 0.2.0
+     */
+    public void load(@NotNull final Object... path) {
+        if (path.length == 0) {
+            loadAll();
+
+            return;
+        }
+
+        final String key = String.valueOf(path[0]);
+
+        // already loaded sections are skipped without locking.
+        if (!this.pending.containsKey(key)) return;
+
+        synchronized (this) {
+            final Range range = this.pending.get(key);
+
+            if (range == null) return;
+
+            if (this.closed) {
+                throw new GenericException("Cannot load section " + key + ", as the file it is read from was closed.");
+            }
+
+            try (final BufferedReader reader = this.source.open(range.offset(), range.length())) {
+                final CommentedConfigurationNode parsed = this.parser.parse(reader);
+
+                this.root.node(key).from(parsed.node(key));
+            } catch (ConfigurateException exception) {
+                throw new GenericException("Cannot parse section " + key, exception);
+            } catch (IOException exception) {
+                throw new GenericException("Cannot read section " + key, exception);
+            }
+
+            this.pending.remove(key);
+
+            if (this.pending.isEmpty()) release();
+        }
+    }
+
+    /**
+     * Closes the resource backing the sections, after which a section which was not loaded yet can no longer be loaded.
+     *
+     * <p>Sections which were already loaded can still be read, and closing twice does nothing.
+     *
+     * @since 0.2.0
+     */
+    public synchronized void close() {
+        release();
+    }
+
+    /**
+     * Closes the resource, if it was not closed yet.
+     *
+     * @since 0.2.0
+     */
+    private void release() {
+        if (this.closed) return;
+
+        this.closed = true;
+
+        if (this.resource == null) return;
+
+        try {
+            this.resource.close();
+        } catch (IOException ignored) {
+            // nothing is read from it anymore.
+        }
+    }
+
+    /**
+     * Loads every section which was not loaded yet.
+     *
+     * @throws GenericException if a section could not be parsed
+     * @since 0.2.0
+     */
+    public void loadAll() {
+        for (final String key : this.pending.keySet()) {
+            load(key);
+        }
+    }
+
+    /**
+     * Checks if every section has been loaded.
+     *
+     * @return true if every section has been loaded
+     * @since 0.2.0
+     */
+    public boolean isLoaded() {
+        return this.pending.isEmpty();
+    }
+
+    /**
+     * Gets the amount of sections which were not loaded yet.
+     *
+     * @return the amount of sections
+     * @since 0.2.0
+     */
+    public int getPending() {
+        return this.pending.size();
+    }
+
+    /**
+     * Gets the root node, sections which were not loaded yet are empty.
+     *
+     * @return the root node
+     * @since 0.2.0
+     */
+    public @NotNull CommentedConfigurationNode getRoot() {
+        return this.root;
+    }
+
+    private static boolean isBlank(final byte[] line, final int start, final int length) {
+        for (int index = start; index < length; index++) {
+            if (line[index] != ' ' && line[index] != '\t') return false;
+        }
+
+        return true;
+    }
+
+    private static @Nullable String getKey(final byte[] line, final int start, final int length) {
+        final byte character = line[start];
+
+        if (character == '"' || character == '\'') {
+            int end = start + 1;
+
+            while (end < length && line[end] != character) {
+                // escapes are left to the parser.
+                if (line[end] == '\\') return null;
+
+                end++;
+            }
+
+            if (end + 1 >= length || line[end + 1] != ':') return null;
+
+            if (hasReference(line, end + 2, length)) return null;
+
+            return new String(line, start + 1, end - start - 1, StandardCharsets.UTF_8);
+        }
+
+        // anything which is not a plain key, such as a list, a flow mapping, a document marker or a directive.
+        if ("-.?:{}[]&*!|>%@`,".indexOf(character) != -1) return null;
+
+        for (int index = start; index < length; index++) {
+            if (line[index] != ':') continue;
+
+            if (index + 1 < length && line[index + 1] != ' ' && line[index + 1] != '\t') continue;
+
+            final String key = new String(line, start, index - start, StandardCharsets.UTF_8).trim();
+
+            // merge keys pull in other sections.
+            if (key.equals("<<") || hasReference(line, index + 1, length)) return null;
+
+            return isPlain(key) ? key : null;
+        }
+
+        return null;
+    }
+
+    private static boolean isPlain(final String key) {
+        if (key.isEmpty()) return false;
+
+        final char character = key.charAt(0);
+
+        // numbers, booleans and nulls are not parsed as string keys, so they could not be looked up by name.
+        if (Character.isDigit(character) || character == '+' || character == '~') return false;
+
+        return switch (key.toLowerCase(Locale.ROOT)) {
+            case "true", "false", "yes", "no", "on", "off", "y", "n", "null" -> false;
+            default -> true;
+        };
+    }
+
+    private static boolean hasReference(final byte[] line, final int start, final int length) {
+        for (int index = Math.max(start, 0); index < length; index++) {
+            final byte character = line[index];
+
+            if (character != '&' && character != '*') continue;
+
+            final boolean separated = index == start || line[index - 1] == ' ' || line[index - 1] == '\t' || line[index - 1] == '[' || line[index - 1] == ',';
+
+            if (separated && index + 1 < length && line[index + 1] != ' ' && line[index + 1] != '\t') return true;
+        }
+
+        return false;
+    }
+}
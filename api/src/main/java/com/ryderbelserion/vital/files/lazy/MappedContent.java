@@ -0,0 +1,128 @@
+package com.ryderbelserion.vital.files.lazy;
+
+import org.jetbrains.annotations.NotNull;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The contents of a file, mapped read only into memory.
+ *
+ * <p>The operating system pages the contents in as they are read, so a large file
+ * does not have to be copied onto the heap before it can be parsed.
+ *
+ * @author Ryder Belserion
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public final class MappedContent {
+
+    private final MappedByteBuffer buffer;
+
+    private MappedContent(@NotNull final MappedByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    /**
+     * Maps a file into memory.
+     *
+     * <p>The mapping stays valid after the channel is closed, until the buffer is garbage collected.
+     *
+     * @param file the file to map
+     * @return the {@link MappedContent}
+     * @throws IOException if the file could not be mapped, or is larger than 2 GB
+     * @since 0.2.0
+     */
+    public static @NotNull MappedContent map(@NotNull final File file) throws IOException {
+        try (final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final long size = channel.size();
+
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException(file.getName() + " is too large to be mapped.");
+            }
+
+            return new MappedContent(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        }
+    }
+
+    /**
+     * Opens a stream over the whole file.
+     *
+     * @return the stream
+     * @since 0.2.0
+     */
+    public @NotNull InputStream stream() {
+        return new BufferInputStream(this.buffer.slice());
+    }
+
+    /**
+     * Opens a reader over a part of the file.
+     *
+     * @param offset the offset in bytes to start at
+     * @param length the amount of bytes to read
+     * @return the reader, decoding the bytes as UTF-8
+     * @since 0.2.0
+     */
+    public @NotNull BufferedReader reader(final long offset, final int length) {
+        return new BufferedReader(new InputStreamReader(new BufferInputStream(this.buffer.slice((int) offset, length)), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Opens a reader over the whole file.
+     *
+     * @return the reader, decoding the bytes as UTF-8
+     * @since 0.2.0
+     */
+    public @NotNull BufferedReader reader() {
+        return reader(0, size());
+    }
+
+    /**
+     * Gets the size of the file.
+     *
+     * @return the size in bytes
+     * @since 0.2.0
+     */
+    public int size() {
+        return this.buffer.capacity();
+    }
+
+    private static final class BufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        private BufferInputStream(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return this.buffer.hasRemaining() ? this.buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(final byte @NotNull [] bytes, final int offset, final int length) {
+            if (length == 0) return 0;
+
+            if (!this.buffer.hasRemaining()) return -1;
+
+            final int count = Math.min(length, this.buffer.remaining());
+
+            this.buffer.get(bytes, offset, count);
+
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return this.buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.ryderbelserion.vital.files.objects;
+
+import com.ryderbelserion.vital.files.enums.ChangeType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import java.util.List;
+
+/**
+ * A single change between two loads of a configuration.
+ *
+ * @param path the path that changed
+ * @param type whether the path was added, removed or changed
+ * @param previous the raw value before the change, or null if the path was added
+ * @param current the raw value after the change, or null if the path was removed
+ *
+ * @author Ryder Belserion
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public record ConfigChange(@NotNull List<Object> path, @NotNull ChangeType type, @Nullable Object previous, @Nullable Object current) {
+
+    /**
+     * Creates an immutable copy of the change.
+     *
+     * @param path the path that changed
+     * @param type whether the path was added, removed or changed
+     * @param previous the raw value before the change, or null if the path was added
+     * @param current the raw value after the change, or null if the path was removed
+     * @since 0.2.0
+     */
+    public ConfigChange {
+        path = List.copyOf(path);
+    }
+
+    /**
+     * Checks if this change touches a path, either because it is at or below the path,
+     * or because a section above the path was replaced as a whole.
+     *
+     * @param prefix the path to check
+     * @return true if the value at the path may have changed
+     * @since 0.2.0
+     */
+    public boolean affects(@NotNull final Object... prefix) {
+        final int length = Math.min(prefix.length, this.path.size());
+
+        for (int index = 0; index < length; index++) {
+            if (!this.path.get(index).equals(prefix[index])) return false;
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,207 @@
+package com.ryderbelserion.vital.files.objects;
+
+import com.ryderbelserion.vital.files.enums.ChangeType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.spongepowered.configurate.ConfigurationNode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The structural difference between two loads of a configuration.
+ *
+ * <p>Sections are compared key by key, so a change deep inside a section is reported at its own path,
+ * while lists and scalars are compared by value. A diff can also be applied to another node tree,
+ * which patches it to match the newer load.
+ *
+ * @author Ryder Belserion
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public final class ConfigDiff {
+
+    /**
+     * A diff without any changes.
+     */
+    public static final ConfigDiff EMPTY = new ConfigDiff(List.of());
+
+    private final List<ConfigChange> changes;
+
+    private ConfigDiff(@NotNull final List<ConfigChange> changes) {
+        this.changes = Collections.unmodifiableList(changes);
+    }
+
+    /**
+     * Computes the changes between two node trees.
+     *
+     * @param previous the node tree before the change, or null if there was none
+     * @param current the node tree after the change, or null if there is none
+     * @return the {@link ConfigDiff}
+     * @since 0.2.0
+     */
+    public static @NotNull ConfigDiff of(@Nullable final ConfigurationNode previous, @Nullable final ConfigurationNode current) {
+        final List<ConfigChange> changes = new ArrayList<>();
+
+        if (previous == null && current == null) return EMPTY;
+
+        if (previous == null) {
+            changes.add(new ConfigChange(List.of(), ChangeType.ADDED, null, current.raw()));
+        } else if (current == null) {
+            changes.add(new ConfigChange(List.of(), ChangeType.REMOVED, previous.raw(), null));
+        } else {
+            compare(new Object[0], previous, current, changes);
+        }
+
+        return changes.isEmpty() ? EMPTY : new ConfigDiff(changes);
+    }
+
+    /**
+     * Gets every change, in the order the paths appear in the configuration.
+     *
+     * @return an unmodifiable list of the changes
+     * @since 0.2.0
+     */
+    public @NotNull List<ConfigChange> getChanges() {
+        return this.changes;
+    }
+
+    /**
+     * Gets the changes which touch a path, see {@link ConfigChange#affects(Object...)}.
+     *
+     * @param path the path, or nothing for every change
+     * @return an unmodifiable list of the changes
+     * @since 0.2.0
+     */
+    public @NotNull List<ConfigChange> getChanges(@NotNull final Object... path) {
+        if (path.length == 0) return this.changes;
+
+        final List<ConfigChange> changes = new ArrayList<>();
+
+        for (final ConfigChange change : this.changes) {
+            if (change.affects(path)) changes.add(change);
+        }
+
+        return Collections.unmodifiableList(changes);
+    }
+
+    /**
+     * Limits this diff to the changes which touch a path.
+     *
+     * @param path the path, or nothing for every change
+     * @return the {@link ConfigDiff} of the path
+     * @since 0.2.0
+     */
+    public @NotNull ConfigDiff filter(@NotNull final Object... path) {
+        if (path.length == 0) return this;
+
+        final List<ConfigChange> changes = getChanges(path);
+
+        return changes.isEmpty() ? EMPTY : new ConfigDiff(changes);
+    }
+
+    /**
+     * Checks if anything at, below or above a path changed.
+     *
+     * @param path the path
+     * @return true if the value at the path may have changed
+     * @since 0.2.0
+     */
+    public boolean affects(@NotNull final Object... path) {
+        for (final ConfigChange change : this.changes) {
+            if (change.affects(path)) return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Checks if there are no changes.
+     *
+     * @return true if both trees were the same
+     * @since 0.2.0
+     */
+    public boolean isEmpty() {
+        return this.changes.isEmpty();
+    }
+
+    /**
+     * Patches a node tree, so every changed path matches the newer load.
+     *
+     * @param target the root node to patch
+     * @since 0.2.0
+     */
+    public void apply(@NotNull final ConfigurationNode target) {
+        for (final ConfigChange change : this.changes) {
+            final ConfigurationNode node = target.node(change.path());
+
+            // a null value detaches the node from its parent.
+            node.raw(change.type() == ChangeType.REMOVED ? null : change.current());
+        }
+    }
+
+    /**
+     * Compares two nodes at the same path, recursing into sections which exist in both.
+     *
+     * @param path the path of both nodes
+     * @param previous the node before the change
+     * @param current the node after the change
+     * @param changes the list to add the changes to
+     * @since 0.2.0
+     */
+    private static void compare(final Object[] path, final ConfigurationNode previous, final ConfigurationNode current, final List<ConfigChange> changes) {
+        if (previous.isMap() && current.isMap()) {
+            final Map<Object, ? extends ConfigurationNode> before = previous.childrenMap();
+            final Map<Object, ? extends ConfigurationNode> after = current.childrenMap();
+
+            for (final Map.Entry<Object, ? extends ConfigurationNode> entry : before.entrySet()) {
+                final Object[] child = append(path, entry.getKey());
+
+                final ConfigurationNode next = after.get(entry.getKey());
+
+                if (next == null) {
+                    changes.add(new ConfigChange(Arrays.asList(child), ChangeType.REMOVED, entry.getValue().raw(), null));
+
+                    continue;
+                }
+
+                compare(child, entry.getValue(), next, changes);
+            }
+
+            for (final Map.Entry<Object, ? extends ConfigurationNode> entry : after.entrySet()) {
+                if (before.containsKey(entry.getKey())) continue;
+
+                changes.add(new ConfigChange(Arrays.asList(append(path, entry.getKey())), ChangeType.ADDED, null, entry.getValue().raw()));
+            }
+
+            return;
+        }
+
+        // lists and scalars are compared as a whole, raw values of lists and maps are compared deeply.
+        final Object before = previous.raw();
+        final Object after = current.raw();
+
+        if (!Objects.equals(before, after)) {
+            changes.add(new ConfigChange(Arrays.asList(path), ChangeType.CHANGED, before, after));
+        }
+    }
+
+    /**
+     * Appends a key to a path.
+     *
+     * @param path the path
+     * @param key the key to append
+     * @return a new path
+     * @since 0.2.0
+     */
+    private static Object[] append(final Object[] path, final Object key) {
+        final Object[] child = Arrays.copyOf(path, path.length + 1);
+
+        child[path.length] = key;
+
+        return child;
+    }
+}
@@ -0,0 +1,199 @@
+package com.ryderbelserion.vital.files.objects;
+
+import io.leangen.geantyref.TypeToken;
+import org.jetbrains.annotations.NotNull;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.serialize.SerializationException;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A precompiled key pointing to a typed value in a configuration.
+ *
+ * <p>Every file gives a key a fixed slot the first time the key is read from it, see {@link KeyIndex},
+ * so once a key has been resolved after a load, reading it through {@link com.ryderbelserion.vital.files.CustomFile#get(ConfigKey)}
+ * is an array lookup instead of walking the node tree.
+ *
+ * <p>Keys are meant to be created once and kept in a static field.
+ *
+ * @param <T> the type of the value
+ *
+ * @author Ryder Belserion
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public final class ConfigKey<T> {
+
+    private static final Type stringList = new TypeToken<List<String>>() {}.getType();
+
+    private final T defaultValue;
+    private final Object[] path;
+    private final Type type;
+
+    private ConfigKey(@NotNull final Type type, @NotNull final T defaultValue, @NotNull final Object... path) {
+        this.defaultValue = Objects.requireNonNull(defaultValue, "The default value cannot be null.");
+        this.path = path.clone();
+        this.type = type;
+    }
+
+    /**
+     * Creates a key for any type Configurate can deserialize.
+     *
+     * @param type the type of the value
+     * @param defaultValue the value to use if the path does not exist, or cannot be converted
+     * @param path the path to the value
+     * @param <T> the type of the value
+     * @return the {@link ConfigKey}
+     * @since 0.2.0
+     */
+    public static <T> @NotNull ConfigKey<T> of(@NotNull final Class<T> type, @NotNull final T defaultValue, @NotNull final Object... path) {
+        return new ConfigKey<>(type, defaultValue, path);
+    }
+
+    /**
+     * Creates a key for any generic type Configurate can deserialize.
+     *
+     * @param type the type of the value
+     * @param defaultValue the value to use if the path does not exist, or cannot be converted
+     * @param path the path to the value
+     * @param <T> the type of the value
+     * @return the {@link ConfigKey}
+     * @since 0.2.0
+     */
+    public static <T> @NotNull ConfigKey<T> of(@NotNull final TypeToken<T> type, @NotNull final T defaultValue, @NotNull final Object... path) {
+        return new ConfigKey<>(type.getType(), defaultValue, path);
+    }
+
+    /**
+     * Creates a key for a string value.
+     *
+     * @param defaultValue the value to use if the path does not exist
+     * @param path the path to the value
+     * @return the {@link ConfigKey}
+     * @since 0.2.0
+     */
+    public static @NotNull ConfigKey<String> ofString(@NotNull final String defaultValue, @NotNull final Object... path) {
+        return new ConfigKey<>(String.class, defaultValue, path);
+    }
+
+    /**
+     * Creates a key for a boolean value.
+     *
+     * @param defaultValue the value to use if the path does not exist
+     * @param path the path to the value
+     * @return the {@link ConfigKey}
+     * @since 0.2.0
+     */
+    public static @NotNull ConfigKey<Boolean> ofBoolean(final boolean defaultValue, @NotNull final Object... path) {
+        return new ConfigKey<>(Boolean.class, defaultValue, path);
+    }
+
+    /**
+     * Creates a key for an integer value.
+     *
+     * @param defaultValue the value to use if the path does not exist
+     * @param path the path to the value
+     * @return the {@link ConfigKey}
+     * @since 0.2.0
+     */
+    public static @NotNull ConfigKey<Integer> ofInt(final int defaultValue, @NotNull final Object... path) {
+        return new ConfigKey<>(Integer.class, defaultValue, path);
+    }
+
+    /**
+     * Creates a key for a long value.
+     *
+     * @param defaultValue the value to use if the path does not exist
+     * @param path the path to the value
+     * @return the {@link ConfigKey}
+     * @since 0.2.0
+     */
+    public static @NotNull ConfigKey<Long> ofLong(final long defaultValue, @NotNull final Object... path) {
+        return new ConfigKey<>(Long.class, defaultValue, path);
+    }
+
+    /**
+     * Creates a key for a double value.
+     *
+     * @param defaultValue the value to use if the path does not exist
+     * @param path the path to the value
+     * @return the {@link ConfigKey}
+     * @since 0.2.0
+     */
+    public static @NotNull ConfigKey<Double> ofDouble(final double defaultValue, @NotNull final Object... path) {
+        return new ConfigKey<>(Double.class, defaultValue, path);
+    }
+
+    /**
+     * Creates a key for a list of strings, which defaults to an empty list.
+     *
+     * @param path the path to the value
+     * @return the {@link ConfigKey}
+     * @since 0.2.0
+     */
+    public static @NotNull ConfigKey<List<String>> ofStringList(@NotNull final Object... path) {
+        return new ConfigKey<>(stringList, List.of(), path);
+    }
+
+    /**
+     * Resolves the value of this key from the root node.
+     *
+     * @param root the root node of the configuration
+     * @return the value, or the default value if the path does not exist or cannot be converted
+     * @since 0.2.0
+     */
+    @SuppressWarnings("unchecked")
+    public @NotNull T resolve(@NotNull final ConfigurationNode root) {
+        final ConfigurationNode node = root.node(this.path);
+
+        if (node.virtual()) return this.defaultValue;
+
+        try {
+            final Object value = node.get(this.type, this.defaultValue);
+
+            if (value == null) return this.defaultValue;
+
+            // the value is shared between threads, so it cannot be mutable.
+            return (T) (value instanceof List<?> list ? List.copyOf(list) : value);
+        } catch (SerializationException exception) {
+            return this.defaultValue;
+        }
+    }
+
+    /**
+     * Gets the default value.
+     *
+     * @return the default value
+     * @since 0.2.0
+     */
+    public @NotNull T getDefaultValue() {
+        return this.defaultValue;
+    }
+
+    /**
+     * Gets the path to the value.
+     *
+     * @return a copy of the path
+     * @since 0.2.0
+     */
+    public Object[] getPath() {
+        return this.path.clone();
+    }
+
+    /**
+     * Gets the type of the value.
+     *
+     * @return the type
+     * @since 0.2.0
+     */
+    public Type getType() {
+        return this.type;
+    }
+
+    @Override
+    public String toString() {
+        return "ConfigKey{path=" + Arrays.toString(this.path) + ", type=" + this.type.getTypeName() + "}";
+    }
+}
@@ -0,0 +1,208 @@
+package com.ryderbelserion.vital.files.objects;
+
+import com.ryderbelserion.vital.api.exceptions.GenericException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.objectmapping.meta.Setting;
+import org.spongepowered.configurate.serialize.SerializationException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps a configuration section onto a record or a plain object.
+ *
+ * <p>The type is only inspected once, when the mapper is created. Records are built through their
+ * canonical constructor, and plain objects through their no-args constructor and field setters,
+ * all of which are invoked through {@link MethodHandle}s afterward.
+ *
+ * <p>Every property is read from the key with the same name, unless the field is annotated with {@link Setting}.
+ * Nested records are mapped recursively, everything else is handed to Configurate.
+ *
+ * @param <T> the type to map onto
+ *
+ * @author Ryder Belserion
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public final class ConfigMapper<T> {
+
+    private static final ClassValue<ConfigMapper<?>> mappers = new ClassValue<>() {
+        @Override
+        protected ConfigMapper<?> computeValue(@NotNull final Class<?> type) {
+            return new ConfigMapper<>(type);
+        }
+    };
+
+    private static final Map<Class<?>, Object> primitives = Map.of(
+            boolean.class, false,
+            byte.class, (byte) 0,
+            short.class, (short) 0,
+            char.class, '\0',
+            int.class, 0,
+            long.class, 0L,
+            float.class, 0F,
+            double.class, 0D
+    );
+
+    private final Class<T> type;
+    private final boolean isRecord;
+    private final MethodHandle constructor;
+    private final List<Property> properties = new ArrayList<>();
+
+    private ConfigMapper(@NotNull final Class<T> type) {
+        this.type = type;
+        this.isRecord = type.isRecord();
+
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+
+            if (this.isRecord) {
+                final RecordComponent[] components = type.getRecordComponents();
+
+                final Class<?>[] parameters = new Class<?>[components.length];
+
+                for (int index = 0; index < components.length; index++) {
+                    final RecordComponent component = components[index];
+
+                    parameters[index] = component.getType();
+
+                    this.properties.add(new Property(getName(type.getDeclaredField(component.getName())), component.getGenericType(), component.getType(), null));
+                }
+
+                this.constructor = lookup.findConstructor(type, MethodType.methodType(void.class, parameters))
+                        .asSpreader(Object[].class, parameters.length)
+                        .asType(MethodType.methodType(Object.class, Object[].class));
+            } else {
+                this.constructor = lookup.findConstructor(type, MethodType.methodType(void.class))
+                        .asType(MethodType.methodType(Object.class));
+
+                for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+                    for (final Field field : current.getDeclaredFields()) {
+                        final int modifiers = field.getModifiers();
+
+                        if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) continue;
+
+                        // final fields can only be written once they are accessible.
+                        if (Modifier.isFinal(modifiers) && !field.trySetAccessible()) continue;
+
+                        final MethodHandle setter = MethodHandles.privateLookupIn(current, MethodHandles.lookup()).unreflectSetter(field)
+                                .asType(MethodType.methodType(void.class, Object.class, Object.class));
+
+                        this.properties.add(new Property(getName(field), field.getGenericType(), field.getType(), setter));
+                    }
+                }
+            }
+        } catch (ReflectiveOperationException | IllegalArgumentException exception) {
+            throw new GenericException("Cannot map onto " + type.getName() + ", it must be a record or have a no-args constructor.", exception);
+        }
+    }
+
+    /**
+     * Retrieves the mapper of a type, creating it on first use.
+     *
+     * @param type the record or class to map onto
+     * @param <T> the type to map onto
+     * @return the {@link ConfigMapper}
+     * @throws GenericException if the type cannot be mapped onto
+     * @since 0.2.0
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> @NotNull ConfigMapper<T> of(@NotNull final Class<T> type) {
+        return (ConfigMapper<T>) mappers.get(type);
+    }
+
+    /**
+     * Creates a new instance of the type from a configuration section.
+     *
+     * <p>Paths which do not exist are left at their defaults, which is the value of the field initializer
+     * for plain objects, and zero, false or null for records.
+     *
+     * @param node the configuration section to map
+     * @return the new instance
+     * @throws GenericException if a value cannot be converted, or the instance cannot be created
+     * @since 0.2.0
+     */
+    public @NotNull T map(@NotNull final ConfigurationNode node) {
+        try {
+            if (this.isRecord) {
+                final Object[] arguments = new Object[this.properties.size()];
+
+                for (int index = 0; index < arguments.length; index++) {
+                    final Property property = this.properties.get(index);
+
+                    final Object value = property.read(node);
+
+                    arguments[index] = value == null ? primitives.get(property.rawType()) : value;
+                }
+
+                return this.type.cast((Object) this.constructor.invokeExact(arguments));
+            }
+
+            final Object instance = (Object) this.constructor.invokeExact();
+
+            for (final Property property : this.properties) {
+                final Object value = property.read(node);
+
+                // keeps the value of the field initializer.
+                if (value == null) continue;
+
+                property.setter().invokeExact(instance, value);
+            }
+
+            return this.type.cast(instance);
+        } catch (SerializationException exception) {
+            throw new GenericException("Cannot map " + node.path() + " onto " + this.type.getName(), exception);
+        } catch (GenericException exception) {
+            throw exception;
+        } catch (Error error) {
+            throw error;
+        } catch (Throwable throwable) {
+            // errors are rethrown above, so anything left is an exception.
+            throw new GenericException("Cannot create an instance of " + this.type.getName(), (Exception) throwable);
+        }
+    }
+
+    /**
+     * Gets the type this mapper maps onto.
+     *
+     * @return the type
+     * @since 0.2.0
+     */
+    public @NotNull Class<T> getType() {
+        return this.type;
+    }
+
+    private static String getName(final Field field) {
+        final Setting setting = field.getAnnotation(Setting.class);
+
+        return setting != null && !setting.value().isEmpty() ? setting.value() : field.getName();
+    }
+
+    private record Property(String name, Type genericType, Class<?> rawType, @Nullable MethodHandle setter) {
+
+        private @Nullable Object read(final ConfigurationNode parent) throws SerializationException {
+            final ConfigurationNode node = parent.node(this.name);
+
+            if (node.virtual()) return null;
+
+            // nested records get their own mapper, anything else is left to the serializers configurate knows about.
+            final Object value = this.rawType.isRecord() ? of(this.rawType).map(node) : node.get(this.genericType);
+
+            // the instance is shared between threads, so it cannot hold mutable lists.
+            if (value instanceof List<?> list && this.rawType == List.class) {
+                return List.copyOf(list);
+            }
+
+            return value;
+        }
+    }
+}
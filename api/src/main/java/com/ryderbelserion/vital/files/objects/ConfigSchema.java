@@ -0,0 +1,322 @@
+package com.ryderbelserion.vital.files.objects;
+
+import com.ryderbelserion.vital.VitalProvider;
+import com.ryderbelserion.vital.api.exceptions.GenericException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.spongepowered.configurate.CommentedConfigurationNode;
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.transformation.ConfigurationTransformation;
+import org.spongepowered.configurate.yaml.YamlConfigurationLoader;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Describes what a configuration should contain, so a file is brought up to date once when it loads.
+ *
+ * <p>A load first runs every migration newer than the version stored in the file, then fills in the values and lists
+ * of the defaults which the file is missing, inside the sections the file already has. Paths the file already has are never touched.
+ *
+ * <p>A section the file is missing is only copied as a whole below a path opted in through {@link #copySections(Object...)},
+ * as a section the user deleted on purpose, such as a removed crate or prize, would otherwise come back on every load.
+ * The default passed to a getter stays the fallback for everything which is not filled in.
+ *
+ * <p>The defaults are parsed once, the first time they are needed, and shared by every file using the schema.
+ *
+ * @author Ryder Belserion
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public final class ConfigSchema {
+
+    private final NavigableMap<Integer, ConfigurationTransformation> migrations = new TreeMap<>();
+
+    // the paths below which a missing section is copied as a whole, with every key as a string.
+    private final List<List<String>> sections = new CopyOnWriteArrayList<>();
+
+    private final String resource;
+
+    private volatile CommentedConfigurationNode defaults;
+
+    private volatile ConfigurationTransformation.Versioned transformation;
+
+    private volatile Object[] versionKey = new Object[] {"config-version"};
+
+    private ConfigSchema(@Nullable final String resource, @Nullable final CommentedConfigurationNode defaults) {
+        this.resource = resource;
+        this.defaults = defaults;
+    }
+
+    /**
+     * Creates a schema whose defaults are the bundled copy of a file.
+     *
+     * @param resource the path of the resource in the jar, which is parsed as YAML, so JSON resources work as well
+     * @return the {@link ConfigSchema}
+     * @since 0.2.0
+     */
+    public static @NotNull ConfigSchema of(@NotNull final String resource) {
+        return new ConfigSchema(resource.replace('\\', '/'), null);
+    }
+
+    /**
+     * Creates a schema from an already built tree of defaults.
+     *
+     * @param defaults the root node of the defaults
+     * @return the {@link ConfigSchema}
+     * @since 0.2.0
+     */
+    public static @NotNull ConfigSchema of(@NotNull final CommentedConfigurationNode defaults) {
+        return new ConfigSchema(null, defaults);
+    }
+
+    /**
+     * Creates a schema without defaults, which only runs migrations.
+     *
+     * @return the {@link ConfigSchema}
+     * @since 0.2.0
+     */
+    public static @NotNull ConfigSchema empty() {
+        return new ConfigSchema(null, CommentedConfigurationNode.root());
+    }
+
+    /**
+     * Sets the path the version of a file is stored at, which is {@code config-version} by default.
+     *
+     * @param path the path to the version
+     * @return {@link ConfigSchema}
+     * @since 0.2.0
+     */
+    public synchronized @NotNull ConfigSchema setVersionKey(@NotNull final Object... path) {
+        this.versionKey = path.clone();
+        this.transformation = null;
+
+        return this;
+    }
+
+    /**
+     * Gets the path the version of a file is stored at.
+     *
+     * @return a copy of the path to the version
+     * @since 0.2.0
+     */
+    public @NotNull Object[] getVersionKey() {
+        return this.versionKey.clone();
+    }
+
+    /**
+     * Opts a path in to having missing sections copied as a whole from the defaults.
+     *
+     * <p>The section at the path itself is copied if the file is missing it, and so is every missing section below it.
+     * Calling this without a path copies every missing section of the file.
+     *
+     * @param path the path to the section
+     * @return {@link ConfigSchema}
+     * @since 0.2.0
+     */
+    public @NotNull ConfigSchema copySections(@NotNull final Object... path) {
+        this.sections.add(toKeys(path));
+
+        return this;
+    }
+
+    /**
+     * Checks if a section the file is missing at the given path is copied as a whole from the defaults.
+     *
+     * @param path the path to the section
+     * @return true if the path is at or below a path opted in through {@link #copySections(Object...)}
+     * @since 0.2.0
+     */
+    public boolean isSectionCopied(@NotNull final Object... path) {
+        final List<String> keys = toKeys(path);
+
+        for (final List<String> section : this.sections) {
+            if (section.size() <= keys.size() && section.equals(keys.subList(0, section.size()))) return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Adds a migration, which runs on every file whose version is older than the given version.
+     *
+     * <p>Migrations run in the order of their version, and the version of the file is set to the newest one afterward.
+     * A file without a version is treated as older than every migration.
+     *
+     * @param version the version the migration upgrades a file to
+     * @param transformation the {@link ConfigurationTransformation} which moves or rewrites paths
+     * @return {@link ConfigSchema}
+     * @since 0.2.0
+     */
+    public synchronized @NotNull ConfigSchema addMigration(final int version, @NotNull final ConfigurationTransformation transformation) {
+        this.migrations.put(version, transformation);
+        this.transformation = null;
+
+        return this;
+    }
+
+    /**
+     * Gets the newest version a migration upgrades a file to.
+     *
+     * @return the newest version, or -1 if there are no migrations
+     * @since 0.2.0
+     */
+    public synchronized int getLatestVersion() {
+        return this.migrations.isEmpty() ? -1 : this.migrations.lastKey();
+    }
+
+    /**
+     * Gets the path of the bundled resource the defaults are parsed from.
+     *
+     * @return the path of the resource in the jar, or null if the defaults were given as a tree
+     * @since 0.2.0
+     */
+    public @Nullable String getResource() {
+        return this.resource;
+    }
+
+    /**
+     * Gets the defaults, parsing the bundled resource on first use.
+     *
+     * @return the root node of the defaults
+     * @throws GenericException if the resource is missing, or cannot be parsed
+     * @since 0.2.0
+     */
+    public @NotNull CommentedConfigurationNode getDefaults() {
+        CommentedConfigurationNode defaults = this.defaults;
+
+        if (defaults != null) return defaults;
+
+        synchronized (this) {
+            if (this.defaults != null) return this.defaults;
+
+            try (final InputStream stream = VitalProvider.get().getResource(this.resource)) {
+                if (stream == null) {
+                    throw new GenericException("The embedded resource '" + this.resource + "' cannot be found.");
+                }
+
+                defaults = YamlConfigurationLoader.builder().source(() -> new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))).build().load();
+            } catch (IOException exception) {
+                throw new GenericException("Cannot parse the embedded resource '" + this.resource + "'", exception);
+            }
+
+            this.defaults = defaults;
+
+            return defaults;
+        }
+    }
+
+    /**
+     * Brings a freshly loaded tree up to date, by running the pending migrations and then filling in missing defaults.
+     *
+     * @param node the root node of the file
+     * @return true if anything changed, meaning the file should be written back
+     * @throws ConfigurateException if a migration failed
+     * @throws GenericException if the defaults cannot be loaded
+     * @since 0.2.0
+     */
+    public boolean apply(@NotNull final CommentedConfigurationNode node) throws ConfigurateException {
+        // migrations run before the defaults are merged, as the defaults carry the newest version.
+        final boolean migrated = migrate(node);
+
+        return merge(node, getDefaults(), new ArrayList<>()) | migrated;
+    }
+
+    /**
+     * Runs the migrations newer than the version stored in a tree, without filling in defaults.
+     *
+     * @param node the root node of the file
+     * @return true if any migration ran
+     * @throws ConfigurateException if a migration failed
+     * @since 0.2.0
+     */
+    public boolean migrate(@NotNull final CommentedConfigurationNode node) throws ConfigurateException {
+        final ConfigurationTransformation.Versioned transformation = getTransformation();
+
+        if (transformation == null || node.node(this.versionKey).getInt(-1) >= getLatestVersion()) return false;
+
+        // also stores the newest version in the file.
+        transformation.apply(node);
+
+        return true;
+    }
+
+    /**
+     * Builds the versioned transformation of every migration, once after they changed.
+     *
+     * @return the {@link ConfigurationTransformation.Versioned}, or null if there are no migrations
+     * @since 0.2.0
+     */
+    private synchronized @Nullable ConfigurationTransformation.Versioned getTransformation() {
+        if (this.migrations.isEmpty()) return null;
+
+        if (this.transformation == null) {
+            final ConfigurationTransformation.VersionedBuilder builder = ConfigurationTransformation.versionedBuilder().versionKey(this.versionKey);
+
+            this.migrations.forEach(builder::addVersion);
+
+            this.transformation = builder.build();
+        }
+
+        return this.transformation;
+    }
+
+    /**
+     * Copies the values and lists of the defaults which are missing from a section, recursing into sections both of them have.
+     *
+     * <p>A missing section is only copied if its path is opted in through {@link #copySections(Object...)}.
+     *
+     * @param target the section to fill in
+     * @param defaults the node of the defaults at the same path
+     * @param path the keys leading to the section, which is used as a stack
+     * @return true if anything was copied
+     * @since 0.2.0
+     */
+    private boolean merge(final CommentedConfigurationNode target, final CommentedConfigurationNode defaults, final List<Object> path) {
+        if (!defaults.isMap()) return false;
+
+        // the root of an empty file has no value yet, every other path has to already be a section.
+        if (!target.isMap() && !(path.isEmpty() && target.raw() == null)) return false;
+
+        boolean changed = false;
+
+        for (final Map.Entry<Object, CommentedConfigurationNode> entry : defaults.childrenMap().entrySet()) {
+            final CommentedConfigurationNode child = target.node(entry.getKey());
+            final CommentedConfigurationNode value = entry.getValue();
+
+            path.add(entry.getKey());
+
+            if (!child.virtual()) {
+                changed |= merge(child, value, path);
+            } else if (!value.isMap() || isSectionCopied(path.toArray())) {
+                child.from(value);
+
+                changed = true;
+            }
+
+            path.removeLast();
+        }
+
+        return changed;
+    }
+
+    /**
+     * Converts a path to its keys as strings, so paths from a node tree and from a Bukkit section compare equal.
+     *
+     * @param path the path
+     * @return the keys
+     * @since 0.2.0
+     */
+    private static List<String> toKeys(final Object... path) {
+        return Arrays.stream(path).map(String::valueOf).toList();
+    }
+}
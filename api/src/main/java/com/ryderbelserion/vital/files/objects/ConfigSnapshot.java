@@ -0,0 +1,264 @@
+package com.ryderbelserion.vital.files.objects;
+
+import com.ryderbelserion.vital.files.lazy.LazySections;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.spongepowered.configurate.CommentedConfigurationNode;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * The result of a single load of a configuration.
+ *
+ * <p>A snapshot is created once the node tree has been fully loaded, and is swapped in as a whole,
+ * so threads reading from it never see a half loaded tree. It also holds the resolved values
+ * of every {@link ConfigKey}, which are filled in lazily without locking.
+ *
+ * <p>Setting a value never changes the tree of a published snapshot, a changed copy is published as a new snapshot instead.
+ * The tree is not immutable though, changes made directly to {@link #getNode()} are seen by readers which have not
+ * resolved the value yet, so such changes are only safe from a single thread.
+ *
+ * <p>A snapshot can also be built from a supplier, in which case the tree is only built once it is first read.
+ * A snapshot can also be backed by {@link LazySections}, in which case a top level section
+ * is only parsed once something inside it is read. Such a snapshot is closed once it is replaced,
+ * so it should not be held onto, as a section which was not parsed by then can no longer be read.
+ *
+ * @author Ryder Belserion
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public final class ConfigSnapshot {
+
+    /**
+     * A snapshot without a configuration, used before the first load or when loading failed.
+     */
+    public static final ConfigSnapshot EMPTY = new ConfigSnapshot((CommentedConfigurationNode) null);
+
+    private final Map<List<Object>, Object> mapped = new ConcurrentHashMap<>();
+    private final KeyIndex index;
+    private final Supplier<CommentedConfigurationNode> supplier;
+    private final LazySections sections;
+
+    // only null while a tree from the supplier was not built yet, or if nothing was loaded.
+    private volatile CommentedConfigurationNode node;
+
+    // grown once a key gets a slot after this snapshot was created.
+    private volatile AtomicReferenceArray<Object> values;
+
+    private ConfigSnapshot(final KeyIndex index, final CommentedConfigurationNode node, final Supplier<CommentedConfigurationNode> supplier, final LazySections sections) {
+        this.values = new AtomicReferenceArray<>(index.size());
+        this.index = index;
+        this.supplier = supplier;
+        this.sections = sections;
+        this.node = node;
+    }
+
+    /**
+     * Constructs a new {@link ConfigSnapshot} instance, with slots of its own.
+     *
+     * @param node the fully loaded root node, or null if nothing was loaded
+     * @since 0.2.0
+     */
+    public ConfigSnapshot(@Nullable final CommentedConfigurationNode node) {
+        this(new KeyIndex(), node);
+    }
+
+    /**
+     * Constructs a new {@link ConfigSnapshot} instance.
+     *
+     * @param index the slots shared by every snapshot of the file
+     * @param node the fully loaded root node, or null if nothing was loaded
+     * @since 0.2.0
+     */
+    public ConfigSnapshot(@NotNull final KeyIndex index, @Nullable final CommentedConfigurationNode node) {
+        this(index, node, null, null);
+    }
+
+    /**
+     * Constructs a new {@link ConfigSnapshot} instance, whose tree is only built once it is first read.
+     *
+     * @param index the slots shared by every snapshot of the file
+     * @param supplier the supplier building the root node, which is called at most once
+     * @since 0.2.0
+     */
+    public ConfigSnapshot(@NotNull final KeyIndex index, @NotNull final Supplier<CommentedConfigurationNode> supplier) {
+        this(index, null, supplier, null);
+    }
+
+    /**
+     * Constructs a new {@link ConfigSnapshot} instance, whose sections are parsed on first access.
+     *
+     * @param index the slots shared by every snapshot of the file
+     * @param sections the {@link LazySections} of the file
+     * @since 0.2.0
+     */
+    public ConfigSnapshot(@NotNull final KeyIndex index, @NotNull final LazySections sections) {
+        this(index, sections.getRoot(), null, sections);
+    }
+
+    /**
+     * Retrieves the value of a precompiled key, resolving it on first access.
+     *
+     * @param key the {@link ConfigKey} to retrieve
+     * @param <V> the type of the value
+     * @return the value, or the default value of the key if not found
+     * @since 0.2.0
+     */
+    @SuppressWarnings("unchecked")
+    public <V> @NotNull V get(@NotNull final ConfigKey<V> key) {
+        if (!isLoaded()) return key.getDefaultValue();
+
+        final int slot = this.index.slot(key);
+
+        AtomicReferenceArray<Object> values = this.values;
+
+        // the key was first read from the file after this snapshot was created.
+        if (slot >= values.length()) values = grow(slot);
+
+        final Object value = values.get(slot);
+
+        if (value != null) return (V) value;
+
+        load(key.getPath());
+
+        final V resolved = key.resolve(node());
+
+        // if another thread got there first, use its value so every reader sees the same instance.
+        return values.compareAndSet(slot, null, resolved) ? resolved : (V) values.get(slot);
+    }
+
+    /**
+     * Grows the value table, so it has room for every slot handed out so far.
+     *
+     * <p>A value stored in the old table while it is copied is lost, and is only resolved again on its next read.
+     *
+     * @param slot the slot which needs to fit
+     * @return the table which fits the slot
+     * @since 0.2.0
+     */
+    private synchronized AtomicReferenceArray<Object> grow(final int slot) {
+        final AtomicReferenceArray<Object> values = this.values;
+
+        if (slot < values.length()) return values;
+
+        final AtomicReferenceArray<Object> grown = new AtomicReferenceArray<>(Math.max(slot + 1, this.index.size()));
+
+        for (int index = 0; index < values.length(); index++) {
+            grown.set(index, values.get(index));
+        }
+
+        this.values = grown;
+
+        return grown;
+    }
+
+    /**
+     * Retrieves a configuration section mapped onto a type, mapping it on first access.
+     *
+     * <p>The instance is kept for as long as this snapshot is, so it is only rebuilt once the file reloads.
+     *
+     * @param mapper the {@link ConfigMapper} of the type
+     * @param path the path to the section, or nothing for the root
+     * @param <V> the type to map onto
+     * @return the mapped instance
+     * @since 0.2.0
+     */
+    @SuppressWarnings("unchecked")
+    public <V> @NotNull V map(@NotNull final ConfigMapper<V> mapper, @NotNull final Object... path) {
+        return (V) this.mapped.computeIfAbsent(List.of(mapper, List.of(path)), ignored -> {
+            // an unloaded snapshot maps onto the defaults of the type.
+            final CommentedConfigurationNode root = isLoaded() ? node() : CommentedConfigurationNode.root();
+
+            load(path);
+
+            return mapper.map(root.node(path));
+        });
+    }
+
+    /**
+     * Gets the root node of this snapshot, parsing every section which was not parsed yet.
+     *
+     * @return the root node, or null if nothing was loaded
+     * @since 0.2.0
+     */
+    public @Nullable CommentedConfigurationNode getNode() {
+        if (this.sections != null) this.sections.loadAll();
+
+        return node();
+    }
+
+    /**
+     * Gets the node at a path, only parsing the section the path is in.
+     *
+     * @param path the path to the node
+     * @return the node, which is virtual if the path does not exist or nothing was loaded
+     * @since 0.2.0
+     */
+    public @NotNull CommentedConfigurationNode getNode(@NotNull final Object... path) {
+        if (!isLoaded()) return CommentedConfigurationNode.root().node(path);
+
+        load(path);
+
+        return node().node(path);
+    }
+
+    /**
+     * Gets the sections backing this snapshot.
+     *
+     * @return the {@link LazySections}, or null if the whole tree was parsed up front
+     * @since 0.2.0
+     */
+    public @Nullable LazySections getSections() {
+        return this.sections;
+    }
+
+    /**
+     * Checks if this snapshot holds a configuration.
+     *
+     * @return true if a configuration was loaded
+     * @since 0.2.0
+     */
+    public boolean isLoaded() {
+        return this.supplier != null || this.node != null;
+    }
+
+    /**
+     * Releases the file behind the sections which were not parsed yet, if this snapshot is backed by {@link LazySections}.
+     *
+     * @since 0.2.0
+     */
+    public void close() {
+        if (this.sections != null) this.sections.close();
+    }
+
+    /**
+     * Gets the root node, building it from the supplier on first access.
+     *
+     * @return the root node, or null if nothing was loaded
+     * @since 0.2.0
+     */
+    private @Nullable CommentedConfigurationNode node() {
+        CommentedConfigurationNode node = this.node;
+
+        if (node != null || this.supplier == null) return node;
+
+        synchronized (this) {
+            node = this.node;
+
+            if (node == null) {
+                node = this.supplier.get();
+
+                this.node = node;
+            }
+        }
+
+        return node;
+    }
+
+    private void load(final Object[] path) {
+        if (this.sections != null) this.sections.load(path);
+    }
+}
@@ -0,0 +1,102 @@
+package com.ryderbelserion.vital.files.objects;
+
+import org.jetbrains.annotations.NotNull;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.zip.CRC32C;
+
+/**
+ * A fingerprint of a file on disk, as it was when it was last loaded or saved.
+ *
+ * <p>Only the last modified time and size are recorded by default, the contents are only hashed when a checksum is asked for,
+ * so taking a fingerprint does not read the file.
+ *
+ * @param lastModified the last modified time in milliseconds
+ * @param size the size of the file in bytes
+ * @param hash the crc32c checksum of the contents, or {@code -1} if it was not computed or could not be read
+ *
+ * @author Ryder Belserion
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public record FileFingerprint(long lastModified, long size, long hash) {
+
+    /**
+     * A fingerprint which never matches a file on disk.
+     */
+    public static final FileFingerprint EMPTY = new FileFingerprint(-1, -1, -1);
+
+    /**
+     * Takes a fingerprint of the metadata of the file, without reading it.
+     *
+     * @param file the file
+     * @return the fingerprint, or {@link #EMPTY} if the file does not exist
+     * @since 0.2.0
+     */
+    public static @NotNull FileFingerprint of(@NotNull final File file) {
+        return of(file, false);
+    }
+
+    /**
+     * Takes a fingerprint of the file, optionally hashing its contents.
+     *
+     * @param file the file
+     * @param checksum whether to hash the contents, which reads the whole file
+     * @return the fingerprint, or {@link #EMPTY} if the file does not exist
+     * @since 0.2.0
+     */
+    public static @NotNull FileFingerprint of(@NotNull final File file, final boolean checksum) {
+        if (!file.isFile()) return EMPTY;
+
+        return new FileFingerprint(file.lastModified(), file.length(), checksum ? checksum(file) : -1);
+    }
+
+    /**
+     * Checks if the metadata of the file still matches this fingerprint.
+     *
+     * @param file the file
+     * @return true if the last modified time and size are unchanged
+     * @since 0.2.0
+     */
+    public boolean matches(@NotNull final File file) {
+        return this != EMPTY && this.lastModified == file.lastModified() && this.size == file.length();
+    }
+
+    /**
+     * Checks if the contents of the file still match this fingerprint, even if the metadata does not.
+     *
+     * @param file the file
+     * @return true if the checksum of the contents is unchanged, always false if this fingerprint has no checksum
+     * @since 0.2.0
+     */
+    public boolean matchesContent(@NotNull final File file) {
+        return this.hash != -1 && this.size == file.length() && this.hash == checksum(file);
+    }
+
+    /**
+     * Calculates the crc32c checksum of a file.
+     *
+     * @param file the file
+     * @return the checksum, or {@code -1} if the file could not be read
+     * @since 0.2.0
+     */
+    public static long checksum(@NotNull final File file) {
+        final CRC32C crc = new CRC32C();
+
+        try (final InputStream stream = Files.newInputStream(file.toPath())) {
+            final byte[] buffer = new byte[8192];
+
+            int length;
+
+            while ((length = stream.read(buffer)) != -1) {
+                crc.update(buffer, 0, length);
+            }
+        } catch (IOException exception) {
+            return -1;
+        }
+
+        return crc.getValue();
+    }
+}
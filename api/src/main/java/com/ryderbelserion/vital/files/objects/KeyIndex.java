@@ -0,0 +1,48 @@
+package com.ryderbelserion.vital.files.objects;
+
+import org.jetbrains.annotations.NotNull;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The slots of the {@link ConfigKey}s read from a single file, which every snapshot of the file shares.
+ *
+ * <p>A key only gets a slot the first time it is read from the file, so the value table of a snapshot
+ * is only as large as the amount of keys the file is read with, no matter how many keys other files use.
+ *
+ * @author Ryder Belserion
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public final class KeyIndex {
+
+    private final Map<ConfigKey<?>, Integer> slots = new ConcurrentHashMap<>();
+
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * Gets the slot of a key, giving it the next free slot on first use.
+     *
+     * @param key the {@link ConfigKey}
+     * @return the slot
+     * @since 0.2.0
+     */
+    public int slot(@NotNull final ConfigKey<?> key) {
+        final Integer slot = this.slots.get(key);
+
+        if (slot != null) return slot;
+
+        return this.slots.computeIfAbsent(key, ignored -> this.size.getAndIncrement());
+    }
+
+    /**
+     * Gets the amount of slots handed out, which is the size a value table needs to be.
+     *
+     * @return the amount of slots
+     * @since 0.2.0
+     */
+    public int size() {
+        return this.size.get();
+    }
+}
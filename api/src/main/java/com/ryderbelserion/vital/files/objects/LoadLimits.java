@@ -0,0 +1,256 @@
+package com.ryderbelserion.vital.files.objects;
+
+import com.ryderbelserion.vital.api.exceptions.GenericException;
+import org.jetbrains.annotations.NotNull;
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+/**
+ * The limits a file has to stay within before it is parsed, so a malformed or huge file is rejected quickly
+ * instead of hanging the thread that loads it.
+ *
+ * <p>The size is checked against the file on disk, while the depth and the amount of aliases are counted
+ * by a single pass over the raw bytes, which never builds a tree. A limit of 0 or less is not checked.
+ *
+ * @param maxBytes the largest size in bytes a file may have
+ * @param maxDepth the deepest a file may nest sections, lists and flow collections
+ * @param maxAliases the most aliases a YAML file may use, which keeps an alias bomb from expanding
+ * @param timeout the longest time in milliseconds parsing may take, before the load is given up on
+ *
+ * @author Ryder Belserion
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public record LoadLimits(long maxBytes, int maxDepth, int maxAliases, long timeout) {
+
+    /**
+     * Limits which never reject a file.
+     */
+    public static final LoadLimits NONE = new LoadLimits(0, 0, 0, 0);
+
+    /**
+     * Checks if any of the limits requires scanning the contents of a file.
+     *
+     * @return true if the depth or the amount of aliases is limited
+     * @since 0.2.0
+     */
+    public boolean isScanned() {
+        return this.maxDepth > 0 || this.maxAliases > 0;
+    }
+
+    /**
+     * Checks the size of a file.
+     *
+     * @param file the file
+     * @throws GenericException if the file is larger than allowed
+     * @since 0.2.0
+     */
+    public void checkSize(@NotNull final File file) {
+        if (this.maxBytes <= 0) return;
+
+        final long size = file.length();
+
+        if (size > this.maxBytes) {
+            throw new GenericException(file.getName() + " is " + size + " bytes, which is more than the limit of " + this.maxBytes + " bytes.");
+        }
+    }
+
+    /**
+     * Scans a file for its depth, and the amount of aliases it uses.
+     *
+     * <p>YAML files are measured by their indentation, their list items and their flow collections,
+     * while every other format is measured by its brackets only. Comments, quoted strings and block scalars are skipped.
+     * A backslash escapes the next character inside double quotes, while inside YAML single quotes it is literal,
+     * and two single quotes are an escaped quote.
+     *
+     * @param file the file
+     * @param yaml whether the file is YAML
+     * @throws GenericException if the file is nested deeper, or uses more aliases than allowed
+     * @throws IOException if the file could not be read
+     * @since 0.2.0
+     */
+    public void scan(@NotNull final File file, final boolean yaml) throws IOException {
+        if (!isScanned()) return;
+
+        try (final InputStream input = new BufferedInputStream(Files.newInputStream(file.toPath()))) {
+            // the indentation of every open block, the top of the stack is the innermost block.
+            int[] indents = new int[16];
+            int blocks = 0;
+
+            int flow = 0;
+            int aliases = 0;
+
+            // the indentation of the line which opened a block scalar, or -1 if not inside one.
+            int scalar = -1;
+
+            int indent = 0;
+            boolean start = true;
+            boolean comment = false;
+            boolean escaped = false;
+            char quote = 0;
+            int previous = '\n';
+            int last = ' ';
+
+            int read;
+
+            while (true) {
+                read = input.read();
+
+                if (read == '\r') continue;
+
+                if (read == '\n' || read == -1) {
+                    // a value ending with | or > starts a block scalar, whose lines are only text.
+                    if (yaml && !start && scalar < 0 && quote == 0 && (last == '|' || last == '>')) {
+                        scalar = indent;
+                    }
+
+                    if (!yaml) quote = 0;
+
+                    // a backslash at the end of a line escapes the line break, not the next line.
+                    escaped = false;
+
+                    if (read == -1) break;
+
+                    indent = 0;
+                    start = true;
+                    comment = false;
+                    last = ' ';
+                    previous = read;
+
+                    continue;
+                }
+
+                if (start) {
+                    if (read == ' ') {
+                        indent++;
+
+                        continue;
+                    }
+
+                    start = false;
+
+                    if (scalar >= 0 && indent > scalar) {
+                        // still inside the block scalar, the rest of the line is text.
+                        comment = true;
+                    } else {
+                        scalar = -1;
+
+                        if (yaml && read != '#' && flow == 0 && quote == 0) {
+                            while (blocks > 0 && indents[blocks - 1] >= indent) blocks--;
+
+                            if (blocks == indents.length) indents = Arrays.copyOf(indents, blocks * 2);
+
+                            indents[blocks++] = indent;
+
+                            check(file, blocks);
+                        }
+                    }
+                }
+
+                if (comment) continue;
+
+                if (quote != 0) {
+                    if (yaml && quote == '\'') {
+                        // a backslash is only text here, and two quotes in a row are a quote inside the string.
+                        if (read == '\'') {
+                            if (peek(input) == '\'') {
+                                input.read();
+                            } else {
+                                quote = 0;
+                            }
+                        }
+                    } else if (escaped) {
+                        escaped = false;
+                    } else if (read == '\\') {
+                        escaped = true;
+                    } else if (read == quote) {
+                        quote = 0;
+                    }
+
+                    previous = read;
+
+                    continue;
+                }
+
+                final boolean separated = previous == ' ' || previous == '\t' || previous == '\n' || previous == '[' || previous == '{' || previous == ',' || previous == ':';
+
+                switch (read) {
+                    case '#' -> {
+                        if (yaml && (previous == ' ' || previous == '\t' || previous == '\n')) comment = true;
+                    }
+
+                    case '"', '\'' -> {
+                        if (!yaml || separated) quote = (char) read;
+                    }
+
+                    case '[', '{' -> check(file, blocks + ++flow);
+
+                    case ']', '}' -> flow = Math.max(flow - 1, 0);
+
+                    case '*' -> {
+                        if (yaml && separated) {
+                            final int next = peek(input);
+
+                            if (next != ' ' && next != '\t' && next != '\n' && next != '\r' && next != -1 && ++aliases > this.maxAliases && this.maxAliases > 0) {
+                                throw new GenericException(file.getName() + " uses more than " + this.maxAliases + " aliases, which is the limit.");
+                            }
+                        }
+                    }
+
+                    case '-' -> {
+                        // a list item opens a block one level deeper than its dash.
+                        if (yaml && flow == 0 && (previous == ' ' || previous == '\n') && peek(input) == ' ') {
+                            if (blocks == indents.length) indents = Arrays.copyOf(indents, blocks * 2);
+
+                            indents[blocks++] = indent + 1;
+
+                            check(file, blocks);
+                        }
+                    }
+
+                    default -> {}
+                }
+
+                if (read != ' ' && read != '\t') last = read;
+
+                previous = read;
+            }
+        }
+    }
+
+    /**
+     * Checks the depth the scan reached.
+     *
+     * @param file the file being scanned
+     * @param depth the current depth
+     * @throws GenericException if the depth is deeper than allowed
+     * @since 0.2.0
+     */
+    private void check(final File file, final int depth) {
+        if (this.maxDepth > 0 && depth > this.maxDepth) {
+            throw new GenericException(file.getName() + " is nested more than " + this.maxDepth + " levels deep, which is the limit.");
+        }
+    }
+
+    /**
+     * Reads the next byte without consuming it.
+     *
+     * @param input the buffered stream
+     * @return the next byte, or -1 at the end of the stream
+     * @throws IOException if the stream could not be read
+     * @since 0.2.0
+     */
+    private int peek(final InputStream input) throws IOException {
+        input.mark(1);
+
+        final int next = input.read();
+
+        input.reset();
+
+        return next;
+    }
+}
@@ -0,0 +1,41 @@
+package com.ryderbelserion.vital.files.objects;
+
+import java.util.List;
+
+/**
+ * The outcome of reloading the files in a file manager.
+ *
+ * @param reloaded the names of the files that changed on disk and were reloaded
+ * @param skipped the names of the files that were unchanged and skipped
+ * @param removed the names of the files that no longer exist and were removed
+ *
+ * @author Ryder Belserion
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public record ReloadReport(List<String> reloaded, List<String> skipped, List<String> removed) {
+
+    /**
+     * Creates an immutable copy of the report.
+     *
+     * @param reloaded the names of the files that changed on disk and were reloaded
+     * @param skipped the names of the files that were unchanged and skipped
+     * @param removed the names of the files that no longer exist and were removed
+     * @since 0.2.0
+     */
+    public ReloadReport {
+        reloaded = List.copyOf(reloaded);
+        skipped = List.copyOf(skipped);
+        removed = List.copyOf(removed);
+    }
+
+    /**
+     * Checks if anything was reloaded or removed.
+     *
+     * @return true if any file changed
+     * @since 0.2.0
+     */
+    public boolean hasChanges() {
+        return !this.reloaded.isEmpty() || !this.removed.isEmpty();
+    }
+}
@@ -0,0 +1,356 @@
+package com.ryderbelserion.vital.files.types;
+
+import com.ryderbelserion.vital.api.exceptions.GenericException;
+import com.ryderbelserion.vital.files.CustomFile;
+import com.ryderbelserion.vital.files.cache.BinaryCache;
+import com.ryderbelserion.vital.files.enums.FileType;
+import com.ryderbelserion.vital.files.lazy.MappedContent;
+import com.ryderbelserion.vital.utils.Methods;
+import org.spongepowered.configurate.CommentedConfigurationNode;
+import org.spongepowered.configurate.serialize.SerializationException;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Represents a custom binary file.
+ *
+ * <p>The node tree is stored in the same length-prefixed format as the {@link BinaryCache},
+ * so loading it is a straight read without any text parsing. This suits large data files
+ * which are only ever read and written by the plugin itself.
+ *
+ * @author Ryder Belserion
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public class BinaryCustomFile extends CustomFile<BinaryCustomFile> {
+
+    private static final int MAGIC = 0x5654_4C42; // VTLB
+    private static final byte VERSION = 1;
+
+    /**
+     * Constructs a new {@link BinaryCustomFile} instance.
+     *
+     * @param file the file object to be wrapped by this custom binary file
+     * @param isDynamic whether the custom file should be treated as dynamic
+     * @since 0.2.0
+     */
+    public BinaryCustomFile(final File file, final boolean isDynamic) {
+        super(file, isDynamic);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final FileType getFileType() {
+        return FileType.BINARY;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final BinaryCustomFile loadConfiguration() {
+        if (getFile().isDirectory()) {
+            if (this.isVerbose) {
+                this.logger.warn("Cannot load configuration, as {} is a directory.", getFileName());
+            }
+
+            return this;
+        }
+
+        // the contents are not text, so only the size can be checked before decoding.
+        if (!isWithinLimits(false)) return this;
+
+        try {
+            final CommentedConfigurationNode root = getFile().length() > 0 ? withTimeout(this::decode) : CommentedConfigurationNode.root();
+
+            final boolean migrated = migrate(root);
+
+            // the tree is only published once it has been fully loaded, a failed load keeps the last one.
+            publish(root);
+
+            markModified();
+
+            if (migrated) writeBack();
+        } catch (IOException | RuntimeException exception) {
+            this.logger.warn("Cannot load configuration file: {}, the last loaded version is kept.", getFileName(), exception);
+        }
+
+        return this;
+    }
+
+    /**
+     * Decodes the node tree from the file, after checking its header.
+     *
+     * @return the root node
+     * @throws IOException if the file could not be read, or is not a binary configuration file
+     * @since 0.2.0
+     */
+    private CommentedConfigurationNode decode() throws IOException {
+        // a mapped file is read straight from the page cache.
+        final InputStream source = isMapped() ? MappedContent.map(getFile()).stream() : new BufferedInputStream(Files.newInputStream(getFile().toPath()));
+
+        try (final DataInputStream input = new DataInputStream(source)) {
+            if (input.readInt() != MAGIC) {
+                throw new IOException(getFileName() + " is not a binary configuration file.");
+            }
+
+            final byte version = input.readByte();
+
+            if (version != VERSION) {
+                throw new IOException("Unsupported version " + version + " in " + getFileName());
+            }
+
+            return BinaryCache.decode(input);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final BinaryCustomFile saveConfiguration() {
+        saveAsync();
+
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 0.2.0
+     */
+    @Override
+    protected final void writeConfiguration() {
+        if (getFile().isDirectory()) {
+            if (this.isVerbose) {
+                this.logger.warn("Cannot save configuration, as {} is a directory.", getFileName());
+            }
+
+            return;
+        }
+
+        final CommentedConfigurationNode configurationNode = getConfigurationNode();
+
+        if (configurationNode == null) {
+            if (this.isVerbose) {
+                this.logger.error("Configuration is null, cannot save {}!", getFileName());
+            }
+
+            return;
+        }
+
+        try {
+            // written to a temporary file first, so a crash mid save cannot truncate the file.
+            Methods.writeAtomically(getFile().toPath(), stream -> {
+                final DataOutputStream output = new DataOutputStream(stream);
+
+                output.writeInt(MAGIC);
+                output.writeByte(VERSION);
+
+                BinaryCache.encode(output, configurationNode);
+
+                output.flush();
+            });
+
+            markModified();
+        } catch (IOException exception) {
+            throw new GenericException("Cannot save configuration file: " + getFileName(), exception);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param path {@inheritDoc}
+     * @param defaultValue {@inheritDoc}
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final String getStringValueWithDefault(final String defaultValue, final Object... path) {
+        return getSnapshot().getNode(path).getString(defaultValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param path {@inheritDoc}
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final String getStringValue(final Object... path) {
+        return getStringValueWithDefault("", path);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param path {@inheritDoc}
+     * @param defaultValue {@inheritDoc}
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final boolean getBooleanValueWithDefault(final boolean defaultValue, final Object... path) {
+        return getSnapshot().getNode(path).getBoolean(defaultValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param path {@inheritDoc}
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final boolean getBooleanValue(final Object... path) {
+        return getBooleanValueWithDefault(Boolean.FALSE, path);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param path {@inheritDoc}
+     * @param defaultValue {@inheritDoc}
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final double getDoubleValueWithDefault(final double defaultValue, final Object... path) {
+        return getSnapshot().getNode(path).getDouble(defaultValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param path {@inheritDoc}
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final double getDoubleValue(final Object... path) {
+        return getDoubleValueWithDefault(Double.NaN, path);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param path {@inheritDoc}
+     * @param defaultValue {@inheritDoc}
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final long getLongValueWithDefault(final long defaultValue, final Object... path) {
+        return getSnapshot().getNode(path).getLong(defaultValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param path {@inheritDoc}
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final long getLongValue(final Object... path) {
+        return getLongValueWithDefault(Long.MIN_VALUE, path);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param path {@inheritDoc}
+     * @param defaultValue {@inheritDoc}
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final int getIntValueWithDefault(final int defaultValue, final Object... path) {
+        return getSnapshot().getNode(path).getInt(defaultValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param path {@inheritDoc}
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final int getIntValue(final Object... path) {
+        return getIntValueWithDefault(Integer.MIN_VALUE, path);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param path {@inheritDoc}
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final List<String> getStringList(final Object... path) {
+        try {
+            return getSnapshot().getNode(path).getList(String.class);
+        } catch (SerializationException exception) {
+            throw new GenericException("Failed to serialize " + Arrays.toString(path), exception);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final CommentedConfigurationNode getConfigurationNode() {
+        return getSnapshot().getNode();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final CustomFile<BinaryCustomFile> getInstance() {
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final boolean isConfigurationLoaded() {
+        return getSnapshot().isLoaded();
+    }
+}
@@ -0,0 +1,554 @@
+package com.ryderbelserion.vital.files.types;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.ryderbelserion.vital.api.exceptions.GenericException;
+import com.ryderbelserion.vital.files.CustomFile;
+import com.ryderbelserion.vital.files.enums.FileType;
+import com.ryderbelserion.vital.files.lazy.MappedContent;
+import com.ryderbelserion.vital.utils.Methods;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.spongepowered.configurate.CommentedConfigurationNode;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.serialize.SerializationException;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Represents a custom JSON file for configuration.
+ *
+ * <p>This class extends {@link CustomFile} to provide specific functionality
+ * for loading, saving, and manipulating JSON files. The file is streamed token by token
+ * straight into the node tree, and written back the same way, without an intermediate string.
+ *
+ * <p>A node cannot hold null, so a member of an object which is null is remembered by its path instead,
+ * and written back as null as long as nothing was set at that path. A null element of an array is dropped,
+ * the same as the loaders of Configurate do. Objects and arrays may be nested up to {@value #MAX_DEPTH} levels deep.
+ *
+ * @author Ryder Belserion
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public class JsonCustomFile extends CustomFile<JsonCustomFile> {
+
+    // deeper files are rejected, instead of overflowing the stack of the thread loading them.
+    private static final int MAX_DEPTH = 255;
+
+    // the keys of the members which are null, by the path of the object holding them.
+    private volatile Map<List<Object>, Set<String>> nulls = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new {@link JsonCustomFile} instance.
+     *
+     * @param file the file object to be wrapped by this custom JSON file
+     * @param isDynamic whether the custom file should be treated as dynamic
+     * @since 0.2.0
+     */
+    public JsonCustomFile(final File file, final boolean isDynamic) {
+        super(file, isDynamic);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final FileType getFileType() {
+        return FileType.JSON;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final JsonCustomFile loadConfiguration() {
+        if (getFile().isDirectory()) {
+            if (this.isVerbose) {
+                this.logger.warn("Cannot load configuration, as {} is a directory.", getFileName());
+            }
+
+            return this;
+        }
+
+        if (!isWithinLimits(true)) return this;
+
+        final CommentedConfigurationNode root = CommentedConfigurationNode.root();
+
+        final Map<List<Object>, Set<String>> nulls = new ConcurrentHashMap<>();
+
+        try {
+            if (getFile().length() > 0) {
+                withTimeout(() -> {
+                    // a mapped file is streamed straight from the page cache.
+                    final BufferedReader source = isMapped() ? MappedContent.map(getFile()).reader() : Files.newBufferedReader(getFile().toPath(), StandardCharsets.UTF_8);
+
+                    try (final JsonReader reader = new JsonReader(source)) {
+                        read(reader, root, 0, nulls);
+                    }
+
+                    return root;
+                });
+            }
+
+            final boolean migrated = migrate(root);
+
+            // the tree is only published once it has been fully loaded, a failed load keeps the last one.
+            publish(root);
+
+            this.nulls = nulls;
+
+            markModified();
+
+            if (migrated) writeBack();
+        } catch (IOException | RuntimeException exception) {
+            this.logger.warn("Cannot load configuration file: {}, the last loaded version is kept.", getFileName(), exception);
+        }
+
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final JsonCustomFile saveConfiguration() {
+        saveAsync();
+
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 0.2.0
+     */
+    @Override
+    protected final void writeConfiguration() {
+        if (getFile().isDirectory()) {
+            if (this.isVerbose) {
+                this.logger.warn("Cannot save configuration, as {} is a directory.", getFileName());
+            }
+
+            return;
+        }
+
+        final CommentedConfigurationNode configurationNode = getConfigurationNode();
+
+        if (configurationNode == null) {
+            if (this.isVerbose) {
+                this.logger.error("Configuration is null, cannot save {}!", getFileName());
+            }
+
+            return;
+        }
+
+        final Map<List<Object>, Set<String>> nulls = this.nulls;
+
+        try {
+            Methods.writeAtomically(getFile().toPath(), output -> {
+                // the writer is only flushed, the stream is closed once the file is written.
+                final JsonWriter writer = new JsonWriter(new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8)));
+
+                writer.setIndent("  ");
+
+                write(writer, configurationNode, 0, nulls);
+
+                writer.flush();
+            });
+
+            markModified();
+        } catch (IOException exception) {
+            throw new GenericException("Cannot save configuration file: " + getFileName(), exception);
+        }
+    }
+
+    /**
+     * Reads the next value from the stream into the node.
+     *
+     * @param reader the json reader
+     * @param node the node to read into
+     * @param depth how deep the node is nested
+     * @param nulls the members which are null, which this adds to
+     * @throws IOException if the json is malformed, or nested too deep
+     * @since 0.2.0
+     */
+    private void read(final JsonReader reader, final ConfigurationNode node, final int depth, final Map<List<Object>, Set<String>> nulls) throws IOException {
+        final JsonToken token = reader.peek();
+
+        if ((token == JsonToken.BEGIN_OBJECT || token == JsonToken.BEGIN_ARRAY) && depth >= MAX_DEPTH) {
+            throw new IOException("Nested deeper than " + MAX_DEPTH + " levels at " + reader.getPath());
+        }
+
+        switch (token) {
+            case BEGIN_OBJECT -> {
+                reader.beginObject();
+
+                // an empty object should still be a map.
+                node.raw(Collections.emptyMap());
+
+                while (reader.hasNext()) {
+                    final String name = reader.nextName();
+
+                    if (reader.peek() == JsonToken.NULL) {
+                        reader.nextNull();
+
+                        nulls.computeIfAbsent(List.of(node.path().array()), key -> ConcurrentHashMap.newKeySet()).add(name);
+
+                        continue;
+                    }
+
+                    read(reader, node.node(name), depth + 1, nulls);
+                }
+
+                reader.endObject();
+            }
+
+            case BEGIN_ARRAY -> {
+                reader.beginArray();
+
+                // an empty array should still be a list.
+                node.raw(Collections.emptyList());
+
+                while (reader.hasNext()) {
+                    read(reader, node.appendListNode(), depth + 1, nulls);
+                }
+
+                reader.endArray();
+            }
+
+            case STRING -> node.raw(reader.nextString());
+
+            case NUMBER -> node.raw(toNumber(reader.nextString()));
+
+            case BOOLEAN -> node.raw(reader.nextBoolean());
+
+            // a null element of an array is dropped, as the node appended for it is left empty.
+            case NULL -> reader.nextNull();
+
+            default -> throw new IOException("Unexpected token " + token + " at " + reader.getPath());
+        }
+    }
+
+    /**
+     * Writes the node to the stream.
+     *
+     * @param writer the json writer
+     * @param node the node to write
+     * @param depth how deep the node is nested
+     * @param nulls the members which are null
+     * @throws IOException if the node could not be written, or is nested too deep
+     * @since 0.2.0
+     */
+    private void write(final JsonWriter writer, final ConfigurationNode node, final int depth, final Map<List<Object>, Set<String>> nulls) throws IOException {
+        if ((node.isMap() || node.isList()) && depth >= MAX_DEPTH) {
+            throw new IOException("Nested deeper than " + MAX_DEPTH + " levels at " + node.path());
+        }
+
+        if (node.isMap()) {
+            writer.beginObject();
+
+            final Map<Object, ? extends ConfigurationNode> children = node.childrenMap();
+
+            for (final Map.Entry<Object, ? extends ConfigurationNode> entry : children.entrySet()) {
+                writer.name(String.valueOf(entry.getKey()));
+
+                write(writer, entry.getValue(), depth + 1, nulls);
+            }
+
+            final Set<String> keys = nulls.get(List.of(node.path().array()));
+
+            if (keys != null) {
+                for (final String key : keys) {
+                    // a value set at the path since replaces the null.
+                    if (children.containsKey(key)) continue;
+
+                    writer.name(key);
+                    writer.nullValue();
+                }
+            }
+
+            writer.endObject();
+
+            return;
+        }
+
+        if (node.isList()) {
+            writer.beginArray();
+
+            for (final ConfigurationNode child : node.childrenList()) {
+                write(writer, child, depth + 1, nulls);
+            }
+
+            writer.endArray();
+
+            return;
+        }
+
+        final Object value = node.rawScalar();
+
+        if (value == null) {
+            writer.nullValue();
+        } else if (value instanceof Boolean bool) {
+            writer.value(bool);
+        } else if (value instanceof Number number) {
+            writer.value(number);
+        } else {
+            writer.value(String.valueOf(value));
+        }
+    }
+
+    /**
+     * Converts a json number to the smallest fitting type, so the typed getters behave like they do for yaml.
+     *
+     * @param value the number as a string
+     * @return the number
+     * @since 0.2.0
+     */
+    private Number toNumber(final String value) {
+        if (value.indexOf('.') == -1 && value.indexOf('e') == -1 && value.indexOf('E') == -1) {
+            try {
+                final long number = Long.parseLong(value);
+
+                return number == (int) number ? (Number) (int) number : (Number) number;
+            } catch (NumberFormatException ignored) {
+                // too large for a long, kept exact instead of losing digits to a double.
+                return new BigInteger(value);
+            }
+        }
+
+        final double number = Double.parseDouble(value);
+
+        // too large for a double, kept exact instead of turning into infinity.
+        return Double.isInfinite(number) ? new BigDecimal(value) : number;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>A member which was null in the file, at the path or below it, is no longer written back as null.
+     *
+     * @param value {@inheritDoc}
+     * @param path {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public void setValue(@Nullable final Object value, @NotNull final Object... path) {
+        super.setValue(value, path);
+
+        if (path.length == 0) {
+            this.nulls.clear();
+
+            return;
+        }
+
+        final List<Object> target = List.of(path);
+
+        // every null below the path was replaced along with it.
+        this.nulls.keySet().removeIf(parent -> parent.size() >= target.size() && parent.subList(0, target.size()).equals(target));
+
+        final Set<String> keys = this.nulls.get(target.subList(0, target.size() - 1));
+
+        if (keys != null) keys.remove(String.valueOf(path[path.length - 1]));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param path {@inheritDoc}
+     * @param defaultValue {@inheritDoc}
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final String getStringValueWithDefault(final String defaultValue, final Object... path) {
+        return getSnapshot().getNode(path).getString(defaultValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param path {@inheritDoc}
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final String getStringValue(final Object... path) {
+        return getStringValueWithDefault("", path);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param path {@inheritDoc}
+     * @param defaultValue {@inheritDoc}
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final boolean getBooleanValueWithDefault(final boolean defaultValue, final Object... path) {
+        return getSnapshot().getNode(path).getBoolean(defaultValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param path {@inheritDoc}
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final boolean getBooleanValue(final Object... path) {
+        return getBooleanValueWithDefault(Boolean.FALSE, path);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param path {@inheritDoc}
+     * @param defaultValue {@inheritDoc}
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final double getDoubleValueWithDefault(final double defaultValue, final Object... path) {
+        return getSnapshot().getNode(path).getDouble(defaultValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param path {@inheritDoc}
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final double getDoubleValue(final Object... path) {
+        return getDoubleValueWithDefault(Double.NaN, path);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param path {@inheritDoc}
+     * @param defaultValue {@inheritDoc}
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final long getLongValueWithDefault(final long defaultValue, final Object... path) {
+        return getSnapshot().getNode(path).getLong(defaultValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param path {@inheritDoc}
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final long getLongValue(final Object... path) {
+        return getLongValueWithDefault(Long.MIN_VALUE, path);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param path {@inheritDoc}
+     * @param defaultValue {@inheritDoc}
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final int getIntValueWithDefault(final int defaultValue, final Object... path) {
+        return getSnapshot().getNode(path).getInt(defaultValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param path {@inheritDoc}
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final int getIntValue(final Object... path) {
+        return getIntValueWithDefault(Integer.MIN_VALUE, path);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param path {@inheritDoc}
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final List<String> getStringList(final Object... path) {
+        try {
+            return getSnapshot().getNode(path).getList(String.class);
+        } catch (SerializationException exception) {
+            throw new GenericException("Failed to serialize " + Arrays.toString(path), exception);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final CommentedConfigurationNode getConfigurationNode() {
+        return getSnapshot().getNode();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final CustomFile<JsonCustomFile> getInstance() {
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final boolean isConfigurationLoaded() {
+        return getSnapshot().isLoaded();
+    }
+}
\ No newline at end of file
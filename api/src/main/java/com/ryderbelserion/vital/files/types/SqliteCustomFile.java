@@ -0,0 +1,990 @@
+package com.ryderbelserion.vital.files.types;
+
+import com.google.gson.Gson;
+import com.ryderbelserion.vital.api.exceptions.GenericException;
+import com.ryderbelserion.vital.files.CustomFile;
+import com.ryderbelserion.vital.files.enums.FileType;
+import com.ryderbelserion.vital.files.objects.ConfigKey;
+import com.ryderbelserion.vital.files.objects.ConfigMapper;
+import com.ryderbelserion.vital.utils.LruCache;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.spongepowered.configurate.CommentedConfigurationNode;
+import org.spongepowered.configurate.ConfigurationNode;
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Represents a custom SQLite file, used for data which changes often.
+ *
+ * <p>Every value is stored as its own row keyed by its dotted path, so reading or writing a value
+ * is an indexed lookup instead of parsing and re-serializing a whole document. A dot or a backslash
+ * inside a key is escaped with a backslash, so it cannot be confused with the separator.
+ * Maps and node trees are stored as a row for every value inside them, while lists can only hold values.
+ *
+ * <p>Reads query the row of their path, with a bounded cache of recently read rows in front of the database.
+ * Values set through {@link #setValue(Object, Object...)} show up in reads right away, and are written in a single transaction on the next save.
+ * A database does not publish snapshots, {@link #get(ConfigKey)}, {@link #as(Class, Object...)} and {@link #getConfigurationNode(Object...)}
+ * build a tree of the rows below their path whenever they are called, and change listeners are never called.
+ *
+ * @author Ryder Belserion
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public class SqliteCustomFile extends CustomFile<SqliteCustomFile> implements AutoCloseable {
+
+    private static final Gson gson = new Gson();
+
+    private static final String CREATE = "CREATE TABLE IF NOT EXISTS entries (path TEXT PRIMARY KEY NOT NULL, list INTEGER NOT NULL, value TEXT NOT NULL) WITHOUT ROWID";
+    private static final String SELECT = "SELECT value, list FROM entries WHERE path = ?";
+    private static final String SELECT_ALL = "SELECT path, value, list FROM entries";
+    private static final String UPSERT = "INSERT OR REPLACE INTO entries (path, list, value) VALUES (?, ?, ?)";
+    private static final String DELETE = "DELETE FROM entries WHERE path = ?";
+    private static final String DELETE_ALL = "DELETE FROM entries";
+
+    // a path and everything below it, the rows below sort between the path followed by the separator and the character after it,
+    // which unlike LIKE uses the primary key, and has no wildcards to escape.
+    private static final String SELECT_TREE = "SELECT path, value, list FROM entries WHERE path = ? OR (path >= ? AND path < ?)";
+    private static final String DELETE_TREE = "DELETE FROM entries WHERE path = ? OR (path >= ? AND path < ?)";
+
+    private final Map<String, PreparedStatement> statements = new HashMap<>();
+
+    // guarded by itself, so setting a value never waits on a save holding the connection.
+    // a value is kept until it is written, and a value at a path replaces every row below it.
+    private final Map<String, Entry> pending = new LinkedHashMap<>();
+
+    // only filled while holding the connection, and cleared of every path a save changed before it leaves pending.
+    private volatile LruCache<String, Entry> rows = new LruCache<>(1024);
+
+    private volatile Connection connection;
+
+    /**
+     * Constructs a new {@link SqliteCustomFile} instance.
+     *
+     * @param file the database file to be wrapped by this custom file
+     * @param isDynamic whether the custom file should be treated as dynamic
+     * @since 0.2.0
+     */
+    public SqliteCustomFile(final File file, final boolean isDynamic) {
+        super(file, isDynamic);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final FileType getFileType() {
+        return FileType.SQLITE;
+    }
+
+    /**
+     * Opens the database, and creates the table if it does not exist.
+     *
+     * <p>The database is the source of truth, so this does nothing if the connection is already open.
+     *
+     * @return {@link SqliteCustomFile}
+     * @since 0.2.0
+     */
+    @Override
+    public synchronized final SqliteCustomFile loadConfiguration() {
+        if (getFile().isDirectory()) {
+            if (this.isVerbose) {
+                this.logger.warn("Cannot load configuration, as {} is a directory.", getFileName());
+            }
+
+            return this;
+        }
+
+        if (this.connection != null) return this;
+
+        final File parent = getFile().getAbsoluteFile().getParentFile();
+
+        if (parent != null && !parent.exists()) {
+            parent.mkdirs();
+        }
+
+        try {
+            // plugin class loaders do not always pick up the driver through the service loader.
+            Class.forName("org.sqlite.JDBC");
+        } catch (ClassNotFoundException ignored) {
+            // fall back to whatever driver the driver manager finds.
+        }
+
+        try {
+            this.connection = DriverManager.getConnection("jdbc:sqlite:" + getFile().getAbsolutePath());
+
+            try (final Statement statement = this.connection.createStatement()) {
+                statement.execute("PRAGMA journal_mode=WAL");
+                statement.execute("PRAGMA synchronous=NORMAL");
+                statement.execute(CREATE);
+            }
+
+            // values set before the database was opened are still pending, so they win over the rows.
+            this.rows.clear();
+
+            markModified();
+        } catch (SQLException exception) {
+            close();
+
+            this.logger.warn("Cannot open database file: {}", getFileName(), exception);
+        }
+
+        return this;
+    }
+
+    /**
+     * Opens the database, and reports whether it is open.
+     *
+     * @return true if the database is open
+     * @since 0.2.0
+     */
+    @Override
+    public boolean tryLoad() {
+        loadConfiguration();
+
+        return isConfigurationLoaded();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final SqliteCustomFile saveConfiguration() {
+        saveAsync();
+
+        return this;
+    }
+
+    /**
+     * Writes every pending value in a single transaction.
+     *
+     * <p>The values stay pending until the transaction is committed, so reads never fall back to the rows they replace.
+     *
+     * @since 0.2.0
+     */
+    @Override
+    protected synchronized final void writeConfiguration() {
+        if (this.connection == null) {
+            if (this.isVerbose) {
+                this.logger.error("Database is not open, cannot save {}!", getFileName());
+            }
+
+            return;
+        }
+
+        final Map<String, Entry> batch;
+
+        synchronized (this.pending) {
+            if (this.pending.isEmpty()) return;
+
+            batch = new LinkedHashMap<>(this.pending);
+        }
+
+        // every path whose row is written or deleted, besides the ones below a path in the batch.
+        final Set<String> touched = new HashSet<>(batch.keySet());
+
+        try {
+            this.connection.setAutoCommit(false);
+
+            try {
+                final PreparedStatement deleteTree = prepare(DELETE_TREE);
+                final PreparedStatement delete = prepare(DELETE);
+                final PreparedStatement upsert = prepare(UPSERT);
+
+                if (batch.containsKey("")) {
+                    try (final Statement statement = this.connection.createStatement()) {
+                        statement.execute(DELETE_ALL);
+                    }
+                }
+
+                for (final Map.Entry<String, Entry> entry : batch.entrySet()) {
+                    final String key = entry.getKey();
+
+                    if (!key.isEmpty()) {
+                        deleteTree.setString(1, key);
+                        deleteTree.setString(2, key + '.');
+                        deleteTree.setString(3, key + '/');
+                        deleteTree.addBatch();
+                    }
+
+                    final Entry value = entry.getValue();
+
+                    if (value.isDeleted()) continue;
+
+                    // a value above the path can no longer be a value, as it now holds this one.
+                    for (final String ancestor : ancestors(key)) {
+                        delete.setString(1, ancestor);
+                        delete.addBatch();
+
+                        touched.add(ancestor);
+                    }
+
+                    upsert.setString(1, key);
+                    upsert.setInt(2, value.list() ? 1 : 0);
+                    upsert.setString(3, value.value());
+                    upsert.addBatch();
+                }
+
+                // every delete runs first, as a value in the batch was set after the values it replaced.
+                deleteTree.executeBatch();
+                delete.executeBatch();
+                upsert.executeBatch();
+
+                this.connection.commit();
+            } catch (SQLException exception) {
+                this.connection.rollback();
+
+                throw exception;
+            } finally {
+                this.connection.setAutoCommit(true);
+            }
+        } catch (SQLException exception) {
+            throw new GenericException("Cannot save database file: " + getFileName(), exception);
+        }
+
+        if (batch.containsKey("")) {
+            this.rows.clear();
+        } else {
+            this.rows.removeIf(path -> touched.contains(path) || ancestors(path).stream().anyMatch(batch::containsKey));
+        }
+
+        synchronized (this.pending) {
+            // a value set again while saving is written on the next save.
+            batch.forEach((key, entry) -> {
+                if (this.pending.get(key) == entry) this.pending.remove(key);
+            });
+        }
+    }
+
+    /**
+     * Writes every pending value, and closes the database.
+     *
+     * @since 0.2.0
+     */
+    @Override
+    public synchronized void close() {
+        if (this.connection == null) return;
+
+        try {
+            writeConfiguration();
+        } catch (GenericException exception) {
+            this.logger.warn("Failed to save {} while closing", getFileName(), exception);
+        }
+
+        for (final PreparedStatement statement : this.statements.values()) {
+            try {
+                statement.close();
+            } catch (SQLException ignored) {
+                // the connection is closed below anyway.
+            }
+        }
+
+        this.statements.clear();
+
+        try {
+            this.connection.close();
+        } catch (SQLException exception) {
+            this.logger.warn("Failed to close database file: {}", getFileName(), exception);
+        }
+
+        this.connection = null;
+
+        this.rows.clear();
+    }
+
+    /**
+     * Sets how many recently read rows are kept in memory.
+     *
+     * @param size the most rows to keep, or 0 to always query the database
+     * @return {@link SqliteCustomFile}
+     * @since 0.2.0
+     */
+    public synchronized SqliteCustomFile setRowCacheSize(final int size) {
+        this.rows = new LruCache<>(size);
+
+        return this;
+    }
+
+    /**
+     * Gets the cache of recently read rows, which reports how well it works.
+     *
+     * @return the {@link LruCache} of rows
+     * @since 0.2.0
+     */
+    public @NotNull LruCache<String, ?> getRowCache() {
+        return this.rows;
+    }
+
+    /**
+     * Sets a value at the specified path, it is written on the next save.
+     *
+     * <p>The value replaces everything below the path, a map or a node tree is stored as a row for every value inside it.
+     *
+     * @param value the value to set, or null to remove the path along with everything below it
+     * @param path the path to set the value at
+     * @throws GenericException if a list holds a map or a list, or a value other than a map is set at the root
+     * @since 0.2.0
+     */
+    @Override
+    public void setValue(@Nullable final Object value, @NotNull final Object... path) {
+        final String key = toKey(path);
+
+        final Map<String, Entry> values = new LinkedHashMap<>();
+
+        if (value != null) flatten(key, value, values);
+
+        if (key.isEmpty() && values.containsKey(key)) {
+            throw new GenericException("Cannot set a value at the root of " + getFileName() + ", only a map.");
+        }
+
+        synchronized (this.pending) {
+            this.pending.keySet().removeIf(pendingKey -> isBelow(pendingKey, key));
+
+            // a value above the path becomes a section, so it is deleted along with what was below it.
+            for (final String ancestor : ancestors(key)) {
+                final Entry above = this.pending.get(ancestor);
+
+                if (above != null && !above.isDeleted()) this.pending.put(ancestor, Entry.deleted());
+            }
+
+            // removed first, so the path moves behind the values set before it.
+            this.pending.remove(key);
+            this.pending.put(key, Entry.deleted());
+            this.pending.putAll(values);
+        }
+    }
+
+    /**
+     * Retrieves the value of a key, from the row at its path or the tree of rows below it.
+     *
+     * <p>Unlike other files the value is not kept, a value read from a row goes through the row cache though.
+     *
+     * @param key the {@link ConfigKey} to retrieve
+     * @param <V> the type of the value
+     * @return the value, or the default value of the key if not found
+     * @since 0.2.0
+     */
+    @Override
+    public <V> V get(@NotNull final ConfigKey<V> key) {
+        if (this.connection == null) return key.getDefaultValue();
+
+        final Object[] path = key.getPath();
+
+        final Entry entry = getEntry(toKey(path));
+
+        if (entry != null) {
+            final CommentedConfigurationNode root = CommentedConfigurationNode.root();
+
+            root.node(path).raw(entry.toRaw());
+
+            return key.resolve(root);
+        }
+
+        return key.resolve(tree(path));
+    }
+
+    /**
+     * Maps a section of the database onto a record or a plain object.
+     *
+     * @param type the record or class to map onto
+     * @param path the path to the section, or nothing for the root
+     * @param <V> the type to map onto
+     * @return the mapped instance
+     * @throws GenericException if the database is not open, or the type cannot be mapped onto
+     * @since 0.2.0
+     */
+    @Override
+    public <V> @NotNull V as(@NotNull final Class<V> type, @NotNull final Object... path) {
+        if (this.connection == null) {
+            throw new GenericException("Cannot map " + Arrays.toString(path) + ", as " + getFileName() + " is not open.");
+        }
+
+        return ConfigMapper.of(type).map(tree(path).node(path));
+    }
+
+    /**
+     * Gets the node tree of every row in the database, including values which are not saved yet.
+     *
+     * <p>This reads every row, prefer {@link #getConfigurationNode(Object...)} for a single section.
+     * Changes to the returned tree are not written back, use {@link #setValue(Object, Object...)} instead.
+     *
+     * @return the node tree, or null if the database is not open
+     * @since 0.2.0
+     */
+    @Override
+    public final CommentedConfigurationNode getConfigurationNode() {
+        return this.connection == null ? null : tree();
+    }
+
+    /**
+     * Gets the node tree of a section, including values which are not saved yet.
+     *
+     * @param path the path to the section
+     * @return the node, which is virtual if the path does not exist or the database is not open
+     * @since 0.2.0
+     */
+    @Override
+    public final CommentedConfigurationNode getConfigurationNode(@NotNull final Object... path) {
+        return (this.connection == null ? CommentedConfigurationNode.root() : tree(path)).node(path);
+    }
+
+    /**
+     * Builds a tree of the rows at and below a path, with the values which are not saved yet applied.
+     *
+     * @param path the path
+     * @return the root node, which only holds the rows at and below the path
+     * @since 0.2.0
+     */
+    private CommentedConfigurationNode tree(final Object... path) {
+        final String key = toKey(path);
+
+        final List<Map.Entry<String, Entry>> changes = new ArrayList<>();
+
+        final boolean replaced;
+
+        synchronized (this.pending) {
+            replaced = isReplacedAbove(key);
+
+            this.pending.forEach((pendingKey, entry) -> {
+                if (pendingKey.equals(key) || isBelow(pendingKey, key)) changes.add(Map.entry(pendingKey, entry));
+            });
+        }
+
+        // a value set above the path replaced every row below it.
+        final Map<String, Entry> rows = replaced ? new HashMap<>() : queryTree(key);
+
+        for (final Map.Entry<String, Entry> change : changes) {
+            final String changed = change.getKey();
+
+            rows.keySet().removeIf(row -> row.equals(changed) || isBelow(row, changed));
+
+            if (!change.getValue().isDeleted()) rows.put(changed, change.getValue());
+        }
+
+        final CommentedConfigurationNode root = CommentedConfigurationNode.root();
+
+        rows.forEach((row, entry) -> root.node(fromKey(row)).raw(entry.toRaw()));
+
+        return root;
+    }
+
+    /**
+     * Checks if the database is open.
+     *
+     * @return true if the database is open
+     * @since 0.2.0
+     */
+    @Override
+    public boolean isConfigurationLoaded() {
+        return this.connection != null;
+    }
+
+    /**
+     * Databases cannot be mapped, so this does nothing.
+     *
+     * @param mapped ignored
+     * @return {@link SqliteCustomFile}
+     * @since 0.2.0
+     */
+    @Override
+    public SqliteCustomFile setMapped(final boolean mapped) {
+        return this;
+    }
+
+    /**
+     * The database is only written through this class, so it never counts as changed on disk.
+     *
+     * @param checksum ignored
+     * @return false
+     * @since 0.2.0
+     */
+    @Override
+    public boolean isChanged(final boolean checksum) {
+        return false;
+    }
+
+    /**
+     * Gets the value at a path, from the values which are not saved yet, the row cache, or the database.
+     *
+     * @param key the encoded path
+     * @return the entry, or null if there is no value at the path
+     * @since 0.2.0
+     */
+    private @Nullable Entry getEntry(final String key) {
+        synchronized (this.pending) {
+            if (!this.pending.isEmpty()) {
+                final Entry entry = this.pending.get(key);
+
+                if (entry != null) return entry.isDeleted() ? null : entry;
+
+                if (isReplacedAbove(key)) return null;
+            }
+        }
+
+        final Entry cached = this.rows.get(key);
+
+        if (cached != null) return cached == Entry.missing ? null : cached;
+
+        final Entry entry = query(key);
+
+        return entry == Entry.missing ? null : entry;
+    }
+
+    /**
+     * Reads the row at a path, and caches it.
+     *
+     * @param key the encoded path
+     * @return the entry, or {@link Entry#missing} if there is no row or the database is not open
+     * @since 0.2.0
+     */
+    private synchronized Entry query(final String key) {
+        if (this.connection == null) return Entry.missing;
+
+        try {
+            final PreparedStatement select = prepare(SELECT);
+
+            select.setString(1, key);
+
+            Entry entry = Entry.missing;
+
+            try (final ResultSet result = select.executeQuery()) {
+                if (result.next()) entry = new Entry(result.getString(1), result.getInt(2) == 1);
+            }
+
+            // cached while holding the connection, so a save cannot change the row in between.
+            this.rows.put(key, entry);
+
+            return entry;
+        } catch (SQLException exception) {
+            this.logger.warn("Cannot read {} from {}", key, getFileName(), exception);
+
+            return Entry.missing;
+        }
+    }
+
+    /**
+     * Reads the rows at and below a path.
+     *
+     * @param key the encoded path, or an empty string for every row
+     * @return the entries by their encoded path
+     * @since 0.2.0
+     */
+    private synchronized Map<String, Entry> queryTree(final String key) {
+        final Map<String, Entry> rows = new HashMap<>();
+
+        if (this.connection == null) return rows;
+
+        try {
+            final PreparedStatement select = prepare(key.isEmpty() ? SELECT_ALL : SELECT_TREE);
+
+            if (!key.isEmpty()) {
+                select.setString(1, key);
+                select.setString(2, key + '.');
+                select.setString(3, key + '/');
+            }
+
+            try (final ResultSet result = select.executeQuery()) {
+                while (result.next()) {
+                    rows.put(result.getString(1), new Entry(result.getString(2), result.getInt(3) == 1));
+                }
+            }
+        } catch (SQLException exception) {
+            this.logger.warn("Cannot read {} from {}", key, getFileName(), exception);
+        }
+
+        return rows;
+    }
+
+    private PreparedStatement prepare(final String sql) throws SQLException {
+        PreparedStatement statement = this.statements.get(sql);
+
+        if (statement == null) {
+            statement = this.connection.prepareStatement(sql);
+
+            this.statements.put(sql, statement);
+        }
+
+        return statement;
+    }
+
+    /**
+     * Checks if a value which is not saved yet is set above a path, which replaced everything below it.
+     *
+     * @param key the encoded path
+     * @return true if a pending value is set above the path
+     * @since 0.2.0
+     */
+    private boolean isReplacedAbove(final String key) {
+        if (!key.isEmpty() && this.pending.containsKey("")) return true;
+
+        for (final String ancestor : ancestors(key)) {
+            if (this.pending.containsKey(ancestor)) return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Stores a value as rows, a row for every value inside a map or a node tree.
+     *
+     * @param key the encoded path of the value
+     * @param value the value
+     * @param values the rows by their encoded path
+     * @throws GenericException if a list holds a map or a list
+     * @since 0.2.0
+     */
+    private static void flatten(final String key, final Object value, final Map<String, Entry> values) {
+        switch (value) {
+            case ConfigurationNode node when node.isMap() -> node.childrenMap().forEach((child, nested) -> flatten(child(key, child), nested, values));
+
+            case ConfigurationNode node when node.isList() -> flatten(key, node.childrenList().stream().map(ConfigurationNode::raw).toList(), values);
+
+            case ConfigurationNode node -> {
+                if (node.raw() != null) flatten(key, node.raw(), values);
+            }
+
+            case Map<?, ?> map -> map.forEach((child, nested) -> {
+                if (nested != null) flatten(child(key, child), nested, values);
+            });
+
+            case List<?> list -> {
+                for (final Object element : list) {
+                    if (element instanceof Map<?, ?> || element instanceof Collection<?> || element instanceof ConfigurationNode) {
+                        throw new GenericException("Cannot store a list of maps or lists at " + key + ", a list can only hold values.");
+                    }
+                }
+
+                values.put(key, new Entry(gson.toJson(list.stream().map(String::valueOf).toList()), true));
+            }
+
+            default -> values.put(key, new Entry(String.valueOf(value), false));
+        }
+    }
+
+    /**
+     * Encodes a path, escaping every dot and backslash inside a key.
+     *
+     * @param path the keys of the path
+     * @return the encoded path, which is empty for the root
+     * @since 0.2.0
+     */
+    private static String toKey(final Object... path) {
+        String key = "";
+
+        for (final Object node : path) {
+            key = child(key, node);
+        }
+
+        return key;
+    }
+
+    private static String child(final String key, final Object node) {
+        final String segment = String.valueOf(node);
+
+        final StringBuilder builder = new StringBuilder(key.length() + segment.length() + 1).append(key);
+
+        if (!key.isEmpty()) builder.append('.');
+
+        for (int index = 0; index < segment.length(); index++) {
+            final char character = segment.charAt(index);
+
+            if (character == '.' || character == '\\') builder.append('\\');
+
+            builder.append(character);
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * Decodes a path, splitting it on every dot which is not escaped.
+     *
+     * @param key the encoded path
+     * @return the keys of the path
+     * @since 0.2.0
+     */
+    private static Object[] fromKey(final String key) {
+        final List<String> path = new ArrayList<>();
+
+        final StringBuilder segment = new StringBuilder();
+
+        for (int index = 0; index < key.length(); index++) {
+            final char character = key.charAt(index);
+
+            if (character == '\\' && index + 1 < key.length()) {
+                segment.append(key.charAt(++index));
+            } else if (character == '.') {
+                path.add(segment.toString());
+
+                segment.setLength(0);
+            } else {
+                segment.append(character);
+            }
+        }
+
+        path.add(segment.toString());
+
+        return path.toArray();
+    }
+
+    /**
+     * Gets the encoded paths above a path, starting at the top.
+     *
+     * @param key the encoded path
+     * @return the encoded paths above it
+     * @since 0.2.0
+     */
+    private static List<String> ancestors(final String key) {
+        List<String> ancestors = List.of();
+
+        for (int index = 0; index < key.length(); index++) {
+            final char character = key.charAt(index);
+
+            if (character == '\\') {
+                index++;
+            } else if (character == '.') {
+                if (ancestors.isEmpty()) ancestors = new ArrayList<>();
+
+                ancestors.add(key.substring(0, index));
+            }
+        }
+
+        return ancestors;
+    }
+
+    /**
+     * Checks if a path is below another one.
+     *
+     * @param key the encoded path
+     * @param parent the encoded path which may be above it, or an empty string for the root
+     * @return true if the path is below the parent
+     * @since 0.2.0
+     */
+    private static boolean isBelow(final String key, final String parent) {
+        if (parent.isEmpty()) return !key.isEmpty();
+
+        return key.length() > parent.length() && key.startsWith(parent) && key.charAt(parent.length()) == '.';
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param defaultValue {@inheritDoc}
+     * @param path {@inheritDoc}
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final String getStringValueWithDefault(final String defaultValue, final Object... path) {
+        final Entry entry = getEntry(toKey(path));
+
+        return entry == null ? defaultValue : entry.value();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param path {@inheritDoc}
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final String getStringValue(final Object... path) {
+        return getStringValueWithDefault("", path);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param defaultValue {@inheritDoc}
+     * @param path {@inheritDoc}
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final boolean getBooleanValueWithDefault(final boolean defaultValue, final Object... path) {
+        final Entry entry = getEntry(toKey(path));
+
+        if (entry == null) return defaultValue;
+
+        final String value = entry.value();
+
+        if (value.equalsIgnoreCase("true")) return true;
+
+        if (value.equalsIgnoreCase("false")) return false;
+
+        return defaultValue;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param path {@inheritDoc}
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final boolean getBooleanValue(final Object... path) {
+        return getBooleanValueWithDefault(Boolean.FALSE, path);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param defaultValue {@inheritDoc}
+     * @param path {@inheritDoc}
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final double getDoubleValueWithDefault(final double defaultValue, final Object... path) {
+        final Entry entry = getEntry(toKey(path));
+
+        if (entry == null) return defaultValue;
+
+        try {
+            return Double.parseDouble(entry.value());
+        } catch (NumberFormatException exception) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param path {@inheritDoc}
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final double getDoubleValue(final Object... path) {
+        return getDoubleValueWithDefault(Double.NaN, path);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param defaultValue {@inheritDoc}
+     * @param path {@inheritDoc}
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final long getLongValueWithDefault(final long defaultValue, final Object... path) {
+        final Entry entry = getEntry(toKey(path));
+
+        if (entry == null) return defaultValue;
+
+        try {
+            return Long.parseLong(entry.value());
+        } catch (NumberFormatException exception) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param path {@inheritDoc}
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final long getLongValue(final Object... path) {
+        return getLongValueWithDefault(Long.MIN_VALUE, path);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param defaultValue {@inheritDoc}
+     * @param path {@inheritDoc}
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final int getIntValueWithDefault(final int defaultValue, final Object... path) {
+        final Entry entry = getEntry(toKey(path));
+
+        if (entry == null) return defaultValue;
+
+        try {
+            return Integer.parseInt(entry.value());
+        } catch (NumberFormatException exception) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param path {@inheritDoc}
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final int getIntValue(final Object... path) {
+        return getIntValueWithDefault(Integer.MIN_VALUE, path);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param path {@inheritDoc}
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final List<String> getStringList(final Object... path) {
+        final Entry entry = getEntry(toKey(path));
+
+        if (entry == null) return List.of();
+
+        return entry.list() ? Arrays.asList(gson.fromJson(entry.value(), String[].class)) : List.of(entry.value());
+    }
+
+    /**
+     * A row, or a path which is deleted along with everything below it once saved.
+     *
+     * <p>Entries are compared by identity, so a value set again while saving is never mistaken for the one being written.
+     */
+    private record Entry(String value, boolean list) {
+
+        // cached for a path without a row.
+        private static final Entry missing = new Entry("", false);
+
+        private static Entry deleted() {
+            return new Entry(null, false);
+        }
+
+        private boolean isDeleted() {
+            return this.value == null;
+        }
+
+        private Object toRaw() {
+            return this.list ? Arrays.asList(gson.fromJson(this.value, String[].class)) : this.value;
+        }
+    }
+}
@@ -2,15 +2,26 @@ package com.ryderbelserion.vital.files.types;
 
 import com.ryderbelserion.vital.api.exceptions.GenericException;
 import com.ryderbelserion.vital.files.CustomFile;
+import com.ryderbelserion.vital.files.cache.BinaryCache;
 import com.ryderbelserion.vital.files.enums.FileType;
+import com.ryderbelserion.vital.files.lazy.ChannelContent;
+import com.ryderbelserion.vital.files.lazy.LazySections;
+import com.ryderbelserion.vital.files.lazy.MappedContent;
+import com.ryderbelserion.vital.files.objects.ConfigDiff;
+import com.ryderbelserion.vital.files.objects.FileFingerprint;
+import com.ryderbelserion.vital.utils.Methods;
 import org.spongepowered.configurate.CommentedConfigurationNode;
 import org.spongepowered.configurate.ConfigurateException;
 import org.spongepowered.configurate.serialize.SerializationException;
 import org.spongepowered.configurate.yaml.YamlConfigurationLoader;
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
 
 /**
  * Represents a custom YAML file for configuration.
@@ -25,7 +36,8 @@ import java.util.concurrent.CompletableFuture;
 public class YamlCustomFile extends CustomFile<YamlCustomFile> {
 
     private final YamlConfigurationLoader loader;
-    private CommentedConfigurationNode configurationNode;
+
+    private volatile boolean lazy;
 
     /**
      * Constructs a new {@link YamlCustomFile} instance.
@@ -72,15 +84,167 @@ public class YamlCustomFile extends CustomFile<YamlCustomFile> {
             return this;
         }
 
-        this.configurationNode = CompletableFuture.supplyAsync(() -> {
-            try {
-                return this.loader.load();
-            } catch (ConfigurateException exception) {
-                this.logger.warn("Cannot load configuration file: {}", getFileName(), exception);
+        // a schema needs the whole tree, so a file with one is never loaded lazily.
+        final boolean lazy = this.lazy && getSchema() == null;
+
+        // mapped and lazy files are scanned up front, as they read the file before the cache could be checked.
+        final boolean scanned = isMapped() || lazy;
+
+        if (!isWithinLimits(scanned)) return this;
+
+        if (isMapped()) {
+            loadMapped();
+
+            return this;
+        }
+
+        if (lazy && loadLazy()) return this;
+
+        // the caller waits on the result either way, so parse on the calling thread instead of hopping to the common pool.
+        try {
+            final BinaryCache cache = getCache();
+
+            // the fingerprint is taken before reading, so a change made while parsing is not missed.
+            final FileFingerprint fingerprint = takeFingerprint();
+
+            CommentedConfigurationNode node = cache != null ? cache.read(getFile(), fingerprint) : null;
+
+            if (node == null) {
+                if (!scanned && !isWithinLimits(true)) return this;
+
+                node = withTimeout(this.loader::load);
+
+                if (cache != null) cache.write(getFile(), fingerprint, node);
             }
 
-            return null;
-        }).join();
+            markModified(fingerprint);
+
+            // the tree as it is on disk, which the text of the file is patched against.
+            final CommentedConfigurationNode parsed = getSchema() != null ? node.copy() : null;
+
+            final boolean migrated = migrate(node);
+
+            // the tree is only published once it has been fully loaded, a failed load keeps the last one.
+            publish(node);
+
+            if (migrated) writeBack(parsed, node);
+        } catch (IOException exception) {
+            this.logger.warn("Cannot load configuration file: {}, the last loaded version is kept.", getFileName(), exception);
+        }
+
+        return this;
+    }
+
+    /**
+     * Loads the configuration from a read only memory map, only parsing a top level section once it is read.
+     *
+     * @since 0.2.0
+     */
+    private void loadMapped() {
+        try {
+            // only the metadata, a checksum would read the whole file up front, which mapping it is meant to avoid.
+            final FileFingerprint fingerprint = FileFingerprint.of(getFile());
+
+            final MappedContent content = MappedContent.map(getFile());
+
+            final LazySections sections = getSchema() == null ? LazySections.scan(content.stream(), content::reader, this::parse) : null;
+
+            // files which cannot be split into sections, or have a schema, are still parsed straight from the mapped buffer.
+            if (sections != null) {
+                publishSections(sections);
+            } else {
+                final CommentedConfigurationNode node = withTimeout(() -> parse(content.reader()));
+
+                final boolean migrated = migrate(node);
+
+                publish(node);
+
+                if (migrated) writeBack();
+            }
+
+            markModified(fingerprint);
+        } catch (ConfigurateException exception) {
+            this.logger.warn("Cannot load configuration file: {}, the last loaded version is kept.", getFileName(), exception);
+        } catch (IOException exception) {
+            this.logger.warn("Cannot map configuration file: {}, the last loaded version is kept.", getFileName(), exception);
+        }
+    }
+
+    /**
+     * Scans the file for its top level sections, which are parsed once they are first read.
+     *
+     * @return true if the sections were published, false if the file has to be parsed as a whole
+     * @since 0.2.0
+     */
+    private boolean loadLazy() {
+        ChannelContent content = null;
+
+        try {
+            // only the metadata, a checksum would read the whole file the scan is meant to skip parsing.
+            final FileFingerprint fingerprint = FileFingerprint.of(getFile());
+
+            content = ChannelContent.open(getFile());
+
+            // the channel stays open until every section has been parsed.
+            final LazySections sections = LazySections.scan(content.stream(), content::reader, this::parse, content);
+
+            if (sections == null) {
+                content.close();
+
+                return false;
+            }
+
+            publishSections(sections);
+
+            markModified(fingerprint);
+
+            return true;
+        } catch (IOException exception) {
+            if (content != null) {
+                try {
+                    content.close();
+                } catch (IOException ignored) {
+                    // the file is parsed as a whole instead.
+                }
+            }
+
+            if (this.isVerbose) {
+                this.logger.warn("Cannot scan {}, parsing it as a whole instead.", getFileName(), exception);
+            }
+
+            return false;
+        }
+    }
+
+    private CommentedConfigurationNode parse(final BufferedReader reader) throws ConfigurateException {
+        return YamlConfigurationLoader.builder().indent(2).source(() -> reader).build().load();
+    }
+
+    /**
+     * Checks if top level sections are only parsed once they are first read.
+     *
+     * @return true if the file is loaded lazily
+     * @since 0.2.0
+     */
+    public boolean isLazy() {
+        return this.lazy;
+    }
+
+    /**
+     * Sets whether top level sections are only parsed once they are first read, which applies on the next load.
+     *
+     * <p>Loading then only scans the file for where each section starts, so heap use and load time scale
+     * with the sections that are actually read. The typed getters, {@link #get(com.ryderbelserion.vital.files.objects.ConfigKey)}
+     * and {@link #as(Class, Object...)} only parse the section they read from, while {@link #getConfigurationNode()}
+     * and saving parse every section. The binary cache is not used for lazy files, and files using anchors,
+     * aliases or a top level which is not a plain mapping are still parsed as a whole.
+     *
+     * @param lazy true or false
+     * @return {@link YamlCustomFile}
+     * @since 0.2.0
+     */
+    public YamlCustomFile setLazy(final boolean lazy) {
+        this.lazy = lazy;
 
         return this;
     }
@@ -95,31 +259,94 @@ public class YamlCustomFile extends CustomFile<YamlCustomFile> {
      */
     @Override
     public final YamlCustomFile saveConfiguration() {
+        saveAsync();
+
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 0.2.0
+     */
+    @Override
+    protected final void writeConfiguration() {
         if (getFile().isDirectory()) {
             if (this.isVerbose) {
                 this.logger.warn("Cannot save configuration, as {} is a directory.", getFileName());
             }
 
-            return this;
+            return;
         }
 
-        if (this.configurationNode == null) {
+        final CommentedConfigurationNode configurationNode = getConfigurationNode();
+
+        if (configurationNode == null) {
             if (this.isVerbose) {
                 this.logger.error("Configuration is null, cannot save {}!", getFileName());
             }
 
-            return this;
+            return;
+        }
+
+        try {
+            this.loader.save(configurationNode);
+
+            final FileFingerprint fingerprint = takeFingerprint();
+
+            final BinaryCache cache = getCache();
+
+            if (cache != null) cache.write(getFile(), fingerprint, configurationNode);
+
+            markModified(fingerprint);
+        } catch (ConfigurateException exception) {
+            throw new GenericException("Cannot save configuration file: " + getFileName(), exception);
         }
+    }
 
-        CompletableFuture.runAsync(() -> {
-            try {
-                this.loader.save(this.configurationNode);
-            } catch (ConfigurateException exception) {
-                if (this.isVerbose) this.logger.warn("Cannot save configuration file: {}", getFileName(), exception);
+    /**
+     * Writes what the schema changed back to disk, by only patching the lines of the paths which changed.
+     *
+     * <p>The YAML loader of Configurate 4.1 does not write comments, so saving the tree would strip every comment the user has in the file.
+     * If the changes cannot be patched into the text, see {@link YamlPatch}, they are kept in memory only and reach the disk with the next save.
+     *
+     * @param parsed the tree as it was parsed from the file
+     * @param node the tree after the schema was applied
+     * @since 0.2.0
+     */
+    private void writeBack(final CommentedConfigurationNode parsed, final CommentedConfigurationNode node) {
+        try {
+            final Path path = getFile().toPath();
+
+            // a file which does not exist yet is created from the tree.
+            final String text = Files.exists(path) ? Files.readString(path, StandardCharsets.UTF_8) : "";
+
+            final String patched = YamlPatch.apply(text, ConfigDiff.of(parsed, node), node);
+
+            if (patched == null) {
+                if (this.isVerbose) {
+                    this.logger.info("{} was migrated or given new defaults in memory only, as the changes cannot be written without stripping its comments.", getFileName());
+                }
+
+                return;
             }
-        });
 
-        return this;
+            Methods.writeAtomically(path, patched);
+
+            final FileFingerprint fingerprint = takeFingerprint();
+
+            final BinaryCache cache = getCache();
+
+            if (cache != null) cache.write(getFile(), fingerprint, node);
+
+            markModified(fingerprint);
+
+            if (this.isVerbose) {
+                this.logger.info("{} was migrated or given new defaults, the changes were written back.", getFileName());
+            }
+        } catch (IOException exception) {
+            this.logger.warn("Cannot write the migrated configuration file: {}, the changes are kept in memory only.", getFileName(), exception);
+        }
     }
 
     /**
@@ -132,7 +359,7 @@ public class YamlCustomFile extends CustomFile<YamlCustomFile> {
      */
     @Override
     public final String getStringValueWithDefault(final String defaultValue, final Object... path) {
-        return this.configurationNode.node(path).getString(defaultValue);
+        return getSnapshot().getNode(path).getString(defaultValue);
     }
 
     /**
@@ -157,7 +384,7 @@ public class YamlCustomFile extends CustomFile<YamlCustomFile> {
      */
     @Override
     public final boolean getBooleanValueWithDefault(final boolean defaultValue, final Object... path) {
-        return this.configurationNode.node(path).getBoolean(defaultValue);
+        return getSnapshot().getNode(path).getBoolean(defaultValue);
     }
 
     /**
@@ -182,7 +409,7 @@ public class YamlCustomFile extends CustomFile<YamlCustomFile> {
      */
     @Override
     public final double getDoubleValueWithDefault(final double defaultValue, final Object... path) {
-        return this.configurationNode.node(path).getDouble(defaultValue);
+        return getSnapshot().getNode(path).getDouble(defaultValue);
     }
 
     /**
@@ -207,7 +434,7 @@ public class YamlCustomFile extends CustomFile<YamlCustomFile> {
      */
     @Override
     public final long getLongValueWithDefault(final long defaultValue, final Object... path) {
-        return this.configurationNode.node(path).getLong(defaultValue);
+        return getSnapshot().getNode(path).getLong(defaultValue);
     }
 
     /**
@@ -232,7 +459,7 @@ public class YamlCustomFile extends CustomFile<YamlCustomFile> {
      */
     @Override
     public final int getIntValueWithDefault(final int defaultValue, final Object... path) {
-        return this.configurationNode.node(path).getInt(defaultValue);
+        return getSnapshot().getNode(path).getInt(defaultValue);
     }
 
     /**
@@ -257,7 +484,7 @@ public class YamlCustomFile extends CustomFile<YamlCustomFile> {
     @Override
     public final List<String> getStringList(final Object... path) {
         try {
-            return this.configurationNode.node(path).getList(String.class);
+            return getSnapshot().getNode(path).getList(String.class);
         } catch (SerializationException exception) {
             throw new GenericException("Failed to serialize " + Arrays.toString(path), exception);
         }
@@ -271,7 +498,7 @@ public class YamlCustomFile extends CustomFile<YamlCustomFile> {
      */
     @Override
     public final CommentedConfigurationNode getConfigurationNode() {
-        return this.configurationNode;
+        return getSnapshot().getNode();
     }
 
     /**
@@ -293,6 +520,6 @@ public class YamlCustomFile extends CustomFile<YamlCustomFile> {
      */
     @Override
     public final boolean isConfigurationLoaded() {
-        return this.configurationNode != null;
+        return getSnapshot().isLoaded();
     }
 }
\ No newline at end of file
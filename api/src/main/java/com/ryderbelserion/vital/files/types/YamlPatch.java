@@ -0,0 +1,352 @@
+package com.ryderbelserion.vital.files.types;
+
+import com.ryderbelserion.vital.files.enums.ChangeType;
+import com.ryderbelserion.vital.files.objects.ConfigChange;
+import com.ryderbelserion.vital.files.objects.ConfigDiff;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.spongepowered.configurate.CommentedConfigurationNode;
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.yaml.NodeStyle;
+import org.spongepowered.configurate.yaml.YamlConfigurationLoader;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Writes the changes a schema made to a tree into the text of the YAML file it was parsed from.
+ *
+ * <p>The YAML loader of Configurate 4.1 does not write comments, so saving the tree would strip every comment of the file.
+ * Instead, only the lines of the paths which changed are rewritten, removed or added, and everything else is kept as it is.
+ * A path which is added gets the comment of its node in the tree, while the comments inside it are not written.
+ *
+ * <p>Only block mappings are patched. If a change is inside a list or a flow collection, or the patched text does not
+ * parse back into the same tree, nothing is patched at all.
+ *
+ * @author Ryder Belserion
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+final class YamlPatch {
+
+    private final List<String> lines;
+    private final String separator;
+
+    private YamlPatch(final String text) {
+        this.separator = text.contains("\r\n") ? "\r\n" : "\n";
+        this.lines = new ArrayList<>(Arrays.asList(text.split("\r?\n", -1)));
+    }
+
+    /**
+     * Patches the text of a file, so it holds the tree the changes lead to.
+     *
+     * @param text the text the tree was parsed from
+     * @param diff the changes between the parsed tree and the current one
+     * @param current the current tree
+     * @return the patched text, or null if the changes cannot be written into the text
+     * @since 0.2.0
+     */
+    static @Nullable String apply(@NotNull final String text, @NotNull final ConfigDiff diff, @NotNull final CommentedConfigurationNode current) {
+        final YamlPatch patch = new YamlPatch(text);
+
+        try {
+            for (final ConfigChange change : diff.getChanges()) {
+                if (!patch.apply(change, current)) return null;
+            }
+
+            final String patched = String.join(patch.separator, patch.lines);
+
+            final CommentedConfigurationNode parsed = YamlConfigurationLoader.builder().source(() -> new BufferedReader(new StringReader(patched))).build().load();
+
+            // anything the patch got wrong shows up as a difference, in which case the file is better left alone.
+            return ConfigDiff.of(parsed, current).isEmpty() ? patched : null;
+        } catch (ConfigurateException exception) {
+            return null;
+        }
+    }
+
+    /**
+     * Applies a single change to the lines.
+     *
+     * @param change the change
+     * @param current the current tree
+     * @return false if the change cannot be written into the text
+     * @throws ConfigurateException if the value cannot be written as YAML
+     * @since 0.2.0
+     */
+    private boolean apply(final ConfigChange change, final CommentedConfigurationNode current) throws ConfigurateException {
+        final List<Object> path = change.path();
+
+        if (path.isEmpty()) {
+            // a file without any content yet has nothing to keep, so the whole tree is written.
+            if (lastContent() != -1 || !current.isMap()) return false;
+
+            for (final CommentedConfigurationNode child : current.childrenMap().values()) {
+                this.lines.addAll(this.lines.size() - 1, render(child.key(), child, 0, true));
+            }
+
+            return true;
+        }
+
+        final Object key = path.getLast();
+
+        final CommentedConfigurationNode node = current.node(path.toArray());
+
+        if (change.type() == ChangeType.ADDED) {
+            final List<Object> parentPath = path.subList(0, path.size() - 1);
+
+            final int parent = parentPath.isEmpty() ? -1 : find(parentPath);
+
+            if (parent == -2 || (parent == -1 && !parentPath.isEmpty())) return false;
+
+            final int at;
+            final int indent;
+
+            if (parent == -1) {
+                at = lastContent() + 1;
+                indent = childIndent(0, this.lines.size(), -1);
+            } else {
+                // only a key without a value on its line holds a block mapping.
+                if (!value(this.lines.get(parent)).isEmpty()) return false;
+
+                final int parentIndent = indent(this.lines.get(parent));
+
+                at = end(parent);
+
+                final int child = childIndent(parent + 1, at, parentIndent);
+
+                indent = child == -1 ? parentIndent + 2 : child;
+            }
+
+            this.lines.addAll(at, render(key, node, Math.max(indent, 0), true));
+
+            return true;
+        }
+
+        final int line = find(path);
+
+        if (line < 0) return false;
+
+        final int end = end(line);
+
+        final List<String> block = this.lines.subList(line, end);
+
+        final int indent = indent(this.lines.get(line));
+
+        block.clear();
+
+        if (change.type() == ChangeType.CHANGED) block.addAll(render(key, node, indent, false));
+
+        return true;
+    }
+
+    /**
+     * Finds the line of the key at a path.
+     *
+     * @param path the path
+     * @return the index of the line, -1 if the path is not in the text, or -2 if the text around it cannot be patched
+     * @since 0.2.0
+     */
+    private int find(final List<Object> path) {
+        int start = 0;
+        int end = this.lines.size();
+        int parentIndent = -1;
+
+        int found = -1;
+
+        for (final Object key : path) {
+            final String name = String.valueOf(key);
+
+            final int indent = childIndent(start, end, parentIndent);
+
+            found = -1;
+
+            for (int index = start; index < end; index++) {
+                final String line = this.lines.get(index);
+
+                if (!isContent(line) || indent(line) != indent) continue;
+
+                final String candidate = key(line);
+
+                if (candidate == null) return -2;
+
+                if (candidate.equals(name)) {
+                    found = index;
+
+                    break;
+                }
+
+                // skips what is inside the key, including a list at the same indent.
+                index = end(index) - 1;
+            }
+
+            if (found == -1) return -1;
+
+            parentIndent = indent;
+            start = found + 1;
+            end = end(found);
+        }
+
+        return found;
+    }
+
+    /**
+     * Finds where the block of a key ends, which is right after its last line of content.
+     *
+     * @param line the line of the key
+     * @return the index after the last line of the block
+     * @since 0.2.0
+     */
+    private int end(final int line) {
+        final int indent = indent(this.lines.get(line));
+
+        int last = line;
+
+        for (int index = line + 1; index < this.lines.size(); index++) {
+            final String next = this.lines.get(index);
+
+            if (!isContent(next)) continue;
+
+            final int nextIndent = indent(next);
+
+            // a list may start at the same indent as its key.
+            if (nextIndent < indent || (nextIndent == indent && !next.stripLeading().startsWith("-"))) break;
+
+            last = index;
+        }
+
+        return last + 1;
+    }
+
+    private int childIndent(final int start, final int end, final int parentIndent) {
+        for (int index = start; index < end; index++) {
+            final String line = this.lines.get(index);
+
+            if (isContent(line) && indent(line) > parentIndent) return indent(line);
+        }
+
+        return -1;
+    }
+
+    private int lastContent() {
+        for (int index = this.lines.size() - 1; index >= 0; index--) {
+            if (isContent(this.lines.get(index))) return index;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Writes a key and its value as YAML lines.
+     *
+     * @param key the key
+     * @param node the value
+     * @param indent the indent of the key
+     * @param comment whether the comment of the node is written above it
+     * @return the lines
+     * @throws ConfigurateException if the value cannot be written as YAML
+     * @since 0.2.0
+     */
+    private static List<String> render(final Object key, final CommentedConfigurationNode node, final int indent, final boolean comment) throws ConfigurateException {
+        final CommentedConfigurationNode root = CommentedConfigurationNode.root();
+
+        root.node(key).from(node);
+
+        final StringWriter writer = new StringWriter();
+
+        YamlConfigurationLoader.builder().indent(2).nodeStyle(NodeStyle.BLOCK).sink(() -> new BufferedWriter(writer)).build().save(root);
+
+        final String prefix = " ".repeat(indent);
+
+        final List<String> lines = new ArrayList<>();
+
+        if (comment && node.comment() != null) {
+            for (final String line : node.comment().split("\r?\n")) {
+                lines.add(prefix + "# " + line);
+            }
+        }
+
+        for (final String line : writer.toString().split("\r?\n")) {
+            if (!line.isEmpty()) lines.add(prefix + line);
+        }
+
+        return lines;
+    }
+
+    private static boolean isContent(final String line) {
+        final String stripped = line.strip();
+
+        return !stripped.isEmpty() && !stripped.startsWith("#");
+    }
+
+    private static int indent(final String line) {
+        int indent = 0;
+
+        while (indent < line.length() && line.charAt(indent) == ' ') indent++;
+
+        return indent;
+    }
+
+    /**
+     * Reads the key of a line.
+     *
+     * @param line the line
+     * @return the key, or null if the line is not a plain or quoted key of a block mapping
+     * @since 0.2.0
+     */
+    private static @Nullable String key(final String line) {
+        final String stripped = line.strip();
+
+        final char first = stripped.charAt(0);
+
+        if (first == '"' || first == '\'') {
+            final int end = stripped.indexOf(first, 1);
+
+            // escapes are left alone, such a key is never matched.
+            if (end == -1 || stripped.indexOf('\\') != -1 || end + 1 >= stripped.length() || stripped.charAt(end + 1) != ':') return null;
+
+            return stripped.substring(1, end);
+        }
+
+        if ("-?:{}[]&*!|>%@`,".indexOf(first) != -1) return null;
+
+        final int colon = separator(stripped);
+
+        return colon == -1 ? null : stripped.substring(0, colon).strip();
+    }
+
+    /**
+     * Reads the value on the line of a key, without its comment.
+     *
+     * @param line the line
+     * @return the value, which is empty if the key holds a block
+     * @since 0.2.0
+     */
+    private static String value(final String line) {
+        final String stripped = line.strip();
+
+        int colon;
+
+        if (stripped.charAt(0) == '"' || stripped.charAt(0) == '\'') {
+            colon = stripped.indexOf(stripped.charAt(0), 1) + 1;
+        } else {
+            colon = separator(stripped);
+        }
+
+        final String value = stripped.substring(colon + 1).strip();
+
+        return value.startsWith("#") ? "" : value;
+    }
+
+    private static int separator(final String line) {
+        for (int index = 0; index < line.length(); index++) {
+            if (line.charAt(index) == ':' && (index + 1 == line.length() || line.charAt(index + 1) == ' ')) return index;
+        }
+
+        return -1;
+    }
+}
@@ -0,0 +1,133 @@
+package com.ryderbelserion.vital.utils;
+
+import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.NotNull;
+import java.util.function.Function;
+
+/**
+ * A bounded cache of parsed components, keyed by the template they were parsed from.
+ *
+ * <p>Components are immutable, so a cached component is handed out as is to every caller on any thread.
+ * Once the cache is full, the template which was used the longest time ago is evicted.
+ * Templates longer than the maximum length are parsed every time, so a one-off block of text cannot push out the short,
+ * frequently used templates.
+ *
+ * @author Ryder Belserion
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public class ComponentCache {
+
+    private final Function<String, Component> parser;
+    private final LruCache<String, Component> components;
+    private final int maxLength;
+
+    /**
+     * Constructs a new {@link ComponentCache} instance.
+     *
+     * @param parser the function which parses a template on a miss
+     * @param maxSize the most templates to keep, or 0 to disable the cache
+     * @param maxLength the longest template to cache
+     * @since 0.2.0
+     */
+    public ComponentCache(@NotNull final Function<String, Component> parser, final int maxSize, final int maxLength) {
+        this.components = new LruCache<>(maxSize);
+        this.maxLength = maxLength;
+        this.parser = parser;
+    }
+
+    /**
+     * Gets the component of a template, parsing it if it is not cached yet.
+     *
+     * @param template the template
+     * @return the parsed {@link Component}
+     * @since 0.2.0
+     */
+    public @NotNull Component get(@NotNull final String template) {
+        if (this.components.getMaxSize() == 0 || template.length() > this.maxLength) {
+            this.components.recordMiss();
+
+            return this.parser.apply(template);
+        }
+
+        Component component = this.components.get(template);
+
+        if (component != null) return component;
+
+        // parsed outside the lock, two threads missing on the same template at once both parse it, which is harmless.
+        component = this.parser.apply(template);
+
+        this.components.put(template, component);
+
+        return component;
+    }
+
+    /**
+     * Removes every cached component, for example after the serializer settings changed.
+     *
+     * @since 0.2.0
+     */
+    public void clear() {
+        this.components.clear();
+    }
+
+    /**
+     * Gets the amount of templates currently cached.
+     *
+     * @return the amount of templates
+     * @since 0.2.0
+     */
+    public int size() {
+        return this.components.size();
+    }
+
+    /**
+     * Gets the most templates the cache keeps.
+     *
+     * @return the maximum size
+     * @since 0.2.0
+     */
+    public int getMaxSize() {
+        return this.components.getMaxSize();
+    }
+
+    /**
+     * Gets the amount of templates that were served from the cache.
+     *
+     * @return the amount of hits
+     * @since 0.2.0
+     */
+    public long getHits() {
+        return this.components.getHits();
+    }
+
+    /**
+     * Gets the amount of templates that had to be parsed.
+     *
+     * @return the amount of misses
+     * @since 0.2.0
+     */
+    public long getMisses() {
+        return this.components.getMisses();
+    }
+
+    /**
+     * Gets the amount of templates that were evicted to stay within the maximum size.
+     *
+     * @return the amount of evictions
+     * @since 0.2.0
+     */
+    public long getEvictions() {
+        return this.components.getEvictions();
+    }
+
+    /**
+     * Gets the share of lookups that were served from the cache.
+     *
+     * @return the hit rate between 0 and 1, or 0 if nothing was looked up yet
+     * @since 0.2.0
+     */
+    public double getHitRate() {
+        return this.components.getHitRate();
+    }
+}
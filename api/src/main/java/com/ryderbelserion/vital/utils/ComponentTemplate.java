@@ -0,0 +1,375 @@
+package com.ryderbelserion.vital.utils;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextReplacementConfig;
+import net.kyori.adventure.text.format.TextDecoration;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import org.jetbrains.annotations.NotNull;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * A MiniMessage template which is parsed once, with a slot for every placeholder that is filled in when it is rendered.
+ *
+ * <p>Every placeholder key in the text of the template is turned into a {@link Placeholder} tag, which inserts a marker while parsing.
+ * Rendering only swaps the markers for the values, so it never parses again, takes the same time whatever the values are,
+ * and a value is always inserted as plain text, which keeps tags inside a value from being parsed.
+ * A value takes the style of the text around its placeholder.
+ *
+ * <p>MiniMessage does not resolve tags inside the arguments of another tag, so a key inside a tag,
+ * like {@code <click:run_command:'/warp {name}'>} or {@code <color:{color}>}, is replaced as a string instead,
+ * with its value escaped so it cannot open or close a tag, and the template is parsed again whenever it is rendered.
+ * Keys in the text of such a template still keep their slots.
+ *
+ * @author Ryder Belserion
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public final class ComponentTemplate {
+
+    // noncharacters never show up in text meant for display, unlike the private use area resource packs use for glyphs.
+    private static final char MARKER_START = '\uFDD0';
+    private static final char MARKER_END = '\uFDD1';
+
+    private static final Pattern MARKER = Pattern.compile(MARKER_START + "(\\d+)" + MARKER_END);
+
+    // marks a key found inside a tag, but outside of a quoted argument.
+    private static final char UNQUOTED = '<';
+
+    private final Component component;
+    private final String[] slots;
+
+    // only used if a key is inside a tag, parts[i] is followed by the argument at i, the last part has no argument after it.
+    private final String[] parts;
+    private final String[] arguments;
+    private final String[] matches;
+    private final char[] quotes;
+
+    private final MiniMessage miniMessage;
+    private final TagResolver resolver;
+
+    private ComponentTemplate(final Component component, final String[] slots, final String[] parts, final String[] arguments, final String[] matches, final char[] quotes, final MiniMessage miniMessage, final TagResolver resolver) {
+        this.component = component;
+        this.slots = slots;
+        this.parts = parts;
+        this.arguments = arguments;
+        this.matches = matches;
+        this.quotes = quotes;
+        this.miniMessage = miniMessage;
+        this.resolver = resolver;
+    }
+
+    /**
+     * Parses a template, with a slot for every key it contains.
+     *
+     * @param template the template
+     * @param keys the placeholder keys, as they are passed when rendering, which are matched ignoring their case
+     * @param miniMessage the {@link MiniMessage} instance to parse with
+     * @return the {@link ComponentTemplate}
+     * @since 0.2.0
+     */
+    public static @NotNull ComponentTemplate compile(@NotNull final String template, @NotNull final Set<String> keys, @NotNull final MiniMessage miniMessage) {
+        final PlaceholderTemplate split = PlaceholderTemplate.compile(template, keys);
+
+        final int count = split.getSlotCount();
+
+        final char[] contexts = count == 0 ? null : contexts(template);
+
+        final List<String> slots = new ArrayList<>();
+        final List<TagResolver> resolvers = new ArrayList<>();
+
+        final Map<String, Integer> indexes = new HashMap<>();
+
+        final List<String> parts = new ArrayList<>();
+        final List<String> arguments = new ArrayList<>();
+        final List<String> matches = new ArrayList<>();
+        final StringBuilder quotes = new StringBuilder();
+
+        final StringBuilder part = new StringBuilder(template.length() + 16 * count);
+
+        // the line as it is parsed up front, with the text every argument matched left in place.
+        final StringBuilder line = new StringBuilder(template.length() + 16 * count);
+
+        for (int slot = 0; slot < count; slot++) {
+            final String literal = split.getLiteral(slot);
+
+            part.append(literal);
+            line.append(literal);
+
+            final String key = split.getSlot(slot);
+            final char context = contexts[split.getOffset(slot)];
+
+            if (context != 0) {
+                parts.add(part.toString());
+                arguments.add(key);
+                matches.add(split.getMatch(slot));
+                quotes.append(context);
+
+                part.setLength(0);
+
+                line.append(split.getMatch(slot));
+
+                continue;
+            }
+
+            final int index = indexes.computeIfAbsent(key, ignored -> {
+                final int next = slots.size();
+
+                slots.add(key);
+                resolvers.add(Placeholder.component("vital_slot_" + next, Component.text(MARKER_START + String.valueOf(next) + MARKER_END)));
+
+                return next;
+            });
+
+            final String tag = "<vital_slot_" + index + ">";
+
+            part.append(tag);
+            line.append(tag);
+        }
+
+        final String literal = split.getLiteral(count);
+
+        parts.add(part.append(literal).toString());
+        line.append(literal);
+
+        final TagResolver resolver = TagResolver.resolver(resolvers);
+
+        final Component component = parse(miniMessage, line.toString(), resolver);
+
+        return new ComponentTemplate(component, slots.toArray(String[]::new), parts.toArray(String[]::new), arguments.toArray(String[]::new), matches.toArray(String[]::new), quotes.toString().toCharArray(), miniMessage, resolver);
+    }
+
+    /**
+     * Renders the template, filling every slot with the value of its key.
+     *
+     * <p>A slot whose value is missing or null shows its key instead, while a key inside a tag keeps the text it matched.
+     *
+     * @param placeholders the values by key
+     * @return the rendered {@link Component}
+     * @since 0.2.0
+     */
+    public @NotNull Component render(@NotNull final Map<String, String> placeholders) {
+        return render(placeholders, false);
+    }
+
+    /**
+     * Renders the template, filling every slot with the value of its key parsed as MiniMessage, so a value can style itself.
+     *
+     * <p>Only the values are parsed, the template itself is still parsed once. A tag opened in a value ends with its slot,
+     * so unlike replacing the keys in the text before parsing it, a value cannot style the text after it.
+     *
+     * @param placeholders the values by key
+     * @return the rendered {@link Component}
+     * @since 0.2.0
+     */
+    public @NotNull Component renderParsed(@NotNull final Map<String, String> placeholders) {
+        return render(placeholders, true);
+    }
+
+    /**
+     * Renders the template, filling every slot with the value of its key.
+     *
+     * @param placeholders the values by key
+     * @param parsed whether the values are parsed as MiniMessage, or inserted as plain text
+     * @return the rendered {@link Component}
+     * @since 0.2.0
+     */
+    private Component render(final Map<String, String> placeholders, final boolean parsed) {
+        final Component component = this.arguments.length == 0 ? this.component : parse(placeholders);
+
+        if (this.slots.length == 0) return component;
+
+        return component.replaceText(TextReplacementConfig.builder().match(MARKER).replacement((result, builder) -> {
+            final String key = this.slots[Integer.parseInt(result.group(1))];
+
+            final String value = placeholders.get(key);
+
+            if (value == null) return builder.content(key);
+
+            // a value without a tag is plain text either way, so it is not parsed.
+            if (!parsed || value.indexOf('<') == -1) return builder.content(value);
+
+            return this.miniMessage.deserialize(value);
+        }).build());
+    }
+
+    /**
+     * Gets the parsed template, with a marker in place of every slot.
+     *
+     * @return the parsed {@link Component}
+     * @since 0.2.0
+     */
+    public @NotNull Component getComponent() {
+        return this.component;
+    }
+
+    /**
+     * Parses the template again, with the escaped value of every key inside a tag.
+     *
+     * @param placeholders the values by key
+     * @return the parsed {@link Component}, which still has a marker in place of every slot
+     * @since 0.2.0
+     */
+    private Component parse(final Map<String, String> placeholders) {
+        final StringBuilder builder = new StringBuilder(this.parts[0].length() * 2);
+
+        for (int argument = 0; argument < this.arguments.length; argument++) {
+            builder.append(this.parts[argument]);
+
+            final String value = placeholders.get(this.arguments[argument]);
+
+            builder.append(value != null ? escape(value, this.quotes[argument]) : this.matches[argument]);
+        }
+
+        return parse(this.miniMessage, builder.append(this.parts[this.arguments.length]).toString(), this.resolver);
+    }
+
+    /**
+     * Escapes a value so it stays part of the argument it is inserted into.
+     *
+     * @param value the value
+     * @param context the quote the argument is wrapped in, or {@link #UNQUOTED}
+     * @return the escaped value
+     * @since 0.2.0
+     */
+    private String escape(final String value, final char context) {
+        if (context == UNQUOTED) return this.miniMessage.escapeTags(value);
+
+        // inside quotes a tag cannot open anyway, only the quote itself could end the argument early.
+        return value.replace("\\", "\\\\").replace(String.valueOf(context), "\\" + context);
+    }
+
+    /**
+     * Parses a line with the slot tags, without italics unless the line asks for them.
+     *
+     * @param miniMessage the {@link MiniMessage} instance to parse with
+     * @param line the line
+     * @param resolver the resolver of the slot tags
+     * @return the parsed {@link Component}
+     * @since 0.2.0
+     */
+    private static Component parse(final MiniMessage miniMessage, final String line, final TagResolver resolver) {
+        return miniMessage.deserialize(line, resolver).decorationIfAbsent(TextDecoration.ITALIC, TextDecoration.State.FALSE);
+    }
+
+    /**
+     * Finds every character of a template which is inside a tag.
+     *
+     * @param template the template
+     * @return for every character, 0 if it is text, the quote around it if it is inside a quoted argument, or {@link #UNQUOTED}
+     * @since 0.2.0
+     */
+    private static char[] contexts(final String template) {
+        final int length = template.length();
+
+        final char[] contexts = new char[length];
+
+        int index = 0;
+
+        while (index < length) {
+            final char current = template.charAt(index);
+
+            if (current == '\\') {
+                // an escaped character never opens a tag.
+                index += 2;
+
+                continue;
+            }
+
+            if (current != '<') {
+                index++;
+
+                continue;
+            }
+
+            final int end = findEnd(template, index);
+
+            if (end == -1) {
+                index++;
+
+                continue;
+            }
+
+            if (template.charAt(end) == '<') {
+                // the first one was only text, the second one may open a tag.
+                index = end;
+
+                continue;
+            }
+
+            char quote = 0;
+
+            for (int position = index + 1; position < end; position++) {
+                final char next = template.charAt(position);
+
+                if (quote != 0 && next == '\\') {
+                    contexts[position] = quote;
+
+                    if (position + 1 < end) contexts[++position] = quote;
+
+                    continue;
+                }
+
+                if (quote == 0 && (next == '\'' || next == '"')) {
+                    quote = next;
+                } else if (quote != 0 && next == quote) {
+                    quote = 0;
+
+                    contexts[position] = UNQUOTED;
+
+                    continue;
+                }
+
+                contexts[position] = quote != 0 ? quote : UNQUOTED;
+            }
+
+            index = end + 1;
+        }
+
+        return contexts;
+    }
+
+    /**
+     * Finds the end of a tag, skipping over its quoted arguments.
+     *
+     * @param template the template
+     * @param start where the tag opens
+     * @return the index of the closing bracket, the index of an unquoted opening bracket, or -1 if the tag never closes
+     * @since 0.2.0
+     */
+    private static int findEnd(final String template, final int start) {
+        final int length = template.length();
+
+        char quote = 0;
+
+        for (int index = start + 1; index < length; index++) {
+            final char current = template.charAt(index);
+
+            if (quote != 0) {
+                if (current == '\\') {
+                    index++;
+                } else if (current == quote) {
+                    quote = 0;
+                }
+
+                continue;
+            }
+
+            switch (current) {
+                case '\'', '"' -> quote = current;
+                case '>', '<' -> {
+                    return index;
+                }
+                default -> {}
+            }
+        }
+
+        return -1;
+    }
+}
@@ -0,0 +1,259 @@
+package com.ryderbelserion.vital.utils;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * A bounded, thread safe map which evicts an entry that was used a long time ago once it is full.
+ *
+ * <p>The entries are split over segments by the hash of their key, each with a lock and a share of the maximum size of its own,
+ * so threads looking up different keys rarely wait on each other. The order is only kept within a segment though,
+ * so the entry which is evicted is the least recently used one of its segment, not always of the whole cache.
+ *
+ * <p>Lookups and evictions are counted, so the caches built on top of it can report how well they work.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ *
+ * @author Ryder Belserion
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public class LruCache<K, V> {
+
+    // small caches keep a single segment, so their order stays exact.
+    private static final int MIN_SEGMENT_SIZE = 64;
+    private static final int MAX_SEGMENTS = 16;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private final Map<K, V>[] segments;
+    private final int maxSize;
+
+    /**
+     * Constructs a new {@link LruCache} instance.
+     *
+     * @param maxSize the most entries to keep, or 0 to keep nothing
+     * @since 0.2.0
+     */
+    @SuppressWarnings("unchecked")
+    public LruCache(final int maxSize) {
+        this.maxSize = Math.max(maxSize, 0);
+
+        final int count = Math.min(MAX_SEGMENTS, Integer.highestOneBit(Math.max(1, this.maxSize / MIN_SEGMENT_SIZE)));
+
+        this.segments = (Map<K, V>[]) new Map<?, ?>[count];
+
+        for (int index = 0; index < count; index++) {
+            // the remainder is spread over the first segments, so the shares add up to the maximum size.
+            this.segments[index] = createSegment(this.maxSize / count + (index < this.maxSize % count ? 1 : 0));
+        }
+    }
+
+    /**
+     * Gets the value of a key, counting the lookup as a hit or a miss.
+     *
+     * @param key the key
+     * @return the value, or null if it is not cached
+     * @since 0.2.0
+     */
+    public @Nullable V get(@NotNull final K key) {
+        final Map<K, V> segment = segment(key);
+
+        final V value;
+
+        synchronized (segment) {
+            value = segment.get(key);
+        }
+
+        if (value != null) {
+            this.hits.increment();
+        } else {
+            this.misses.increment();
+        }
+
+        return value;
+    }
+
+    /**
+     * Caches a value, evicting the least recently used entry of its segment if the segment is full.
+     *
+     * @param key the key
+     * @param value the value
+     * @since 0.2.0
+     */
+    public void put(@NotNull final K key, @NotNull final V value) {
+        if (this.maxSize == 0) return;
+
+        final Map<K, V> segment = segment(key);
+
+        synchronized (segment) {
+            segment.put(key, value);
+        }
+    }
+
+    /**
+     * Removes the value of a key.
+     *
+     * @param key the key
+     * @since 0.2.0
+     */
+    public void remove(@NotNull final K key) {
+        final Map<K, V> segment = segment(key);
+
+        synchronized (segment) {
+            segment.remove(key);
+        }
+    }
+
+    /**
+     * Removes every entry whose key matches a filter.
+     *
+     * <p>The segments are filtered one after another, so an entry added to a segment which was already filtered is kept.
+     *
+     * @param filter the filter
+     * @since 0.2.0
+     */
+    public void removeIf(@NotNull final Predicate<? super K> filter) {
+        for (final Map<K, V> segment : this.segments) {
+            synchronized (segment) {
+                segment.keySet().removeIf(filter);
+            }
+        }
+    }
+
+    /**
+     * Counts a lookup which bypassed the cache as a miss.
+     *
+     * @since 0.2.0
+     */
+    public void recordMiss() {
+        this.misses.increment();
+    }
+
+    /**
+     * Removes every entry.
+     *
+     * @since 0.2.0
+     */
+    public void clear() {
+        for (final Map<K, V> segment : this.segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * Gets the amount of entries currently cached.
+     *
+     * @return the amount of entries
+     * @since 0.2.0
+     */
+    public int size() {
+        int size = 0;
+
+        for (final Map<K, V> segment : this.segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+
+        return size;
+    }
+
+    /**
+     * Gets the most entries the cache keeps.
+     *
+     * @return the maximum size
+     * @since 0.2.0
+     */
+    public int getMaxSize() {
+        return this.maxSize;
+    }
+
+    /**
+     * Gets the amount of lookups that found a value.
+     *
+     * @return the amount of hits
+     * @since 0.2.0
+     */
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Gets the amount of lookups that found nothing.
+     *
+     * @return the amount of misses
+     * @since 0.2.0
+     */
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Gets the amount of entries that were evicted to stay within the maximum size.
+     *
+     * @return the amount of evictions
+     * @since 0.2.0
+     */
+    public long getEvictions() {
+        return this.evictions.sum();
+    }
+
+    /**
+     * Gets the share of lookups that found a value.
+     *
+     * @return the hit rate between 0 and 1, or 0 if nothing was looked up yet
+     * @since 0.2.0
+     */
+    public double getHitRate() {
+        final long hits = getHits();
+        final long total = hits + getMisses();
+
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * Gets the segment a key belongs to.
+     *
+     * @param key the key
+     * @return the segment
+     * @since 0.2.0
+     */
+    private Map<K, V> segment(final K key) {
+        if (this.segments.length == 1) return this.segments[0];
+
+        final int hash = key.hashCode();
+
+        // the high bits are mixed in, as the segment is picked by the low bits only.
+        return this.segments[(hash ^ (hash >>> 16)) & (this.segments.length - 1)];
+    }
+
+    /**
+     * Creates a segment, an access ordered map which keeps the least recently used entry first.
+     *
+     * @param maxSize the share of the maximum size the segment keeps
+     * @return the segment
+     * @since 0.2.0
+     */
+    private Map<K, V> createSegment(final int maxSize) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<K, V> eldest) {
+                final boolean evict = size() > maxSize;
+
+                if (evict) LruCache.this.evictions.increment();
+
+                return evict;
+            }
+        };
+    }
+}
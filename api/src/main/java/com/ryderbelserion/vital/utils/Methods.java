@@ -2,6 +2,8 @@ package com.ryderbelserion.vital.utils;
 
 import com.ryderbelserion.vital.VitalProvider;
 import com.ryderbelserion.vital.api.Vital;
+import com.ryderbelserion.vital.api.exceptions.GenericException;
+import com.ryderbelserion.vital.files.ResourceExtractor;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.TextDecoration;
 import net.kyori.adventure.text.logger.slf4j.ComponentLogger;
@@ -9,7 +11,6 @@ import net.kyori.adventure.text.minimessage.MiniMessage;
 import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
-import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.BufferedWriter;
 import java.io.File;
@@ -22,29 +23,33 @@ import java.io.OutputStream;
 import java.math.RoundingMode;
 import java.net.MalformedURLException;
 import java.net.URI;
-import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.channels.Channels;
 import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.FileSystem;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Enumeration;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Consumer;
-import java.util.jar.JarEntry;
-import java.util.jar.JarFile;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.zip.ZipEntry;
@@ -62,6 +67,17 @@ public class Methods {
     private static final Vital instance = VitalProvider.get();
     private static final ComponentLogger logger = instance.getLogger();
 
+    // lore, titles and messages are mostly the same few templates, so they are only parsed once.
+    // call sites pass the same keys for the same line, so each line is only split into slots once.
+    private static final PlaceholderEngine placeholders = new PlaceholderEngine(2048, 1024);
+
+    // a template is parsed once for every set of placeholder keys it is rendered with.
+    private record TemplateKey(String line, Set<String> keys) {}
+
+    private static final LruCache<TemplateKey, ComponentTemplate> templates = new LruCache<>(1024);
+
+    private static final ComponentCache components = new ComponentCache(message -> MiniMessage.miniMessage().deserialize(message).decorationIfAbsent(TextDecoration.ITALIC, TextDecoration.State.FALSE), 2048, 1024);
+
     /**
      * Private constructor to prevent instantiation.
      *
@@ -115,6 +131,8 @@ public class Methods {
     /**
      * Parses a message into a {@link Component}.
      *
+     * <p>The component is cached by the message, so parsing the same message again is a lookup, see {@link #getComponentCache()}.
+     *
      * @param message the string message to parse
      * @return the parsed {@link Component}
      * @since 0.1.0
@@ -122,7 +140,140 @@ public class Methods {
     public static @NotNull Component parse(@NotNull final String message) {
         if (message.isEmpty()) return Component.empty();
 
-        return MiniMessage.miniMessage().deserialize(message).decorationIfAbsent(TextDecoration.ITALIC, TextDecoration.State.FALSE);
+        return components.get(message);
+    }
+
+    /**
+     * Replaces every placeholder key found in a line with its value in a single pass, ignoring the case of the key.
+     *
+     * @param line the line
+     * @param placeholders the values by key, keys or values which are null are skipped
+     * @return the line with every placeholder replaced
+     * @since 0.2.0
+     */
+    public static @NotNull String placeholders(@NotNull final String line, @NotNull final Map<String, String> placeholders) {
+        return Methods.placeholders.render(line, placeholders);
+    }
+
+    /**
+     * Gets the engine {@link #placeholders(String, Map)} uses, which also keeps track of its hits and misses.
+     *
+     * @return the {@link PlaceholderEngine}
+     * @since 0.2.0
+     */
+    public static @NotNull PlaceholderEngine getPlaceholderEngine() {
+        return placeholders;
+    }
+
+    /**
+     * Renders a MiniMessage template with placeholders, see {@link ComponentTemplate}.
+     *
+     * <p>The template is parsed once for the keys of the map, and the values are filled in as plain text,
+     * so they cannot add tags of their own.
+     *
+     * @param line the template
+     * @param placeholders the values by key, which are matched ignoring their case
+     * @return the rendered {@link Component}
+     * @since 0.2.0
+     */
+    public static @NotNull Component render(@NotNull final String line, @NotNull final Map<String, String> placeholders) {
+        if (line.isEmpty()) return Component.empty();
+
+        if (placeholders.isEmpty()) return parse(line);
+
+        return template(line, placeholders.keySet(), null).render(placeholders);
+    }
+
+    /**
+     * Colors a MiniMessage template with placeholders, whose values may hold tags of their own, see {@link ComponentTemplate#renderParsed(Map)}.
+     *
+     * <p>The template is shared with {@link #render(String, Map)}, so a line is parsed once for the keys of the map,
+     * whatever the values are, and only the values which hold a tag are parsed on every call.
+     *
+     * @param line the template
+     * @param placeholders the values by key, which are matched ignoring their case
+     * @return the colored {@link Component}
+     * @since 0.2.0
+     */
+    public static @NotNull Component color(@NotNull final String line, @NotNull final Map<String, String> placeholders) {
+        if (line.isEmpty()) return Component.empty();
+
+        if (placeholders.isEmpty()) return parse(line);
+
+        return template(line, placeholders.keySet(), null).renderParsed(placeholders);
+    }
+
+    /**
+     * Renders several MiniMessage templates with the same placeholders, see {@link #render(String, Map)}.
+     *
+     * <p>The key set is only copied once for all lines, and each line is rendered on its own.
+     *
+     * @param lines the templates
+     * @param placeholders the values by key, which are matched ignoring their case
+     * @return a component for every line
+     * @since 0.2.0
+     */
+    public static @NotNull List<Component> renderAll(@NotNull final List<String> lines, @NotNull final Map<String, String> placeholders) {
+        final List<Component> components = new ArrayList<>(lines.size());
+
+        if (placeholders.isEmpty()) {
+            for (final String line : lines) components.add(parse(line));
+
+            return components;
+        }
+
+        final Set<String> keys = placeholders.keySet();
+
+        // the copy stored with a newly compiled template, shared by every line of this call.
+        final Set<String> copy = new HashSet<>(keys);
+
+        for (final String line : lines) {
+            components.add(line.isEmpty() ? Component.empty() : template(line, keys, copy).render(placeholders));
+        }
+
+        return components;
+    }
+
+    /**
+     * Gets the parsed template of a line for a set of keys, parsing it if it is not cached for them yet.
+     *
+     * @param line the template
+     * @param keys the placeholder keys
+     * @param copy a copy of the keys to store with a new template, or null to copy them when needed
+     * @return the {@link ComponentTemplate}
+     * @since 0.2.0
+     */
+    private static @NotNull ComponentTemplate template(@NotNull final String line, @NotNull final Set<String> keys, @Nullable final Set<String> copy) {
+        // sets compare by their contents, so the live key set of the caller finds the copy stored with the template.
+        ComponentTemplate template = templates.get(new TemplateKey(line, keys));
+
+        if (template == null) {
+            template = ComponentTemplate.compile(line, keys, MiniMessage.miniMessage());
+
+            templates.put(new TemplateKey(line, copy != null ? copy : new HashSet<>(keys)), template);
+        }
+
+        return template;
+    }
+
+    /**
+     * Gets the cache {@link #render(String, Map)} uses, which also keeps track of its hits and misses.
+     *
+     * @return the {@link LruCache} of parsed templates
+     * @since 0.2.0
+     */
+    public static @NotNull LruCache<?, ComponentTemplate> getTemplateCache() {
+        return templates;
+    }
+
+    /**
+     * Gets the cache {@link #parse(String)} uses, which also keeps track of its hits and misses.
+     *
+     * @return the {@link ComponentCache}
+     * @since 0.2.0
+     */
+    public static @NotNull ComponentCache getComponentCache() {
+        return components;
     }
 
     /**
@@ -282,6 +433,100 @@ public class Methods {
         }
     }
 
+    /**
+     * Writes the contents of a file to a stream.
+     *
+     * @since 0.2.0
+     */
+    @FunctionalInterface
+    public interface StreamWriter {
+
+        /**
+         * Writes the contents, the stream is closed afterward by the caller.
+         *
+         * @param output the stream to write to
+         * @throws IOException if the contents could not be written
+         * @since 0.2.0
+         */
+        void write(@NotNull final OutputStream output) throws IOException;
+    }
+
+    /**
+     * Replaces the contents of a file atomically.
+     *
+     * <p>The contents are written to a temporary file next to the target, which is then moved over the target,
+     * so the target is never left half written. The temporary file is created with the default permissions,
+     * and takes over the permissions of the target if it already exists.
+     *
+     * @param path the file to write to
+     * @param content the string to write
+     * @throws IOException if the file could not be written
+     * @since 0.2.0
+     */
+    public static void writeAtomically(@NotNull final Path path, @NotNull final String content) throws IOException {
+        writeAtomically(path, output -> output.write(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Replaces the contents of a file atomically, streaming the contents into it.
+     *
+     * <p>See {@link #writeAtomically(Path, String)}, this only skips building the contents as a string first.
+     *
+     * @param path the file to write to
+     * @param writer the writer of the contents
+     * @throws IOException if the file could not be written
+     * @since 0.2.0
+     */
+    public static void writeAtomically(@NotNull final Path path, @NotNull final StreamWriter writer) throws IOException {
+        final Path target = path.toAbsolutePath();
+        final Path parent = target.getParent();
+
+        Files.createDirectories(parent);
+
+        // unlike Files#createTempFile, which only lets the owner read the file, so the target would lose its permissions.
+        final Path temp = parent.resolve("." + target.getFileName() + "." + Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+
+        try {
+            try (final OutputStream output = new BufferedOutputStream(Files.newOutputStream(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE))) {
+                writer.write(output);
+            }
+
+            copyPermissions(target, temp);
+
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException exception) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Copies the posix permissions of a file onto another file, if the file system has them.
+     *
+     * @param source the file to copy the permissions from, which may not exist
+     * @param target the file to copy the permissions onto
+     * @since 0.2.0
+     */
+    private static void copyPermissions(@NotNull final Path source, @NotNull final Path target) {
+        if (!Files.exists(source)) return;
+
+        try {
+            final PosixFileAttributeView view = Files.getFileAttributeView(source, PosixFileAttributeView.class);
+
+            if (view == null) return;
+
+            Files.setPosixFilePermissions(target, view.readAttributes().permissions());
+        } catch (IOException | UnsupportedOperationException | SecurityException exception) {
+            // the file keeps the default permissions.
+            if (instance.isVerbose()) {
+                logger.warn("Cannot copy the permissions of {}", source, exception);
+            }
+        }
+    }
+
     /**
      * Compresses a file into a .gz file.
      *
@@ -476,59 +721,23 @@ public class Methods {
     /**
      * Extracts multiple files from a directory in the jar.
      *
+     * <p>The jar is only indexed once, and files which are already up to date on disk are skipped,
+     * see {@link ResourceExtractor}.
+     *
      * @param object the class object to get the {@link InputStream} from
      * @param input the source directory within the jar
      * @param output the {@link Path} to write the extracted files to
      * @param replaceExisting whether to overwrite the existing output folder if it exists
+     * @throws GenericException if the files could not be extracted
      * @since 0.1.0
      */
     public static void extracts(@Nullable final Class<?> object, @NotNull String input, @Nullable final Path output, final boolean replaceExisting) {
         if (object == null || output == null || input.isEmpty()) return;
 
-        try (JarFile jarFile = new JarFile(Path.of(object.getProtectionDomain().getCodeSource().getLocation().toURI()).toFile())) {
-            final String path = input.substring(1);
-            final Enumeration<JarEntry> entries = jarFile.entries();
-
-            while (entries.hasMoreElements()) {
-                final JarEntry entry = entries.nextElement();
-                final String name = entry.getName();
-
-                if (!name.startsWith(path)) continue;
-
-                final Path file = output.resolve(name.substring(path.length()));
-
-                final boolean exists = Files.exists(file);
-
-                if (!replaceExisting && exists) continue;
-
-                if (entry.isDirectory()) {
-                    if (!exists) {
-                        try {
-                            Files.createDirectories(file);
-                        } catch (IOException exception) {
-                            exception.printStackTrace();
-                        }
-                    }
-
-                    continue;
-                }
-
-                try (final InputStream inputStream = new BufferedInputStream(jarFile.getInputStream(entry)); final OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(file.toFile()))) {
-                    final byte[] buffer = new byte[4096];
-                    int readCount;
-
-                    while ((readCount = inputStream.read(buffer)) > 0) {
-                        outputStream.write(buffer, 0, readCount);
-                    }
-
-                    outputStream.flush();
-                } catch (IOException exception) {
-                    exception.printStackTrace();
-                }
-            }
-        } catch (IOException | URISyntaxException exception) {
-            exception.printStackTrace();
-            throw new RuntimeException(exception);
+        try {
+            ResourceExtractor.of(object).extract(input, output, replaceExisting);
+        } catch (IOException exception) {
+            throw new GenericException("Failed to extract " + input + " to " + output, exception);
         }
     }
 
@@ -0,0 +1,118 @@
+package com.ryderbelserion.vital.utils;
+
+import org.jetbrains.annotations.NotNull;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Replaces placeholders in a single pass, through templates which are compiled once and kept in a bounded cache.
+ *
+ * <p>A template is compiled for the keys of the map it is rendered with, so the same line rendered with different keys
+ * is compiled once for each of them. Call sites nearly always pass the same keys for the same template,
+ * so rendering is usually a lookup followed by one pass over the slots.
+ *
+ * @author Ryder Belserion
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public class PlaceholderEngine {
+
+    // a line is compiled once for every set of keys it is rendered with.
+    private record Key(String line, Set<String> keys) {}
+
+    private final LruCache<Key, PlaceholderTemplate> templates;
+    private final int maxLength;
+
+    /**
+     * Constructs a new {@link PlaceholderEngine} instance.
+     *
+     * @param maxSize the most templates to keep compiled, or 0 to compile every time
+     * @param maxLength the longest template to keep compiled
+     * @since 0.2.0
+     */
+    public PlaceholderEngine(final int maxSize, final int maxLength) {
+        this.templates = new LruCache<>(maxSize);
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Replaces every key found in a line with its value, ignoring the case of the key.
+     *
+     * @param line the line
+     * @param placeholders the values by key
+     * @return the line with every placeholder replaced
+     * @since 0.2.0
+     */
+    public @NotNull String render(@NotNull final String line, @NotNull final Map<String, String> placeholders) {
+        if (line.isEmpty() || placeholders.isEmpty()) return line;
+
+        return compile(line, placeholders.keySet()).render(placeholders);
+    }
+
+    /**
+     * Gets the compiled template of a line for a set of keys, compiling it if it is not cached for them yet.
+     *
+     * @param line the line
+     * @param keys the placeholder keys
+     * @return the {@link PlaceholderTemplate}
+     * @since 0.2.0
+     */
+    public @NotNull PlaceholderTemplate compile(@NotNull final String line, @NotNull final Set<String> keys) {
+        if (this.templates.getMaxSize() == 0 || line.length() > this.maxLength) {
+            this.templates.recordMiss();
+
+            return PlaceholderTemplate.compile(line, keys);
+        }
+
+        // sets compare by their contents, so the live key set of the caller finds the copy stored with the template.
+        PlaceholderTemplate template = this.templates.get(new Key(line, keys));
+
+        if (template != null) return template;
+
+        template = PlaceholderTemplate.compile(line, keys);
+
+        this.templates.put(new Key(line, new HashSet<>(keys)), template);
+
+        return template;
+    }
+
+    /**
+     * Removes every compiled template.
+     *
+     * @since 0.2.0
+     */
+    public void clear() {
+        this.templates.clear();
+    }
+
+    /**
+     * Gets the amount of templates currently compiled.
+     *
+     * @return the amount of templates
+     * @since 0.2.0
+     */
+    public int size() {
+        return this.templates.size();
+    }
+
+    /**
+     * Gets the amount of lines that were rendered through an already compiled template.
+     *
+     * @return the amount of hits
+     * @since 0.2.0
+     */
+    public long getHits() {
+        return this.templates.getHits();
+    }
+
+    /**
+     * Gets the amount of lines that had to be compiled first.
+     *
+     * @return the amount of misses
+     * @since 0.2.0
+     */
+    public long getMisses() {
+        return this.templates.getMisses();
+    }
+}
@@ -0,0 +1,208 @@
+package com.ryderbelserion.vital.utils;
+
+import org.jetbrains.annotations.NotNull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A template split once into literal text and placeholder slots, for a given set of placeholder keys.
+ *
+ * <p>Keys are matched case-insensitively while compiling, and where two keys start at the same position the longest one wins.
+ * Rendering then never searches the template again, it appends every literal and the value of every slot into a single builder,
+ * which is sized up front. Values are never searched for placeholders themselves, so a value cannot expand into another placeholder.
+ *
+ * @author Ryder Belserion
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public final class PlaceholderTemplate {
+
+    private final String template;
+
+    // literals[i] is followed by the slot at i, the last literal has no slot after it.
+    private final String[] literals;
+    private final String[] slots;
+    private final String[] matches;
+
+    // where each slot starts in the template.
+    private final int[] offsets;
+
+    private final int literalLength;
+
+    private PlaceholderTemplate(final String template, final String[] literals, final String[] slots, final String[] matches, final int[] offsets) {
+        this.template = template;
+        this.literals = literals;
+        this.slots = slots;
+        this.matches = matches;
+        this.offsets = offsets;
+
+        int length = 0;
+
+        for (final String literal : literals) length += literal.length();
+
+        this.literalLength = length;
+    }
+
+    /**
+     * Splits a template into literals and the slots of the given keys.
+     *
+     * @param template the template
+     * @param keys the placeholder keys, as they are passed when rendering
+     * @return the {@link PlaceholderTemplate}
+     * @since 0.2.0
+     */
+    public static @NotNull PlaceholderTemplate compile(@NotNull final String template, @NotNull final Set<String> keys) {
+        final List<String> literals = new ArrayList<>();
+        final List<String> slots = new ArrayList<>();
+        final List<String> matches = new ArrayList<>();
+        final List<Integer> offsets = new ArrayList<>();
+
+        final int length = template.length();
+
+        int start = 0;
+        int index = 0;
+
+        while (index < length) {
+            String found = null;
+
+            for (final String key : keys) {
+                if (key == null || key.isEmpty()) continue;
+
+                if (found != null && key.length() <= found.length()) continue;
+
+                if (template.regionMatches(true, index, key, 0, key.length())) {
+                    found = key;
+                }
+            }
+
+            if (found == null) {
+                index++;
+
+                continue;
+            }
+
+            literals.add(template.substring(start, index));
+            slots.add(found);
+            matches.add(template.substring(index, index + found.length()));
+            offsets.add(index);
+
+            index += found.length();
+            start = index;
+        }
+
+        literals.add(template.substring(start));
+
+        return new PlaceholderTemplate(template, literals.toArray(String[]::new), slots.toArray(String[]::new), matches.toArray(String[]::new), offsets.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * Checks if the template contains any of its keys.
+     *
+     * @return true if there is at least one slot
+     * @since 0.2.0
+     */
+    public boolean hasSlots() {
+        return this.slots.length > 0;
+    }
+
+    /**
+     * Renders the template, replacing every slot with the value of its key.
+     *
+     * <p>A slot whose value is missing or null keeps the text it matched.
+     *
+     * @param placeholders the values by key, which should have the keys the template was compiled for
+     * @return the rendered string
+     * @since 0.2.0
+     */
+    public @NotNull String render(@NotNull final Map<String, String> placeholders) {
+        final int count = this.slots.length;
+
+        if (count == 0) return this.template;
+
+        final String[] values = new String[count];
+
+        int length = this.literalLength;
+
+        for (int slot = 0; slot < count; slot++) {
+            final String value = placeholders.get(this.slots[slot]);
+
+            values[slot] = value != null ? value : this.matches[slot];
+
+            length += values[slot].length();
+        }
+
+        final StringBuilder builder = new StringBuilder(length);
+
+        for (int slot = 0; slot < count; slot++) {
+            builder.append(this.literals[slot]).append(values[slot]);
+        }
+
+        return builder.append(this.literals[count]).toString();
+    }
+
+    /**
+     * Gets the amount of slots, there is one more literal than there are slots.
+     *
+     * @return the amount of slots
+     * @since 0.2.0
+     */
+    int getSlotCount() {
+        return this.slots.length;
+    }
+
+    /**
+     * Gets the literal text in front of a slot, or after the last slot.
+     *
+     * @param index the index of the slot, or the amount of slots for the text after the last one
+     * @return the literal
+     * @since 0.2.0
+     */
+    String getLiteral(final int index) {
+        return this.literals[index];
+    }
+
+    /**
+     * Gets the key of a slot.
+     *
+     * @param slot the index of the slot
+     * @return the key, as it was passed when compiling
+     * @since 0.2.0
+     */
+    String getSlot(final int slot) {
+        return this.slots[slot];
+    }
+
+    /**
+     * Gets the text a slot matched in the template.
+     *
+     * @param slot the index of the slot
+     * @return the matched text
+     * @since 0.2.0
+     */
+    String getMatch(final int slot) {
+        return this.matches[slot];
+    }
+
+    /**
+     * Gets where a slot starts in the template.
+     *
+     * @param slot the index of the slot
+     * @return the offset of the slot
+     * @since 0.2.0
+     */
+    int getOffset(final int slot) {
+        return this.offsets[slot];
+    }
+
+    /**
+     * Gets the template this was compiled from.
+     *
+     * @return the template
+     * @since 0.2.0
+     */
+    public @NotNull String getTemplate() {
+        return this.template;
+    }
+}
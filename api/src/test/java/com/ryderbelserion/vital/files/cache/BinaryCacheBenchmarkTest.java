@@ -0,0 +1,206 @@
+package com.ryderbelserion.vital.files.cache;
+
+import com.ryderbelserion.vital.VitalProvider;
+import com.ryderbelserion.vital.api.Vital;
+import com.ryderbelserion.vital.files.types.YamlCustomFile;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.logger.slf4j.ComponentLogger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Times a startup which loads many YAML files, first by parsing them and then from the {@link BinaryCache}.
+ *
+ * <p>The times are only reported, as they depend on the machine, while the test checks every file was read back the same.
+ */
+public class BinaryCacheBenchmarkTest {
+
+    private static final int FILES = 200;
+    private static final int SECTIONS = 40;
+
+    @TempDir
+    private Path directory;
+
+    @BeforeAll
+    public static void register() {
+        VitalProvider.register(new TestVital());
+    }
+
+    @AfterAll
+    public static void unregister() {
+        VitalProvider.unregister();
+    }
+
+    @Test
+    public void loadsColdAndFromTheCache() throws IOException {
+        // a round on other files first, so the parser and the cache are not timed while the jit warms up.
+        run(this.directory.resolve("warmup"), FILES / 4);
+
+        final long[] times = run(this.directory.resolve("plugin"), FILES);
+
+        System.out.printf("Loaded %d files: %.1f ms parsing, %.1f ms from the binary cache (%.1fx).%n",
+                FILES, times[0] / 1e6, times[1] / 1e6, (double) times[0] / Math.max(1, times[1]));
+    }
+
+    /**
+     * Loads freshly generated files twice, the first time with an empty cache and the second time from the cache.
+     *
+     * @param folder the data folder
+     * @param count the amount of files
+     * @return the nanoseconds taken by the cold and the cached load
+     */
+    private long[] run(final Path folder, final int count) throws IOException {
+        final List<File> files = generate(folder.resolve("configs"), count);
+
+        final BinaryCache cache = new BinaryCache(folder.toFile());
+
+        final long start = System.nanoTime();
+
+        final List<YamlCustomFile> cold = load(files, cache);
+
+        final long parsed = System.nanoTime();
+
+        final List<YamlCustomFile> cached = load(files, cache);
+
+        final long end = System.nanoTime();
+
+        assertEquals(count, cache.getMisses());
+        assertEquals(count, cache.getHits());
+
+        for (int index = 0; index < count; index++) {
+            assertEquals(cold.get(index).getConfigurationNode(), cached.get(index).getConfigurationNode());
+        }
+
+        return new long[] {parsed - start, end - parsed};
+    }
+
+    private List<YamlCustomFile> load(final List<File> files, final BinaryCache cache) {
+        final List<YamlCustomFile> loaded = new ArrayList<>(files.size());
+
+        for (final File file : files) {
+            final YamlCustomFile custom = new YamlCustomFile(file, false);
+
+            custom.setCache(cache);
+
+            loaded.add(custom.loadConfiguration());
+        }
+
+        return loaded;
+    }
+
+    private List<File> generate(final Path folder, final int count) throws IOException {
+        Files.createDirectories(folder);
+
+        final List<File> files = new ArrayList<>(count);
+
+        for (int file = 0; file < count; file++) {
+            final StringBuilder builder = new StringBuilder();
+
+            for (int section = 0; section < SECTIONS; section++) {
+                builder.append("# the settings of section ").append(section).append('\n')
+                        .append("section-").append(section).append(":\n")
+                        .append("  name: '<red>Section ").append(section).append(" of ").append(file).append("'\n")
+                        .append("  enabled: ").append(section % 2 == 0).append('\n')
+                        .append("  amount: ").append(section * file).append('\n')
+                        .append("  chance: ").append(section / 7.0).append('\n')
+                        .append("  lore:\n")
+                        .append("    - '<gray>First line'\n")
+                        .append("    - '<gray>Second line'\n")
+                        .append("  nested:\n")
+                        .append("    material: diamond_sword\n")
+                        .append("    slot: ").append(section % 54).append('\n');
+            }
+
+            final Path path = folder.resolve("config-" + file + ".yml");
+
+            Files.writeString(path, builder, StandardCharsets.UTF_8);
+
+            files.add(path.toFile());
+        }
+
+        return files;
+    }
+
+    /**
+     * Only provides what loading a file needs.
+     */
+    private static final class TestVital extends Vital {
+
+        private final ComponentLogger logger = ComponentLogger.logger("Vital");
+
+        @Override
+        public boolean isVerbose() {
+            return false;
+        }
+
+        @Override
+        public ComponentLogger getLogger() {
+            return this.logger;
+        }
+
+        @Override
+        public @NotNull String placeholders(@NotNull final String line) {
+            return line;
+        }
+
+        @Override
+        public @NotNull String placeholders(@NotNull final String line, @NotNull final Map<String, String> placeholders) {
+            return line;
+        }
+
+        @Override
+        public @NotNull String placeholders(@Nullable final Audience audience, @NotNull final String line, @NotNull final Map<String, String> placeholders) {
+            return line;
+        }
+
+        @Override
+        public @NotNull Component color(@NotNull final String line) {
+            return Component.text(line);
+        }
+
+        @Override
+        public @NotNull Component color(@NotNull final String line, @NotNull final Map<String, String> placeholders) {
+            return Component.text(line);
+        }
+
+        @Override
+        public @NotNull Component color(@Nullable final Audience audience, @NotNull final String line, @NotNull final Map<String, String> placeholders) {
+            return Component.text(line);
+        }
+
+        @Override
+        public @NotNull Component render(@Nullable final Audience audience, @NotNull final String line, @NotNull final Map<String, String> placeholders) {
+            return Component.text(line);
+        }
+
+        @Override
+        public @NotNull List<Component> renderAll(@Nullable final Audience audience, @NotNull final List<String> lines, @NotNull final Map<String, String> placeholders) {
+            return lines.stream().map(Component::text).map(Component.class::cast).toList();
+        }
+
+        @Override
+        public void sendMessage(@NotNull final Audience audience, @NotNull final String line, @NotNull final Map<String, String> placeholders) {}
+
+        @Override
+        public void sendMessage(@NotNull final Audience audience, @NotNull final List<String> lines, @NotNull final Map<String, String> placeholders) {}
+
+        @Override
+        public String chomp(@NotNull final String message) {
+            return message;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.ryderbelserion.vital.files.lazy;
+
+import com.ryderbelserion.vital.api.exceptions.GenericException;
+import org.junit.jupiter.api.Test;
+import org.spongepowered.configurate.CommentedConfigurationNode;
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.yaml.YamlConfigurationLoader;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests how {@link LazySections#scan} splits a file, by comparing the loaded sections with a parse of the whole file.
+ */
+public class LazySectionsTest {
+
+    @Test
+    public void splitsTopLevelSections() throws IOException {
+        final String yaml = "first:\n  nested: 1\n  list:\n    - a\n    - b\nsecond: two\nthird:\n  deeper:\n    value: true\n";
+
+        final LazySections sections = scan(yaml, new ArrayList<>());
+
+        assertNotNull(sections);
+        assertEquals(3, sections.getPending());
+
+        assertMatchesWhole(yaml, sections);
+    }
+
+    @Test
+    public void onlyReadsTheAccessedSection() throws IOException {
+        final List<String> reads = new ArrayList<>();
+
+        final LazySections sections = scan("first: 1\nsecond:\n  value: 2\n", reads);
+
+        assertNotNull(sections);
+
+        sections.load("second", "value");
+
+        assertEquals(List.of("second:\n  value: 2\n"), reads);
+        assertEquals(1, sections.getPending());
+        assertEquals(2, sections.getRoot().node("second", "value").getInt());
+    }
+
+    @Test
+    public void commentsBelongToTheSectionBelowThem() throws IOException {
+        final List<String> reads = new ArrayList<>();
+
+        final LazySections sections = scan("# header\nfirst: 1\n\n# about second\nsecond: 2\n", reads);
+
+        assertNotNull(sections);
+
+        sections.load("first");
+        sections.load("second");
+
+        assertEquals(List.of("# header\nfirst: 1\n\n", "# about second\nsecond: 2\n"), reads);
+    }
+
+    @Test
+    public void skipsTheByteOrderMark() throws IOException {
+        final List<String> reads = new ArrayList<>();
+
+        final String yaml = "\uFEFFfirst: 1\nsecond: 2\n";
+
+        final LazySections sections = scan(yaml, reads);
+
+        assertNotNull(sections);
+
+        sections.load("first");
+
+        assertEquals(List.of("first: 1\n"), reads);
+
+        assertMatchesWhole(yaml.substring(1), sections);
+    }
+
+    @Test
+    public void keepsListItemsAtTheIndentOfTheirKey() throws IOException {
+        final String yaml = "items:\n- one\n- two\nother: 3\n";
+
+        final LazySections sections = scan(yaml, new ArrayList<>());
+
+        assertNotNull(sections);
+        assertEquals(2, sections.getPending());
+
+        assertMatchesWhole(yaml, sections);
+    }
+
+    @Test
+    public void readsQuotedKeys() throws IOException {
+        final String yaml = "\"double quoted\": 1\n'single quoted':\n  value: 2\n";
+
+        final LazySections sections = scan(yaml, new ArrayList<>());
+
+        assertNotNull(sections);
+
+        sections.load("double quoted");
+        sections.load("single quoted", "value");
+
+        assertEquals(1, sections.getRoot().node("double quoted").getInt());
+        assertEquals(2, sections.getRoot().node("single quoted", "value").getInt());
+
+        assertMatchesWhole(yaml, sections);
+    }
+
+    @Test
+    public void readsWindowsLineEndings() throws IOException {
+        final String yaml = "first: 1\r\nsecond:\r\n  value: 2\r\n";
+
+        final LazySections sections = scan(yaml, new ArrayList<>());
+
+        assertNotNull(sections);
+        assertEquals(2, sections.getPending());
+
+        assertMatchesWhole(yaml, sections);
+    }
+
+    @Test
+    public void keepsLoadedSectionsOnceClosed() throws IOException {
+        final LazySections sections = scan("first: 1\nsecond: 2\n", new ArrayList<>());
+
+        assertNotNull(sections);
+
+        sections.load("first");
+        sections.close();
+
+        assertEquals(1, sections.getRoot().node("first").getInt());
+        assertThrows(GenericException.class, () -> sections.load("second"));
+    }
+
+    @Test
+    public void rejectsQuotedKeysWithEscapes() throws IOException {
+        assertNull(scan("\"a\\\"b\": 1\n", new ArrayList<>()));
+    }
+
+    @Test
+    public void rejectsAnchorsAndAliases() throws IOException {
+        assertNull(scan("base: &base\n  value: 1\nother: *base\n", new ArrayList<>()));
+        assertNull(scan("base:\n  value: &value 1\nother:\n  value: *value\n", new ArrayList<>()));
+    }
+
+    @Test
+    public void rejectsMergeKeys() throws IOException {
+        assertNull(scan("<<: {value: 1}\nother: 2\n", new ArrayList<>()));
+        assertNull(scan("base:\n  value: 1\nother:\n  <<: *base\n", new ArrayList<>()));
+    }
+
+    @Test
+    public void rejectsDuplicateKeys() throws IOException {
+        assertNull(scan("first: 1\nfirst: 2\n", new ArrayList<>()));
+    }
+
+    @Test
+    public void rejectsFilesWithoutSections() throws IOException {
+        assertNull(scan("", new ArrayList<>()));
+        assertNull(scan("# only a comment\n", new ArrayList<>()));
+    }
+
+    @Test
+    public void rejectsTopLevelsWhichAreNotPlainMappings() throws IOException {
+        assertNull(scan("- one\n- two\n", new ArrayList<>()));
+        assertNull(scan("---\nfirst: 1\n", new ArrayList<>()));
+        assertNull(scan("{first: 1}\n", new ArrayList<>()));
+        assertNull(scan("1: one\n", new ArrayList<>()));
+        assertNull(scan("true: yes\n", new ArrayList<>()));
+    }
+
+    private static LazySections scan(final String yaml, final List<String> reads) throws IOException {
+        final byte[] bytes = yaml.getBytes(StandardCharsets.UTF_8);
+
+        return LazySections.scan(new ByteArrayInputStream(bytes), (offset, length) -> {
+            reads.add(new String(bytes, (int) offset, length, StandardCharsets.UTF_8));
+
+            return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(bytes, (int) offset, length), StandardCharsets.UTF_8));
+        }, LazySectionsTest::parse);
+    }
+
+    private static CommentedConfigurationNode parse(final BufferedReader reader) throws ConfigurateException {
+        return YamlConfigurationLoader.builder().source(() -> reader).build().load();
+    }
+
+    private static void assertMatchesWhole(final String yaml, final LazySections sections) throws ConfigurateException {
+        sections.loadAll();
+
+        assertTrue(sections.isLoaded());
+
+        assertEquals(parse(new BufferedReader(new StringReader(yaml))).raw(), sections.getRoot().raw());
+    }
+}
@@ -0,0 +1,129 @@
+package com.ryderbelserion.vital.files.objects;
+
+import com.ryderbelserion.vital.api.exceptions.GenericException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests how {@link LoadLimits} measures a file, without ever parsing it.
+ */
+public class LoadLimitsTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    public void measuresYamlByIndentation() throws IOException {
+        final File file = write("config.yml", "a:\n  b:\n    c: 1\nd: 2\n");
+
+        assertDoesNotThrow(() -> depth(3).scan(file, true));
+        assertThrows(GenericException.class, () -> depth(2).scan(file, true));
+    }
+
+    @Test
+    public void measuresListItemsAndFlowCollections() throws IOException {
+        final File file = write("config.yml", "a:\n  - [1, {b: 2}]\n");
+
+        assertDoesNotThrow(() -> depth(5).scan(file, true));
+        assertThrows(GenericException.class, () -> depth(4).scan(file, true));
+    }
+
+    @Test
+    public void countsAliases() throws IOException {
+        final File file = write("config.yml", "base: &base 1\none: *base\ntwo: *base\n");
+
+        assertDoesNotThrow(() -> aliases(2).scan(file, true));
+        assertThrows(GenericException.class, () -> aliases(1).scan(file, true));
+    }
+
+    @Test
+    public void endsDoubleQuotesAfterAnEscapedBackslash() throws IOException {
+        final File yaml = write("config.yml", "path: \"C:\\\\\"\ndeep: [[[[1]]]]\n");
+
+        assertThrows(GenericException.class, () -> depth(3).scan(yaml, true));
+
+        final File json = write("config.json", "{\"path\": \"C:\\\\\", \"deep\": [[[[1]]]]}");
+
+        assertThrows(GenericException.class, () -> depth(3).scan(json, false));
+    }
+
+    @Test
+    public void keepsEscapedQuotesInsideDoubleQuotes() throws IOException {
+        final File file = write("config.json", "{\"text\": \"a \\\" [[[[ b\"}");
+
+        assertDoesNotThrow(() -> depth(1).scan(file, false));
+    }
+
+    @Test
+    public void treatsBackslashesInSingleQuotesAsText() throws IOException {
+        final File file = write("config.yml", "path: 'C:\\'\ndeep: [[[[1]]]]\n");
+
+        assertThrows(GenericException.class, () -> depth(3).scan(file, true));
+    }
+
+    @Test
+    public void keepsDoubledSingleQuotesInsideTheString() throws IOException {
+        final File file = write("config.yml", "text: 'it''s [[[[ fine'\n");
+
+        assertDoesNotThrow(() -> depth(1).scan(file, true));
+    }
+
+    @Test
+    public void skipsComments() throws IOException {
+        final File file = write("config.yml", "# [[[[\na: 1 # {{{{\n");
+
+        assertDoesNotThrow(() -> depth(1).scan(file, true));
+    }
+
+    @Test
+    public void skipsBlockScalars() throws IOException {
+        final File file = write("config.yml", "text: |\n  [[[[\n    {{{{\nother: >\n  - [[[[\nlast: 1\n");
+
+        assertDoesNotThrow(() -> depth(1).scan(file, true));
+    }
+
+    @Test
+    public void measuresJsonByBrackets() throws IOException {
+        final File file = write("config.json", "{\n  \"a\": {\n    \"b\": [1, 2],\n    \"c\": \"[[[[\"\n  }\n}\n");
+
+        assertDoesNotThrow(() -> depth(3).scan(file, false));
+        assertThrows(GenericException.class, () -> depth(2).scan(file, false));
+    }
+
+    @Test
+    public void checksTheSize() throws IOException {
+        final File file = write("config.yml", "a: 1\n");
+
+        assertDoesNotThrow(() -> new LoadLimits(5, 0, 0, 0).checkSize(file));
+        assertThrows(GenericException.class, () -> new LoadLimits(4, 0, 0, 0).checkSize(file));
+    }
+
+    @Test
+    public void skipsUnlimitedFiles() throws IOException {
+        final File file = write("config.yml", "a: [[[[[[[[1]]]]]]]]\n");
+
+        assertFalse(LoadLimits.NONE.isScanned());
+        assertDoesNotThrow(() -> LoadLimits.NONE.scan(file, true));
+        assertDoesNotThrow(() -> LoadLimits.NONE.checkSize(file));
+    }
+
+    private File write(final String name, final String content) throws IOException {
+        return Files.writeString(this.directory.resolve(name), content, StandardCharsets.UTF_8).toFile();
+    }
+
+    private static LoadLimits depth(final int maxDepth) {
+        return new LoadLimits(0, maxDepth, 0, 0);
+    }
+
+    private static LoadLimits aliases(final int maxAliases) {
+        return new LoadLimits(0, 0, maxAliases, 0);
+    }
+}
@@ -0,0 +1,93 @@
+package com.ryderbelserion.vital.files.types;
+
+import com.ryderbelserion.vital.files.objects.ConfigDiff;
+import org.junit.jupiter.api.Test;
+import org.spongepowered.configurate.CommentedConfigurationNode;
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.yaml.YamlConfigurationLoader;
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.List;
+import java.util.function.Consumer;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests how {@link YamlPatch} writes the changes of a schema into the text of a file, without touching the other lines.
+ */
+public class YamlPatchTest {
+
+    @Test
+    public void keepsCommentsOfUnchangedPaths() throws ConfigurateException {
+        final String yaml = "# header\nversion: 1\n\n# the settings\nsettings:\n  # the prefix\n  prefix: '<red>'\n  amount: 3\n";
+
+        final String patched = patch(yaml, node -> {
+            node.node("version").raw(2);
+            node.node("settings", "amount").raw(5);
+        });
+
+        assertEquals("# header\nversion: 2\n\n# the settings\nsettings:\n  # the prefix\n  prefix: '<red>'\n  amount: 5\n", patched);
+    }
+
+    @Test
+    public void addsKeysWithTheirComment() throws ConfigurateException {
+        final String yaml = "settings:\n    prefix: a\n# footer\nother: 1\n";
+
+        final String patched = patch(yaml, node -> {
+            node.node("settings", "suffix").raw("b").comment("the suffix");
+            node.node("extra", "value").raw(true);
+        });
+
+        assertEquals("settings:\n    prefix: a\n    # the suffix\n    suffix: b\n# footer\nother: 1\nextra:\n  value: true\n", patched);
+    }
+
+    @Test
+    public void movesAndRemovesBlocks() throws ConfigurateException {
+        final String yaml = "old:\n  list:\n  - a\n  - b\n  flag: true\nkept: 1\n";
+
+        final String patched = patch(yaml, node -> {
+            node.node("new", "list").from(node.node("old", "list"));
+            node.node("old").raw(null);
+        });
+
+        assertNotNull(patched);
+        assertTrue(patched.startsWith("kept: 1\n"));
+    }
+
+    @Test
+    public void writesAnEmptyFile() throws ConfigurateException {
+        final String patched = patch("", node -> node.node("version").raw(1));
+
+        assertEquals("version: 1\n", patched);
+    }
+
+    @Test
+    public void givesUpOnFlowCollections() throws ConfigurateException {
+        assertNull(patch("settings: {a: 1}\n", node -> node.node("settings", "b").raw(2)));
+    }
+
+    @Test
+    public void keepsCrlfLineEndings() throws ConfigurateException {
+        assertEquals("a: 2\r\nb: 1\r\n", patch("a: 1\r\nb: 1\r\n", node -> node.node("a").raw(2)));
+    }
+
+    private String patch(final String yaml, final Consumer<CommentedConfigurationNode> change) throws ConfigurateException {
+        final CommentedConfigurationNode parsed = YamlConfigurationLoader.builder().source(() -> new BufferedReader(new StringReader(yaml))).build().load();
+
+        final CommentedConfigurationNode current = parsed.copy();
+
+        change.accept(current);
+
+        final String patched = YamlPatch.apply(yaml, ConfigDiff.of(parsed, current), current);
+
+        if (patched != null) {
+            final CommentedConfigurationNode reparsed = YamlConfigurationLoader.builder().source(() -> new BufferedReader(new StringReader(patched))).build().load();
+
+            assertEquals(List.of(), ConfigDiff.of(reparsed, current).getChanges());
+        }
+
+        return patched;
+    }
+}
@@ -53,6 +53,11 @@ public class TestPlugin extends JavaPlugin {
         });
     }
 
+    @Override
+    public void onDisable() {
+        this.paper.stop();
+    }
+
     public final VitalPaper getPaper() {
         return this.paper;
     }
@@ -4,9 +4,10 @@ import com.ryderbelserion.vital.api.Vital;
 import com.ryderbelserion.vital.paper.api.builders.gui.listeners.GuiListener;
 import com.ryderbelserion.vital.paper.api.enums.Support;
 import com.ryderbelserion.vital.paper.api.files.PaperFileManager;
+import com.ryderbelserion.vital.paper.api.placeholders.PlaceholderCache;
+import com.ryderbelserion.vital.paper.api.placeholders.listeners.PlaceholderListener;
 import com.ryderbelserion.vital.utils.Methods;
 import io.papermc.paper.plugin.bootstrap.BootstrapContext;
-import me.clip.placeholderapi.PlaceholderAPI;
 import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.logger.slf4j.ComponentLogger;
@@ -38,6 +39,8 @@ public class VitalPaper extends Vital {
 
     private final PaperFileManager paperFileManager;
 
+    private final PlaceholderCache placeholderCache = new PlaceholderCache(4096);
+
     /**
      * Constructs an instance of VitalPaper using a {@link JavaPlugin}.
      * Initializes the logger, plugins folder, data folder, and plugin name from the provided plugin context.
@@ -92,6 +95,21 @@ public class VitalPaper extends Vital {
      */
     public void registerListeners() {
         plugin.getServer().getPluginManager().registerEvents(new GuiListener(), plugin);
+        plugin.getServer().getPluginManager().registerEvents(new PlaceholderListener(this.placeholderCache), plugin);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Any file waiting in the write-behind queue is saved first.
+     *
+     * @since 0.2.0
+     */
+    @Override
+    public void stop() {
+        this.paperFileManager.shutdown();
+
+        super.stop();
     }
 
     /**
@@ -176,25 +194,13 @@ public class VitalPaper extends Vital {
     public @NotNull String placeholders(@Nullable final Audience audience, @NotNull String line, @NotNull final Map<String, String> placeholders) {
         if (audience != null && Support.placeholder_api.isEnabled()) {
             if (audience instanceof Player player) {
-                line = PlaceholderAPI.setPlaceholders(player, line);
-            }
-        }
-
-        if (!placeholders.isEmpty()) {
-            for (final Map.Entry<String, String> placeholder : placeholders.entrySet()) {
-
-                if (placeholder != null) {
-                    final String key = placeholder.getKey();
-                    final String value = placeholder.getValue();
-
-                    if (key != null && value != null) {
-                        line = line.replace(key, value).replace(key.toLowerCase(), value);
-                    }
-                }
+                // only placeholders with a time to live are cached, every other placeholder is resolved as before.
+                line = this.placeholderCache.setPlaceholders(player, line);
             }
         }
 
-        return line;
+        // a single pass over the compiled line, instead of copying the line twice for every placeholder.
+        return Methods.placeholders(line, placeholders);
     }
 
     /**
@@ -225,6 +231,10 @@ public class VitalPaper extends Vital {
     /**
      * {@inheritDoc}
      *
+     * <p>The line is parsed once as a template, like {@link #render(Audience, String, Map)}, instead of parsing the line
+     * with the values already in it, which would cache a component for every set of values. The values, including the ones
+     * of PlaceholderAPI placeholders, are still parsed as MiniMessage, see {@link Methods#color(String, Map)}.
+     *
      * @param audience {@inheritDoc}
      * @param line {@inheritDoc}
      * @param placeholders {@inheritDoc}
@@ -233,7 +243,61 @@ public class VitalPaper extends Vital {
      */
     @Override
     public @NotNull Component color(@Nullable final Audience audience, @NotNull final String line, @NotNull final Map<String, String> placeholders) {
-        return Methods.parse(placeholders(audience, line, placeholders));
+        return Methods.color(line, withPlaceholderApi(audience, List.of(line), placeholders));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>PlaceholderAPI placeholders are resolved into the placeholders as well, so their values are inserted as plain text,
+     * and the template of the line is shared by every player. A given placeholder takes priority over one with the same key.
+     *
+     * @param audience {@inheritDoc}
+     * @param line {@inheritDoc}
+     * @param placeholders {@inheritDoc}
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public @NotNull Component render(@Nullable final Audience audience, @NotNull final String line, @NotNull final Map<String, String> placeholders) {
+        return Methods.render(line, withPlaceholderApi(audience, List.of(line), placeholders));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Each PlaceholderAPI placeholder is resolved once for all lines, see {@link #render(Audience, String, Map)}.
+     *
+     * @param audience {@inheritDoc}
+     * @param lines {@inheritDoc}
+     * @param placeholders {@inheritDoc}
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public @NotNull List<Component> renderAll(@Nullable final Audience audience, @NotNull final List<String> lines, @NotNull final Map<String, String> placeholders) {
+        return Methods.renderAll(lines, withPlaceholderApi(audience, lines, placeholders));
+    }
+
+    /**
+     * Adds the values of the PlaceholderAPI placeholders in the lines to the placeholders, without overriding any of them.
+     *
+     * @param audience the sender, the placeholders are only resolved for a player
+     * @param lines the lines
+     * @param placeholders the placeholders
+     * @return the placeholders, or a copy with the PlaceholderAPI values added
+     * @since 0.2.0
+     */
+    private Map<String, String> withPlaceholderApi(@Nullable final Audience audience, final List<String> lines, final Map<String, String> placeholders) {
+        if (!(audience instanceof Player player) || !Support.placeholder_api.isEnabled()) return placeholders;
+
+        final Map<String, String> values = this.placeholderCache.resolve(player, lines);
+
+        if (values.isEmpty()) return placeholders;
+
+        values.putAll(placeholders);
+
+        return values;
     }
 
     /**
@@ -284,6 +348,16 @@ public class VitalPaper extends Vital {
         return this.paperFileManager;
     }
 
+    /**
+     * Gets the cache of PlaceholderAPI results, which caches nothing until a time to live is set.
+     *
+     * @return the {@link PlaceholderCache}
+     * @since 0.2.0
+     */
+    public final PlaceholderCache getPlaceholderCache() {
+        return this.placeholderCache;
+    }
+
     /**
      * Gets the {@link JavaPlugin}
      *
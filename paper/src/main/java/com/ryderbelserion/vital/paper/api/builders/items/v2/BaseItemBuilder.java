@@ -36,6 +36,7 @@ import org.jetbrains.annotations.Nullable;
 import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
 
 /**
@@ -133,11 +134,8 @@ public abstract class BaseItemBuilder<B extends BaseItemBuilder<B>> {
         }
 
         if (!this.displayLore.isEmpty()) {
-            final List<Component> components = new ArrayList<>();
-
-            this.displayLore.forEach(line -> components.add(this.api.color(line)));
-
-            final ItemLore lore = ItemLore.lore(components);
+            // every line is rendered in one batch, instead of going through color line by line.
+            final ItemLore lore = ItemLore.lore(this.api.renderAll(null, this.displayLore, Map.of()));
 
             this.itemStack.setData(DataComponentTypes.LORE, lore);
         }
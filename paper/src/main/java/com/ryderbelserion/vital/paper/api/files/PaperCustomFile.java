@@ -1,40 +1,55 @@
 package com.ryderbelserion.vital.paper.api.files;
 
-import com.ryderbelserion.vital.VitalProvider;
-import com.ryderbelserion.vital.api.Vital;
+import com.ryderbelserion.vital.api.exceptions.GenericException;
+import com.ryderbelserion.vital.files.CustomFile;
+import com.ryderbelserion.vital.files.enums.ChangeType;
 import com.ryderbelserion.vital.files.enums.FileType;
-import net.kyori.adventure.text.logger.slf4j.ComponentLogger;
+import com.ryderbelserion.vital.files.objects.ConfigChange;
+import com.ryderbelserion.vital.files.objects.ConfigDiff;
+import com.ryderbelserion.vital.files.objects.ConfigSchema;
+import com.ryderbelserion.vital.utils.Methods;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.configuration.serialization.ConfigurationSerializable;
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.spongepowered.configurate.CommentedConfigurationNode;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.yaml.NodeStyle;
+import org.spongepowered.configurate.yaml.YamlConfigurationLoader;
+import java.io.BufferedWriter;
 import java.io.File;
-import java.util.concurrent.CompletableFuture;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
 /**
  * The custom file implementation using Bukkit's YamlConfiguration
  *
+ * <p>The typed getters read from the {@link YamlConfiguration}, with the path joined by the path separator.
+ * A copy of the configuration is also published as a node tree, so {@link #get(com.ryderbelserion.vital.files.objects.ConfigKey)}
+ * and {@link #as(Class, Object...)} work the same as for every other backend. The copy is only built once it is first read,
+ * so plugins which only use the typed getters never pay for it.
+ *
+ * <p>The defaults of a {@link ConfigSchema} are merged by Bukkit, so the comments of the file and of the defaults survive
+ * the write back. Migrations run against a node tree, and only the paths they changed are set on the configuration afterwards,
+ * so only the comments of a path which a migration moves or replaces are lost.
+ *
  * @author Ryder Belserion
  * @version 0.1.0
  * @since 0.1.0
  */
-public class PaperCustomFile {
-
-    /**
-     * Vital Provider
-     */
-    protected final Vital api = VitalProvider.get();
-    /**
-     * Component logger
-     */
-    protected final ComponentLogger logger = this.api.getLogger();
-    /**
-     * Should we log?
-     */
-    protected final boolean isVerbose = this.api.isVerbose();
+public class PaperCustomFile extends CustomFile<PaperCustomFile> {
 
-    private final String effectiveName;
     private final FileType fileType;
-    private final boolean isDynamic;
-    private final File file;
 
     /**
      * Constructs a new {@link PaperCustomFile} instance.
@@ -48,13 +63,21 @@ public class PaperCustomFile {
      * @since 0.1.0
      */
     public PaperCustomFile(final FileType fileType, final File file, final boolean isDynamic) {
-        this.effectiveName = file.getName().replace(".yml", "");
-        this.isDynamic = isDynamic;
+        super(file, isDynamic);
+
         this.fileType = fileType;
-        this.file = file;
     }
 
-    private YamlConfiguration configuration;
+    // replaced as a whole once a load has finished or a value was set, so readers on other threads never see a half changed configuration.
+    private volatile YamlConfiguration configuration;
+
+    // guards replacing the configuration, so a value set while another one is set or a load publishes is not lost.
+    private final Object writes = new Object();
+
+    // the defaults of the schema as bukkit reads them, kept until the schema changes.
+    private volatile Defaults defaults;
+
+    private record Defaults(ConfigSchema schema, YamlConfiguration configuration) {}
 
     /**
      * Loads from disk
@@ -71,108 +94,538 @@ public class PaperCustomFile {
             return this;
         }
 
+        if (!isWithinLimits(true)) return this;
+
         try {
-            this.configuration = CompletableFuture.supplyAsync(() -> YamlConfiguration.loadConfiguration(this.file)).join();
-        } catch (Exception exception) {
-            if (this.isVerbose) {
-                this.logger.warn("Cannot load configuration file: {}", getFileName(), exception);
+            // the caller waits on the result either way, so parse on the calling thread instead of hopping to the common pool.
+            final YamlConfiguration configuration = withTimeout(() -> {
+                final YamlConfiguration loaded = new YamlConfiguration();
+
+                // unlike YamlConfiguration#loadConfiguration, a malformed file fails instead of loading as empty.
+                loaded.load(getFile());
+
+                return loaded;
+            });
+
+            final ConfigSchema schema = getSchema();
+
+            boolean migrated = false;
+
+            if (schema != null) {
+                if (configuration.getInt(toPath(configuration, schema.getVersionKey()), -1) < schema.getLatestVersion()) {
+                    migrate(schema, configuration);
+
+                    migrated = true;
+                }
+
+                // the defaults are merged by bukkit, so their comments are kept along with the ones the file already has.
+                migrated |= merge(schema, configuration, getDefaults(schema), new ArrayList<>());
+            }
+
+            synchronized (this.writes) {
+                this.configuration = configuration;
+
+                publishLazily(() -> toNode(configuration));
             }
+
+            markModified();
+
+            if (migrated) writeBack();
+        } catch (IOException | RuntimeException exception) {
+            this.logger.warn("Cannot load configuration file: {}, the last loaded version is kept.", getFileName(), exception);
         }
 
         return this;
     }
 
     /**
-     * Saves to disk
+     * Runs the pending migrations of a schema, then applies what they changed to the configuration itself.
+     *
+     * <p>Migrations are written against node trees, so they run on a copy of the configuration as a tree. Only the paths
+     * which changed are set on the configuration afterwards, so the comments of every other path are kept.
+     *
+     * @param schema the schema
+     * @param configuration the configuration to migrate
+     * @throws IOException if a migration failed
+     * @since 0.2.0
+     */
+    private void migrate(final ConfigSchema schema, final YamlConfiguration configuration) throws IOException {
+        final CommentedConfigurationNode before = toNode(configuration);
+        final CommentedConfigurationNode after = before.copy();
+
+        schema.migrate(after);
+
+        for (final ConfigChange change : ConfigDiff.of(before, after).getChanges()) {
+            final String path = toPath(configuration, change.path().toArray());
+
+            // a path which is moved is set again, so only its own comments are lost.
+            if (change.type() == ChangeType.REMOVED) {
+                configuration.set(path, null);
+            } else if (change.current() instanceof Map<?, ?> map) {
+                configuration.createSection(path, map);
+            } else {
+                configuration.set(path, change.current());
+            }
+        }
+    }
+
+    /**
+     * Gets the defaults of a schema as a {@link YamlConfiguration}, which is parsed once per schema.
+     *
+     * <p>The bundled resource is read by bukkit, so its comments are kept, while defaults given as a tree are written as YAML first.
+     *
+     * @param schema the schema
+     * @return the {@link YamlConfiguration} holding the defaults
+     * @throws IOException if the defaults cannot be read
+     * @throws GenericException if the resource is missing
+     * @since 0.2.0
+     */
+    private YamlConfiguration getDefaults(final ConfigSchema schema) throws IOException {
+        final Defaults cached = this.defaults;
+
+        if (cached != null && cached.schema() == schema) return cached.configuration();
+
+        final String resource = schema.getResource();
+
+        final YamlConfiguration configuration;
+
+        if (resource == null) {
+            configuration = toConfiguration(schema.getDefaults());
+        } else {
+            configuration = new YamlConfiguration();
+
+            try (final InputStream stream = this.api.getResource(resource)) {
+                if (stream == null) {
+                    throw new GenericException("The embedded resource '" + resource + "' cannot be found.");
+                }
+
+                configuration.load(new InputStreamReader(stream, StandardCharsets.UTF_8));
+            } catch (InvalidConfigurationException exception) {
+                throw new IOException("Cannot read the defaults of " + getFileName(), exception);
+            }
+        }
+
+        this.defaults = new Defaults(schema, configuration);
+
+        return configuration;
+    }
+
+    /**
+     * Copies the values and lists of the defaults which are missing from a section, recursing into sections both of them have.
+     *
+     * <p>This follows the same rules as {@link ConfigSchema}, a missing section is only copied if its path is opted in.
+     *
+     * @param schema the schema
+     * @param target the section to fill in
+     * @param defaults the section of the defaults at the same path
+     * @param path the keys leading to the section, which is used as a stack
+     * @return true if anything was copied
+     * @since 0.2.0
+     */
+    private static boolean merge(final ConfigSchema schema, final ConfigurationSection target, final ConfigurationSection defaults, final List<Object> path) {
+        boolean changed = false;
+
+        for (final String key : defaults.getKeys(false)) {
+            final Object value = defaults.get(key);
+
+            path.add(key);
+
+            if (target.contains(key, true)) {
+                if (value instanceof ConfigurationSection section && target.get(key) instanceof ConfigurationSection child) {
+                    changed |= merge(schema, child, section, path);
+                }
+            } else if (!(value instanceof ConfigurationSection) || schema.isSectionCopied(path.toArray())) {
+                copy(defaults, target, key);
+
+                changed = true;
+            }
+
+            path.removeLast();
+        }
+
+        return changed;
+    }
+
+    /**
+     * Copies a path from one section to another, along with its comments.
+     *
+     * <p>Sections and lists are copied, so the cached defaults are never changed through the file.
+     *
+     * @param from the section to copy from
+     * @param to the section to copy to
+     * @param key the key of the path in both sections
+     * @since 0.2.0
+     */
+    private static void copy(final ConfigurationSection from, final ConfigurationSection to, final String key) {
+        final Object value = from.get(key);
+
+        if (value instanceof ConfigurationSection section) {
+            final ConfigurationSection child = to.createSection(key);
+
+            for (final String nested : section.getKeys(false)) {
+                copy(section, child, nested);
+            }
+        } else {
+            to.set(key, value instanceof List<?> list ? new ArrayList<>(list) : value);
+        }
+
+        to.setComments(key, from.getComments(key));
+        to.setInlineComments(key, from.getInlineComments(key));
+    }
+
+    /**
+     * Rebuilds the configuration from a node tree, after a migration changed it or to read the defaults of a schema.
+     *
+     * @param root the root node
+     * @return the {@link YamlConfiguration}
+     * @throws IOException if the tree cannot be written as YAML, or read back by Bukkit
+     * @since 0.2.0
+     */
+    private YamlConfiguration toConfiguration(final CommentedConfigurationNode root) throws IOException {
+        final StringWriter writer = new StringWriter();
+
+        YamlConfigurationLoader.builder().indent(2).nodeStyle(NodeStyle.BLOCK).sink(() -> new BufferedWriter(writer)).build().save(root);
+
+        final YamlConfiguration configuration = new YamlConfiguration();
+
+        try {
+            configuration.loadFromString(writer.toString());
+        } catch (InvalidConfigurationException exception) {
+            throw new IOException("Cannot read back the tree of " + getFileName(), exception);
+        }
+
+        return configuration;
+    }
+
+    /**
+     * Saves to disk, without waiting for the write to finish.
      *
      * @return {@link PaperCustomFile}
      * @since 0.1.0
      */
     public final PaperCustomFile save() {
+        saveAsync();
+
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final PaperCustomFile loadConfiguration() {
+        return load();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final PaperCustomFile saveConfiguration() {
+        return save();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 0.2.0
+     */
+    @Override
+    protected final void writeConfiguration() {
         if (getFile().isDirectory()) {
             if (this.isVerbose) {
                 this.logger.warn("Cannot save configuration, as {} is a directory.", getFileName());
             }
 
-            return this;
+            return;
         }
 
-        if (this.configuration == null) {
+        final YamlConfiguration configuration = this.configuration;
+
+        if (configuration == null) {
             if (this.isVerbose) {
                 this.logger.error("Configuration is null, cannot save {}!", getFileName());
             }
 
-            return this;
+            return;
         }
 
-        CompletableFuture.runAsync(() -> {
-            try {
-                this.configuration.save(this.file);
-            } catch (Exception exception) {
-                if (this.isVerbose) this.logger.warn("Cannot save configuration file: {}", getFileName(), exception);
+        // a published configuration is never changed, so a value set in the meantime waits for the next save.
+        final String contents = configuration.saveToString();
+
+        try {
+            // written to a temporary file first, so a crash mid save cannot truncate the file.
+            Methods.writeAtomically(getFile().toPath(), contents);
+
+            markModified();
+        } catch (IOException exception) {
+            throw new GenericException("Cannot save configuration file: " + getFileName(), exception);
+        }
+    }
+
+    /**
+     * Sets a value in a copy of the {@link YamlConfiguration}, and publishes the copy along with a new snapshot whose node tree is built once it is first read.
+     *
+     * <p>The published configuration itself is never changed, so the getters and a save on other threads keep reading the one they started with.
+     *
+     * @param value the value to set, or null to remove the path
+     * @param path the configuration path to set the value at
+     * @throws GenericException if the configuration is not loaded
+     * @since 0.2.0
+     */
+    @Override
+    public void setValue(@Nullable final Object value, @NotNull final Object... path) {
+        synchronized (this.writes) {
+            final YamlConfiguration configuration = this.configuration;
+
+            if (configuration == null) {
+                throw new GenericException("Cannot set " + Arrays.toString(path) + ", as " + getFileName() + " is not loaded.");
             }
-        });
 
+            final YamlConfiguration copy = copyOf(configuration);
+
+            copy.set(toPath(copy, path), value);
+
+            this.configuration = copy;
+
+            updateLazily(() -> toNode(copy));
+        }
+    }
+
+    /**
+     * Copies a configuration, along with its comments, header and footer.
+     *
+     * @param configuration the configuration
+     * @return the copy
+     * @since 0.2.0
+     */
+    private static YamlConfiguration copyOf(final YamlConfiguration configuration) {
+        final YamlConfiguration copy = new YamlConfiguration();
+
+        copy.options().pathSeparator(configuration.options().pathSeparator());
+        copy.options().setHeader(configuration.options().getHeader());
+        copy.options().setFooter(configuration.options().getFooter());
+
+        for (final String key : configuration.getKeys(false)) {
+            copy(configuration, copy, key);
+        }
+
+        return copy;
+    }
+
+    /**
+     * Bukkit configurations are never mapped, so this does nothing.
+     *
+     * @param mapped ignored
+     * @return the current instance of the custom file
+     * @since 0.2.0
+     */
+    @Override
+    public final PaperCustomFile setMapped(final boolean mapped) {
         return this;
     }
 
     /**
-     * Gets the {@link YamlConfiguration}
+     * {@inheritDoc}
      *
-     * @return {@link YamlConfiguration}
-     * @since 0.1.0
+     * @param path {@inheritDoc}
+     * @param defaultValue {@inheritDoc}
+     * @return {@inheritDoc}
+     * @since 0.2.0
      */
-    public final @Nullable YamlConfiguration getConfiguration() {
-        return this.configuration;
+    @Override
+    public final String getStringValueWithDefault(final String defaultValue, final Object... path) {
+        final YamlConfiguration configuration = this.configuration;
+
+        return configuration == null ? defaultValue : configuration.getString(toPath(configuration, path), defaultValue);
     }
 
     /**
-     * Checks if {@link YamlConfiguration} is null
+     * {@inheritDoc}
      *
-     * @return true or false
+     * @param path {@inheritDoc}
+     * @return {@inheritDoc}
+     * @since 0.2.0
      */
-    public final boolean isConfigurationLoaded() {
-        return getConfiguration() != null;
+    @Override
+    public final String getStringValue(final Object... path) {
+        return getStringValueWithDefault("", path);
     }
 
     /**
-     * Checks if the custom file is dynamic.
+     * {@inheritDoc}
      *
-     * @return {@code true} if the custom file is dynamic, {@code false} otherwise
-     * @since 0.1.0
+     * @param path {@inheritDoc}
+     * @param defaultValue {@inheritDoc}
+     * @return {@inheritDoc}
+     * @since 0.2.0
      */
-    public boolean isDynamic() {
-        return this.isDynamic;
+    @Override
+    public final boolean getBooleanValueWithDefault(final boolean defaultValue, final Object... path) {
+        final YamlConfiguration configuration = this.configuration;
+
+        return configuration == null ? defaultValue : configuration.getBoolean(toPath(configuration, path), defaultValue);
     }
 
     /**
-     * Returns the current instance of {@link PaperCustomFile}.
+     * {@inheritDoc}
      *
-     * @return the current custom file instance
-     * @since 0.1.0
+     * @param path {@inheritDoc}
+     * @return {@inheritDoc}
+     * @since 0.2.0
      */
-    public PaperCustomFile getInstance() {
-        return this;
+    @Override
+    public final boolean getBooleanValue(final Object... path) {
+        return getBooleanValueWithDefault(Boolean.FALSE, path);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param path {@inheritDoc}
+     * @param defaultValue {@inheritDoc}
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final double getDoubleValueWithDefault(final double defaultValue, final Object... path) {
+        final YamlConfiguration configuration = this.configuration;
+
+        return configuration == null ? defaultValue : configuration.getDouble(toPath(configuration, path), defaultValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param path {@inheritDoc}
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final double getDoubleValue(final Object... path) {
+        return getDoubleValueWithDefault(Double.NaN, path);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param path {@inheritDoc}
+     * @param defaultValue {@inheritDoc}
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final long getLongValueWithDefault(final long defaultValue, final Object... path) {
+        final YamlConfiguration configuration = this.configuration;
+
+        return configuration == null ? defaultValue : configuration.getLong(toPath(configuration, path), defaultValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param path {@inheritDoc}
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final long getLongValue(final Object... path) {
+        return getLongValueWithDefault(Long.MIN_VALUE, path);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param path {@inheritDoc}
+     * @param defaultValue {@inheritDoc}
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final int getIntValueWithDefault(final int defaultValue, final Object... path) {
+        final YamlConfiguration configuration = this.configuration;
+
+        return configuration == null ? defaultValue : configuration.getInt(toPath(configuration, path), defaultValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param path {@inheritDoc}
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final int getIntValue(final Object... path) {
+        return getIntValueWithDefault(Integer.MIN_VALUE, path);
     }
 
     /**
-     * Retrieves the effective name of the file, the name without the '.yml' extension.
+     * {@inheritDoc}
      *
-     * @return the effective name of the file
+     * @param path {@inheritDoc}
+     * @return {@inheritDoc}
+     * @since 0.2.0
+     */
+    @Override
+    public final List<String> getStringList(final Object... path) {
+        final YamlConfiguration configuration = this.configuration;
+
+        return configuration == null ? Collections.emptyList() : configuration.getStringList(toPath(configuration, path));
+    }
+
+    /**
+     * Gets a copy of the configuration as a node tree, as of the last load or value set.
+     *
+     * <p>Changes made to the node are not written on save, use {@link #setValue(Object, Object...)}
+     * or {@link #getConfiguration()} instead.
+     *
+     * @return the root {@link CommentedConfigurationNode}
+     * @since 0.2.0
+     */
+    @Override
+    public final CommentedConfigurationNode getConfigurationNode() {
+        return getSnapshot().getNode();
+    }
+
+    /**
+     * Gets the {@link YamlConfiguration}
+     *
+     * <p>The configuration is shared with readers on other threads, so changing it directly is only safe from a single thread,
+     * use {@link #setValue(Object, Object...)} otherwise.
+     *
+     * @return {@link YamlConfiguration}
      * @since 0.1.0
      */
-    public String getEffectiveName() {
-        return this.effectiveName;
+    public final @Nullable YamlConfiguration getConfiguration() {
+        return this.configuration;
+    }
+
+    /**
+     * Checks if {@link YamlConfiguration} is null
+     *
+     * @return true or false
+     */
+    @Override
+    public final boolean isConfigurationLoaded() {
+        return getConfiguration() != null;
     }
 
     /**
-     * Retrieves the name of the actual file.
+     * Returns the current instance of {@link PaperCustomFile}.
      *
-     * @return the name of the file
+     * @return the current custom file instance
      * @since 0.1.0
      */
-    public String getFileName() {
-        return this.file.getName();
+    @Override
+    public PaperCustomFile getInstance() {
+        return this;
     }
 
     /**
@@ -182,7 +635,7 @@ public class PaperCustomFile {
      * @since 0.1.0
      */
     public boolean isFileLoaded() {
-        return this.file.exists();
+        return getFile().exists();
     }
 
     /**
@@ -191,17 +644,95 @@ public class PaperCustomFile {
      * @return the file type
      * @since 0.1.0
      */
+    @Override
     public FileType getFileType() {
         return this.fileType;
     }
 
     /**
-     * Retrieves the file object wrapped by this custom file.
+     * Joins a path with the path separator of the configuration.
      *
-     * @return the file object
-     * @since 0.1.0
+     * @param configuration the configuration
+     * @param path the keys of the path
+     * @return the joined path
+     * @since 0.2.0
      */
-    public File getFile() {
-        return this.file;
+    private String toPath(final YamlConfiguration configuration, final Object... path) {
+        if (path.length == 1) return String.valueOf(path[0]);
+
+        final String separator = String.valueOf(configuration.options().pathSeparator());
+
+        final StringBuilder builder = new StringBuilder();
+
+        for (final Object key : path) {
+            if (!builder.isEmpty()) builder.append(separator);
+
+            builder.append(key);
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * Copies the configuration into a new node tree.
+     *
+     * <p>Values configurate cannot serialize, such as item stacks, are converted to their serialized form.
+     *
+     * @param configuration the configuration
+     * @return the root node
+     * @since 0.2.0
+     */
+    private static CommentedConfigurationNode toNode(final YamlConfiguration configuration) {
+        final CommentedConfigurationNode root = CommentedConfigurationNode.root();
+
+        convert(configuration, root);
+
+        return root;
+    }
+
+    /**
+     * Copies a bukkit value into a node.
+     *
+     * @param value the value, which may be a section, a list, a map or a serializable object
+     * @param node the node to copy into
+     * @since 0.2.0
+     */
+    private static void convert(@Nullable final Object value, @NotNull final ConfigurationNode node) {
+        switch (value) {
+            case null -> node.raw(null);
+
+            case ConfigurationSection section -> {
+                // an empty section should still be a map.
+                node.raw(Collections.emptyMap());
+
+                for (final String key : section.getKeys(false)) {
+                    convert(section.get(key), node.node(key));
+                }
+            }
+
+            case Map<?, ?> map -> {
+                node.raw(Collections.emptyMap());
+
+                map.forEach((key, child) -> convert(child, node.node(String.valueOf(key))));
+            }
+
+            case List<?> list -> {
+                node.raw(Collections.emptyList());
+
+                for (final Object child : list) {
+                    convert(child, node.appendListNode());
+                }
+            }
+
+            case ConfigurationSerializable serializable -> convert(serializable.serialize(), node);
+
+            case String string -> node.raw(string);
+
+            case Number number -> node.raw(number);
+
+            case Boolean bool -> node.raw(bool);
+
+            default -> node.raw(String.valueOf(value));
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,19 +1,20 @@
 package com.ryderbelserion.vital.paper.api.files;
 
-import com.ryderbelserion.vital.VitalProvider;
-import com.ryderbelserion.vital.api.Vital;
-import com.ryderbelserion.vital.api.exceptions.GenericException;
+import com.ryderbelserion.vital.files.CustomFile;
+import com.ryderbelserion.vital.files.FileManager;
+import com.ryderbelserion.vital.files.SaveQueue;
 import com.ryderbelserion.vital.files.enums.FileType;
-import com.ryderbelserion.vital.utils.Methods;
-import net.kyori.adventure.text.logger.slf4j.ComponentLogger;
+import com.ryderbelserion.vital.files.interfaces.FileBackend;
+import com.ryderbelserion.vital.files.interfaces.FileListener;
+import com.ryderbelserion.vital.files.objects.ReloadReport;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
-import java.io.File;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Manages custom files for the application.
@@ -22,98 +23,66 @@ import java.util.Map;
  * supporting various file types such as YAML. It ensures that file operations are handled
  * efficiently and provides logging for important actions.
  *
+ * <p>Every file lives in a single {@link FileManager}, which creates YAML files through the {@code bukkit} backend
+ * by default. The other backends, such as Configurate YAML, JSON, SQLite or binary, can still be picked per file
+ * through {@link #getFileManager()}, and only the files created through Bukkit are returned by this class.
+ *
  * @author Ryder Belserion
  * @version 0.1.0
  * @since 0.1.0
  */
 public class PaperFileManager {
 
-    private final Vital api = VitalProvider.get();
-    private final ComponentLogger logger = this.api.getLogger();
-    private final File dataFolder = this.api.getDataFolder();
-    private final boolean isVerbose = this.api.isVerbose();
-
-    private final Map<String, PaperCustomFile> files = new HashMap<>();
+    private final FileManager fileManager = new FileManager();
 
-    private final Map<String, FileType> folders = new HashMap<>();
+    private final Map<FileListener<PaperCustomFile>, FileListener<CustomFile<? extends CustomFile<?>>>> listeners = new ConcurrentHashMap<>();
 
     /**
      * A file manager that handles yml configs.
      *
      * @since 0.1.0
      */
-    public PaperFileManager() {}
+    public PaperFileManager() {
+        this.fileManager.registerBackend(FileBackend.of("bukkit", FileType.YAML, (file, isDynamic) -> new PaperCustomFile(FileType.YAML, file, isDynamic)));
+        this.fileManager.setDefaultBackend(FileType.YAML, "bukkit");
+    }
+
+    /**
+     * Gets the file manager every file is registered with.
+     *
+     * @return the {@link FileManager}
+     * @since 0.2.0
+     */
+    public FileManager getFileManager() {
+        return this.fileManager;
+    }
 
     /**
      * Adds a folder to the manager and loads its contents.
      *
+     * <p>Every file in the folder is parsed in parallel, and the results are published in a single step.
+     *
      * @param folder the folder name
      * @param fileType the type of files in the folder
      * @return the current instance of {@link PaperFileManager}
      * @since 0.1.0
      */
     public PaperFileManager addFolder(@NotNull final String folder, @NotNull final FileType fileType) {
-        if (folder.isEmpty() || folder.isBlank()) {
-            if (this.isVerbose) {
-                this.logger.warn("Cannot add the folder as the folder is empty.");
-            }
-
-            return this;
-        }
-
-        if (!this.folders.containsKey(folder)) {
-            this.folders.put(folder, fileType);
-        }
-
-        final File directory = new File(this.dataFolder, folder);
-
-        if (!directory.exists()) {
-            directory.mkdirs();
-
-            Methods.extracts(PaperFileManager.class, String.format("/%s/", directory.getName()), directory.toPath(), false);
-        }
-
-        final File[] contents = directory.listFiles();
-
-        if (contents == null) return this;
-
-        final String extension = fileType.getExtension();
-
-        for (final File file : contents) {
-            if (file.isDirectory()) {
-                final String[] files = file.list();
-
-                if (files == null) continue;
-
-                for (final String fileName : files) {
-                    if (!fileName.endsWith("." + extension)) continue; // just in case people are weird
-
-                    addFile(fileName, folder + File.separator + file.getName(), true, fileType);
-                }
-
-                continue;
-            }
-
-            final String fileName = file.getName();
-
-            if (!fileName.endsWith("." + extension)) continue; // just in case people are weird
-
-            addFile(fileName, folder, true, fileType);
-        }
+        this.fileManager.addFolder(folder, fileType);
 
         return this;
     }
 
     /**
      * Adds a custom file to the cache.
-     * 
+     *
      * @param customFile {@link PaperCustomFile}
      * @return the current instance of {@link PaperFileManager}
      * @since 0.1.0
      */
     public PaperFileManager addFile(@NotNull final PaperCustomFile customFile) {
-        this.files.put(customFile.getEffectiveName(), customFile);
-        
+        this.fileManager.addFile(customFile);
+
         return this;
     }
 
@@ -133,8 +102,7 @@ public class PaperFileManager {
     /**
      * Adds a custom file to the manager's map.
      *
-     * <p>This method supports adding YAML files and will throw an exception for unsupported file types.
-     * The {@code isDynamic} parameter specifies whether the custom file is dynamic.
+     * <p>YAML files are loaded through Bukkit, every other file type through the default backend of the {@link FileManager}.
      *
      * @param fileName the name of the file to add
      * @param fileType the type of the file
@@ -148,7 +116,7 @@ public class PaperFileManager {
     /**
      * Adds a custom file to the manager's map.
      *
-     * <p>This method supports adding YAML files and will throw an exception for unsupported file types.
+     * <p>YAML files are loaded through Bukkit, every other file type through the default backend of the {@link FileManager}.
      * The {@code isDynamic} parameter specifies whether the custom file is dynamic.
      *
      * @param fileName the name of the file to add
@@ -159,45 +127,7 @@ public class PaperFileManager {
      * @since 0.1.0
      */
     public PaperFileManager addFile(@NotNull final String fileName, @Nullable final String folder, final boolean isDynamic, @NotNull final FileType fileType) {
-        if (fileName.isEmpty() || fileName.isBlank()) {
-            if (this.isVerbose) {
-                this.logger.warn("Cannot add the file as the file is null or empty.");
-            }
-
-            return this;
-        }
-
-        final String extension = fileType.getExtension();
-
-        final String strippedName = strip(fileName, extension);
-
-        final String resourcePath = folder != null ? folder + File.separator + fileName : fileName;
-
-        final File file = new File(this.dataFolder, resourcePath);
-
-        if (!file.exists()) {
-            if (this.isVerbose) {
-                this.logger.warn("Successfully extracted file {} to {}", fileName, file.getPath());
-            }
-
-            this.api.saveResource(resourcePath, false, this.isVerbose);
-        }
-
-        switch (fileType) {
-            case YAML -> {
-                if (this.files.containsKey(strippedName)) {
-                    this.files.get(strippedName).load();
-
-                    return this;
-                }
-
-                this.files.put(strippedName, new PaperCustomFile(fileType, file, isDynamic).load());
-            }
-
-            case JSON -> throw new GenericException("The file type with extension " + extension + " is not currently supported.");
-
-            case NONE -> {} // do nothing
-        }
+        this.fileManager.addFile(fileName, folder, isDynamic, fileType);
 
         return this;
     }
@@ -210,27 +140,7 @@ public class PaperFileManager {
      * @since 0.1.0
      */
     public PaperFileManager saveFile(@NotNull final String fileName) {
-        if (fileName.isEmpty() || fileName.isBlank()) {
-            if (this.isVerbose) {
-                this.logger.warn("Cannot save the file as the file is null or empty.");
-            }
-
-            return this;
-        }
-
-        final String extension = FileType.YAML.getExtension();
-
-        final String strippedName = strip(fileName, extension);
-
-        if (!this.files.containsKey(strippedName)) {
-            if (this.isVerbose) {
-                this.logger.warn("Cannot save the file as the file does not exist.");
-            }
-
-            return this;
-        }
-
-        this.files.get(strippedName).save();
+        this.fileManager.saveFile(fileName, FileType.YAML);
 
         return this;
     }
@@ -261,60 +171,146 @@ public class PaperFileManager {
      * @since 0.1.0
      */
     public PaperFileManager removeFile(@NotNull final String fileName, @NotNull final FileType fileType, final boolean purge) {
-        if (fileName.isEmpty() || fileName.isBlank()) {
-            if (this.isVerbose) {
-                this.logger.warn("Cannot remove the file as the file is null or empty.");
-            }
+        this.fileManager.removeFile(fileName, fileType, purge);
 
-            return this;
-        }
+        return this;
+    }
 
-        final String strippedName = strip(fileName, fileType.getExtension());
+    /**
+     * Reloads all files that changed on disk.
+     *
+     * @return {@link PaperFileManager}
+     * @since 0.1.0
+     */
+    public PaperFileManager reloadFiles() {
+        reloadFiles(false);
 
-        if (!this.files.containsKey(strippedName)) return this;
+        return this;
+    }
 
-        final PaperCustomFile customFile = this.files.remove(fileName);
+    /**
+     * Reloads all files, skipping the files whose fingerprint did not change since they were last loaded or saved.
+     *
+     * @param force whether to reload every file, even if it did not change
+     * @return the {@link ReloadReport} of what was reloaded, skipped or removed
+     * @since 0.2.0
+     */
+    public ReloadReport reloadFiles(final boolean force) {
+        return this.fileManager.reloadFiles(force);
+    }
 
-        if (purge) {
-            final File file = customFile.getFile();
+    /**
+     * Sets whether the contents of a file should be compared, when the last modified time or size changed.
+     *
+     * <p>This lets a file that was only touched, or extracted again with the same contents, be skipped on reload.
+     *
+     * @param checksum true or false
+     * @return {@link PaperFileManager}
+     * @since 0.2.0
+     */
+    public PaperFileManager setChecksum(final boolean checksum) {
+        this.fileManager.setChecksum(checksum);
 
-            if (file == null) return this;
+        return this;
+    }
 
-            if (file.delete()) {
-                if (this.isVerbose) {
-                    this.logger.warn("Successfully deleted {}", fileName);
-                }
-            }
+    /**
+     * Enables write-behind saving, {@code saveFile} then marks the file as dirty and every dirty file
+     * is saved once per window, instead of on every call.
+     *
+     * @param window the time in milliseconds saves are held back for, or 0 to save right away
+     * @return {@link PaperFileManager}
+     * @since 0.2.0
+     */
+    public PaperFileManager setWriteBehind(final long window) {
+        this.fileManager.setWriteBehind(window);
 
-            return this;
-        }
+        return this;
+    }
+
+    /**
+     * Gets the write-behind queue, which also keeps track of the saves requested and performed.
+     *
+     * @return the {@link SaveQueue}, or null if write-behind saving is disabled
+     * @since 0.2.0
+     */
+    public @Nullable SaveQueue<CustomFile<? extends CustomFile<?>>> getSaveQueue() {
+        return this.fileManager.getSaveQueue();
+    }
 
-        customFile.save();
+    /**
+     * Stops watching the data folder, and saves every dirty file before returning.
+     *
+     * <p>This should be called when the plugin is disabled.
+     *
+     * @return {@link PaperFileManager}
+     * @since 0.2.0
+     */
+    public PaperFileManager shutdown() {
+        this.fileManager.shutdown();
 
         return this;
     }
 
     /**
-     * Reloads all files.
+     * Starts watching the data folder, only files that changed on disk will be reloaded.
+     *
+     * <p>Files created inside a folder added through {@link #addFolder(String, FileType)} are added,
+     * and files deleted from disk are removed from the cache.
      *
+     * @param debounce the quiet period in milliseconds before changes are applied
      * @return {@link PaperFileManager}
-     * @since 0.1.0
+     * @since 0.2.0
      */
-    public PaperFileManager reloadFiles() {
-        final List<String> forRemoval = new ArrayList<>();
-
-        this.files.forEach((name, file) -> {
-            if (file.getFile().exists()) {
-                file.load();
-            } else {
-                forRemoval.add(name);
-            }
-        });
+    public PaperFileManager watch(final long debounce) {
+        this.fileManager.watch(debounce);
 
-        forRemoval.forEach(this.files::remove);
+        return this;
+    }
+
+    /**
+     * Stops watching the data folder.
+     *
+     * @return {@link PaperFileManager}
+     * @since 0.2.0
+     */
+    public PaperFileManager unwatch() {
+        this.fileManager.unwatch();
+
+        return this;
+    }
 
-        if (this.isVerbose && !forRemoval.isEmpty()) {
-            this.logger.info("{} file(s) were removed from cache, because they did not exist.", forRemoval.size());
+    /**
+     * Adds a listener which is called when a Bukkit file changes on disk, while the data folder is watched.
+     *
+     * @param listener the listener
+     * @return {@link PaperFileManager}
+     * @since 0.2.0
+     */
+    public PaperFileManager addListener(@NotNull final FileListener<PaperCustomFile> listener) {
+        final FileListener<CustomFile<? extends CustomFile<?>>> wrapper = (file, action) -> {
+            if (file instanceof PaperCustomFile customFile) listener.onChange(customFile, action);
+        };
+
+        if (this.listeners.putIfAbsent(listener, wrapper) == null) {
+            this.fileManager.addListener(wrapper);
+        }
+
+        return this;
+    }
+
+    /**
+     * Removes a listener.
+     *
+     * @param listener the listener
+     * @return {@link PaperFileManager}
+     * @since 0.2.0
+     */
+    public PaperFileManager removeListener(@NotNull final FileListener<PaperCustomFile> listener) {
+        final FileListener<CustomFile<? extends CustomFile<?>>> wrapper = this.listeners.remove(listener);
+
+        if (wrapper != null) {
+            this.fileManager.removeListener(wrapper);
         }
 
         return this;
@@ -327,9 +323,7 @@ public class PaperFileManager {
      * @since 0.1.0
      */
     public PaperFileManager init() {
-        this.dataFolder.mkdirs();
-
-        this.folders.forEach(this::addFolder);
+        this.fileManager.init();
 
         return this;
     }
@@ -341,8 +335,7 @@ public class PaperFileManager {
      * @since 0.1.0
      */
     public PaperFileManager purge() {
-        this.folders.clear();
-        this.files.clear();
+        this.fileManager.purge();
 
         return this;
     }
@@ -350,7 +343,7 @@ public class PaperFileManager {
     /**
      * Retrieves a custom file from the manager's map by its name.
      *
-     * <p>This method returns the custom file instance if it exists in the map.
+     * <p>This method returns the custom file instance if it exists in the map, and was created through Bukkit.
      *
      * @param fileName the name of the file to retrieve
      * @param fileType the type of the file
@@ -358,7 +351,7 @@ public class PaperFileManager {
      * @since 0.1.0
      */
     public @Nullable PaperCustomFile getFile(final String fileName, final FileType fileType) {
-        return this.files.getOrDefault(strip(fileName, fileType.getExtension()), null);
+        return this.fileManager.getFile(fileName, fileType) instanceof PaperCustomFile customFile ? customFile : null;
     }
 
     /**
@@ -370,7 +363,7 @@ public class PaperFileManager {
      * @since 0.1.0
      */
     public String strip(final String fileName, final String extension) {
-        return fileName.replace("." + extension, "");
+        return this.fileManager.strip(fileName, extension);
     }
 
     /**
@@ -380,6 +373,72 @@ public class PaperFileManager {
      * @since 0.1.0
      */
     public Map<String, PaperCustomFile> getFiles() {
-        return Collections.unmodifiableMap(this.files);
+        final Map<String, PaperCustomFile> files = new HashMap<>();
+
+        this.fileManager.getFiles().forEach((name, file) -> {
+            if (file instanceof PaperCustomFile customFile) files.put(name, customFile);
+        });
+
+        return Collections.unmodifiableMap(files);
+    }
+
+    /**
+     * Retrieves every custom file in a folder, without scanning every file.
+     *
+     * @param folder the folder relative to the data folder, or an empty string for the data folder
+     * @return an unmodifiable list of the custom files in the folder
+     * @since 0.2.0
+     */
+    public List<PaperCustomFile> getFiles(@NotNull final String folder) {
+        return filter(this.fileManager.getFiles(folder));
+    }
+
+    /**
+     * Retrieves every custom file in a folder, optionally including every sub folder below it, without scanning every file.
+     *
+     * @param folder the folder relative to the data folder, or an empty string for the data folder
+     * @param nested whether files in sub folders should be included
+     * @return an unmodifiable list of the custom files
+     * @since 0.2.0
+     */
+    public List<PaperCustomFile> getFiles(@NotNull final String folder, final boolean nested) {
+        return filter(this.fileManager.getFiles(folder, nested));
+    }
+
+    /**
+     * Retrieves every dynamic custom file, such as the files added through {@link #addFolder(String, FileType)}.
+     *
+     * @return an unmodifiable list of the dynamic custom files
+     * @since 0.2.0
+     */
+    public List<PaperCustomFile> getDynamicFiles() {
+        return filter(this.fileManager.getDynamicFiles());
+    }
+
+    /**
+     * Retrieves every static custom file.
+     *
+     * @return an unmodifiable list of the static custom files
+     * @since 0.2.0
+     */
+    public List<PaperCustomFile> getStaticFiles() {
+        return filter(this.fileManager.getStaticFiles());
+    }
+
+    /**
+     * Keeps only the files which were created through Bukkit.
+     *
+     * @param files the files
+     * @return an unmodifiable list of the Bukkit files
+     * @since 0.2.0
+     */
+    private List<PaperCustomFile> filter(final List<CustomFile<? extends CustomFile<?>>> files) {
+        final List<PaperCustomFile> filtered = new ArrayList<>(files.size());
+
+        for (final CustomFile<? extends CustomFile<?>> file : files) {
+            if (file instanceof PaperCustomFile customFile) filtered.add(customFile);
+        }
+
+        return Collections.unmodifiableList(filtered);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,392 @@
+package com.ryderbelserion.vital.paper.api.placeholders;
+
+import com.ryderbelserion.vital.utils.LruCache;
+import me.clip.placeholderapi.PlaceholderAPI;
+import org.bukkit.OfflinePlayer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caches the results of PlaceholderAPI placeholders per player, so expensive expansions are not called on every message.
+ *
+ * <p>Nothing is cached until a time to live is set, either for a single placeholder like {@code vault_eco_balance},
+ * for a whole expansion like {@code vault}, or as the default for every placeholder. A placeholder uses the first of those
+ * which is set. Results are kept in a bounded cache, which evicts the least recently used result once it is full,
+ * and every result of a player is dropped once they quit.
+ *
+ * @author Ryder Belserion
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public class PlaceholderCache {
+
+    private record Key(UUID uuid, String identifier) {}
+
+    private record Result(String value, long expiresAt) {}
+
+    private record Token(int start, int end) {}
+
+    private final Map<String, Long> ttls = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private final LruCache<Key, Result> results;
+
+    private volatile long defaultTtl = 0;
+
+    /**
+     * Constructs a new {@link PlaceholderCache} instance.
+     *
+     * @param maxSize the most results to keep across every player
+     * @since 0.2.0
+     */
+    public PlaceholderCache(final int maxSize) {
+        this.results = new LruCache<>(maxSize);
+    }
+
+    /**
+     * Replaces every PlaceholderAPI placeholder in a line, using the cached result of any placeholder which has a time to live.
+     *
+     * @param player the player to replace the placeholders for
+     * @param line the line
+     * @return the line with every placeholder replaced
+     * @since 0.2.0
+     */
+    public @NotNull String setPlaceholders(@NotNull final OfflinePlayer player, @NotNull final String line) {
+        if (!isEnabled() || line.indexOf('%') == -1) return PlaceholderAPI.setPlaceholders(player, line);
+
+        return replace(player, player.getUniqueId(), line, null);
+    }
+
+    /**
+     * Replaces every PlaceholderAPI placeholder in several lines, resolving each placeholder only once across all of them.
+     *
+     * <p>Placeholders with a time to live are still served from the cache, every other placeholder is resolved
+     * once for this call, so the same placeholder on several lore lines only calls its expansion once.
+     * Without any time to live set, the lines are handed to PlaceholderAPI as they are.
+     *
+     * @param player the player to replace the placeholders for
+     * @param lines the lines
+     * @return a new list with every placeholder replaced
+     * @since 0.2.0
+     */
+    public @NotNull List<String> setPlaceholders(@NotNull final OfflinePlayer player, @NotNull final List<String> lines) {
+        if (!isEnabled()) return PlaceholderAPI.setPlaceholders(player, lines);
+
+        final UUID uuid = player.getUniqueId();
+
+        final Map<String, String> resolved = new HashMap<>();
+
+        final List<String> results = new ArrayList<>(lines.size());
+
+        for (final String line : lines) {
+            results.add(line.indexOf('%') == -1 ? line : replace(player, uuid, line, resolved));
+        }
+
+        return results;
+    }
+
+    /**
+     * Resolves every PlaceholderAPI placeholder in a line without replacing them, so the values can be passed on as plain text.
+     *
+     * @param player the player to resolve the placeholders for
+     * @param line the line
+     * @return the value of every placeholder, keyed by the placeholder with its percent signs like {@code %player_name%}
+     * @since 0.2.0
+     */
+    public @NotNull Map<String, String> resolve(@NotNull final OfflinePlayer player, @NotNull final String line) {
+        return resolve(player, List.of(line));
+    }
+
+    /**
+     * Resolves every PlaceholderAPI placeholder in several lines without replacing them, resolving each placeholder only once.
+     *
+     * @param player the player to resolve the placeholders for
+     * @param lines the lines
+     * @return the value of every placeholder, keyed by the placeholder with its percent signs like {@code %player_name%}
+     * @since 0.2.0
+     */
+    public @NotNull Map<String, String> resolve(@NotNull final OfflinePlayer player, @NotNull final List<String> lines) {
+        final UUID uuid = player.getUniqueId();
+
+        final Map<String, String> values = new LinkedHashMap<>();
+
+        for (final String line : lines) {
+            if (line.indexOf('%') == -1) continue;
+
+            for (final Token token : tokenize(line)) {
+                values.computeIfAbsent(line.substring(token.start(), token.end()), key -> lookup(player, uuid, key.substring(1, key.length() - 1)));
+            }
+        }
+
+        return values;
+    }
+
+    /**
+     * Replaces every placeholder in a line, one placeholder at a time.
+     *
+     * @param player the player
+     * @param uuid the uuid of the player
+     * @param line the line
+     * @param resolved the placeholders already resolved during this call, or null to resolve every placeholder again
+     * @return the line with every placeholder replaced
+     * @since 0.2.0
+     */
+    private String replace(final OfflinePlayer player, final UUID uuid, final String line, @Nullable final Map<String, String> resolved) {
+        final int length = line.length();
+
+        final StringBuilder builder = new StringBuilder(length + 16);
+
+        int start = 0;
+
+        for (final Token token : tokenize(line)) {
+            final String identifier = line.substring(token.start() + 1, token.end() - 1);
+
+            builder.append(line, start, token.start());
+            builder.append(resolved != null ? resolved.computeIfAbsent(identifier, key -> lookup(player, uuid, key)) : lookup(player, uuid, identifier));
+
+            start = token.end();
+        }
+
+        return builder.append(line, start, length).toString();
+    }
+
+    /**
+     * Finds every placeholder in a line, the same way PlaceholderAPI does, so the cache never changes which placeholders resolve.
+     *
+     * <p>A space before the first underscore means the percent sign does not open a placeholder, and scanning carries on after the space,
+     * so {@code 50% - %player_name%} still finds {@code %player_name%}. A percent sign without a closing one is left as is,
+     * and so is an empty pair of percent signs.
+     *
+     * @param line the line
+     * @return the placeholders in the order they appear
+     * @since 0.2.0
+     */
+    private static List<Token> tokenize(final String line) {
+        final int length = line.length();
+
+        final List<Token> tokens = new ArrayList<>();
+
+        int index = line.indexOf('%');
+
+        while (index != -1 && index + 1 < length) {
+            boolean identified = false;
+
+            int end = index + 1;
+
+            while (end < length) {
+                final char current = line.charAt(end);
+
+                if (current == '%' || current == ' ' && !identified) break;
+
+                if (current == '_') identified = true;
+
+                end++;
+            }
+
+            // the line ended before the placeholder was closed.
+            if (end == length) break;
+
+            if (line.charAt(end) == ' ') {
+                index = line.indexOf('%', end + 1);
+
+                continue;
+            }
+
+            if (end > index + 1) tokens.add(new Token(index, end + 1));
+
+            index = line.indexOf('%', end + 1);
+        }
+
+        return tokens;
+    }
+
+    /**
+     * Resolves a single placeholder, from the cache if it has a time to live and a result that has not expired.
+     *
+     * @param player the player
+     * @param uuid the uuid of the player
+     * @param identifier the placeholder without its percent signs
+     * @return the result of the placeholder
+     * @since 0.2.0
+     */
+    private String lookup(final OfflinePlayer player, final UUID uuid, final String identifier) {
+        final long ttl = getTtl(identifier);
+
+        if (ttl <= 0) return PlaceholderAPI.setPlaceholders(player, "%" + identifier + "%");
+
+        final Key key = new Key(uuid, identifier);
+
+        final long now = System.nanoTime();
+
+        final Result cached = this.results.get(key);
+
+        if (cached != null && now - cached.expiresAt() < 0) {
+            this.hits.increment();
+
+            return cached.value();
+        }
+
+        this.misses.increment();
+
+        final String value = PlaceholderAPI.setPlaceholders(player, "%" + identifier + "%");
+
+        this.results.put(key, new Result(value, now + ttl));
+
+        return value;
+    }
+
+    /**
+     * Gets the time to live of a placeholder, the placeholder itself takes priority over its expansion.
+     *
+     * @param identifier the placeholder without its percent signs
+     * @return the time to live in nanoseconds, or 0 if it is not cached
+     * @since 0.2.0
+     */
+    private long getTtl(final String identifier) {
+        if (this.ttls.isEmpty()) return this.defaultTtl;
+
+        final Long exact = this.ttls.get(identifier.toLowerCase(Locale.ROOT));
+
+        if (exact != null) return exact;
+
+        final int index = identifier.indexOf('_');
+
+        final Long expansion = index > 0 ? this.ttls.get(identifier.substring(0, index).toLowerCase(Locale.ROOT)) : null;
+
+        return expansion != null ? expansion : this.defaultTtl;
+    }
+
+    /**
+     * Sets how long the result of a placeholder, or of every placeholder of an expansion, is cached.
+     *
+     * @param identifier the placeholder without its percent signs like {@code vault_eco_balance}, or an expansion like {@code vault}
+     * @param ttl the time to live, or {@link Duration#ZERO} to never cache it, even if the default would
+     * @return {@link PlaceholderCache}
+     * @since 0.2.0
+     */
+    public PlaceholderCache setTtl(@NotNull final String identifier, @NotNull final Duration ttl) {
+        this.ttls.put(identifier.toLowerCase(Locale.ROOT), Math.max(ttl.toNanos(), 0));
+
+        return this;
+    }
+
+    /**
+     * Removes the time to live of a placeholder or an expansion, which then uses the default again.
+     *
+     * @param identifier the placeholder without its percent signs, or an expansion
+     * @return {@link PlaceholderCache}
+     * @since 0.2.0
+     */
+    public PlaceholderCache removeTtl(@NotNull final String identifier) {
+        this.ttls.remove(identifier.toLowerCase(Locale.ROOT));
+
+        return this;
+    }
+
+    /**
+     * Sets how long the result of every placeholder without its own time to live is cached.
+     *
+     * @param ttl the time to live, or {@link Duration#ZERO} to only cache placeholders with their own time to live
+     * @return {@link PlaceholderCache}
+     * @since 0.2.0
+     */
+    public PlaceholderCache setDefaultTtl(@NotNull final Duration ttl) {
+        this.defaultTtl = Math.max(ttl.toNanos(), 0);
+
+        return this;
+    }
+
+    /**
+     * Checks if any placeholder is cached at all.
+     *
+     * @return true if a time to live is set
+     * @since 0.2.0
+     */
+    public boolean isEnabled() {
+        return this.defaultTtl > 0 || !this.ttls.isEmpty();
+    }
+
+    /**
+     * Drops every cached result of a player, for example after their balance changed.
+     *
+     * @param uuid the uuid of the player
+     * @since 0.2.0
+     */
+    public void invalidate(@NotNull final UUID uuid) {
+        this.results.removeIf(key -> key.uuid().equals(uuid));
+    }
+
+    /**
+     * Drops the cached result of a single placeholder of a player.
+     *
+     * @param uuid the uuid of the player
+     * @param identifier the placeholder without its percent signs
+     * @since 0.2.0
+     */
+    public void invalidate(@NotNull final UUID uuid, @NotNull final String identifier) {
+        this.results.remove(new Key(uuid, identifier));
+    }
+
+    /**
+     * Drops the cached results of a placeholder, or of every placeholder of an expansion, for every player.
+     *
+     * @param identifier the placeholder without its percent signs, or an expansion
+     * @since 0.2.0
+     */
+    public void invalidate(@NotNull final String identifier) {
+        final String prefix = identifier.toLowerCase(Locale.ROOT) + "_";
+
+        this.results.removeIf(key -> key.identifier().equalsIgnoreCase(identifier) || key.identifier().toLowerCase(Locale.ROOT).startsWith(prefix));
+    }
+
+    /**
+     * Drops every cached result.
+     *
+     * @since 0.2.0
+     */
+    public void invalidateAll() {
+        this.results.clear();
+    }
+
+    /**
+     * Gets the amount of results currently cached.
+     *
+     * @return the amount of results
+     * @since 0.2.0
+     */
+    public int size() {
+        return this.results.size();
+    }
+
+    /**
+     * Gets the amount of placeholders that were served from the cache.
+     *
+     * @return the amount of hits
+     * @since 0.2.0
+     */
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Gets the amount of placeholders with a time to live that had to be resolved by their expansion.
+     *
+     * @return the amount of misses
+     * @since 0.2.0
+     */
+    public long getMisses() {
+        return this.misses.sum();
+    }
+}
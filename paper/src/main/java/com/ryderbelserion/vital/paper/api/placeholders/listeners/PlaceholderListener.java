@@ -0,0 +1,41 @@
+package com.ryderbelserion.vital.paper.api.placeholders.listeners;
+
+import com.ryderbelserion.vital.paper.api.placeholders.PlaceholderCache;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Drops the cached placeholder results of players who quit.
+ *
+ * @author Ryder Belserion
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public class PlaceholderListener implements Listener {
+
+    private final PlaceholderCache cache;
+
+    /**
+     * Drops the cached placeholder results of players who quit.
+     *
+     * @param cache the {@link PlaceholderCache}
+     * @since 0.2.0
+     */
+    public PlaceholderListener(@NotNull final PlaceholderCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Handles players quitting.
+     *
+     * @param event {@link PlayerQuitEvent}
+     * @since 0.2.0
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        this.cache.invalidate(event.getPlayer().getUniqueId());
+    }
+}